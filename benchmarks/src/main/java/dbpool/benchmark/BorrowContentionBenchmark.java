@@ -0,0 +1,90 @@
+package dbpool.benchmark;
+
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Borrow/return throughput of the lock-free bag against the monitor based
+ * path of version 1.0, run with -t to change the number of threads .
+ * @author cgcastro
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class BorrowContentionBenchmark {
+
+    /**
+     * int number of connections, bigger than the thread count .
+     */
+    private static final int POOL_SIZE = 64;
+
+    /**
+     * DBConnectionPool lock-free pool .
+     */
+    private DBConnectionPool pool;
+
+    /**
+     * MonitorPoolBaseline monitor based pool .
+     */
+    private MonitorPoolBaseline baseline;
+
+    /**
+     * Build both pools .
+     * @throws Exception setup failure .
+     * */
+    @Setup
+    public void setUp() throws Exception {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(
+            StubDriver.configuration(POOL_SIZE, POOL_SIZE, 0));
+        pool = dbcpBuilder.build();
+        baseline = new MonitorPoolBaseline(POOL_SIZE);
+    }
+
+    /**
+     * Borrow and return through the lock-free bag .
+     * @throws Exception borrow failure .
+     * @param blackhole the blackhole .
+     * */
+    @Benchmark
+    public void lockFree(final Blackhole blackhole) throws Exception {
+
+        Connection connection = pool.getConnection();
+        blackhole.consume(connection);
+        connection.close();
+    }
+
+    /**
+     * Borrow and return through the synchronized path .
+     * @throws Exception borrow failure .
+     * @param blackhole the blackhole .
+     * */
+    @Benchmark
+    public void monitor(final Blackhole blackhole) throws Exception {
+
+        Connection connection = baseline.getConnection();
+        blackhole.consume(connection);
+        baseline.close(connection);
+    }
+}
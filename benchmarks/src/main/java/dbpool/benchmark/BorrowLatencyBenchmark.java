@@ -0,0 +1,97 @@
+package dbpool.benchmark;
+
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.DBValidationPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of getConnection() when more threads than pooled
+ * connections compete, so part of the borrows wait for a returned
+ * connection. The connection is held for a short simulated query .
+ * @author cgcastro
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class BorrowLatencyBenchmark {
+
+    /**
+     * int number of connections, 4 or 8 for 16 threads .
+     */
+    @Param({"4", "8"})
+    private int poolSize;
+
+    /**
+     * long cpu tokens burnt while holding the connection .
+     */
+    @Param({"100"})
+    private long holdTokens;
+
+    /**
+     * DBConnectionPool the measured pool .
+     */
+    private DBConnectionPool pool;
+
+    /**
+     * Build the pool .
+     * @throws Exception setup failure .
+     * */
+    @Setup
+    public void setUp() throws Exception {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration(poolSize, poolSize, 0);
+        configuration.setValidationStrategy(DBValidationPolicy.none());
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        pool = dbcpBuilder.build();
+    }
+
+    /**
+     * Shut the pool down .
+     * */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Borrow, hold the connection for the simulated query and return it,
+     * with more threads than connections the sampled time is mostly the
+     * wait inside getConnection() .
+     * @throws Exception borrow failure .
+     * @return the borrowed connection .
+     * */
+    @Benchmark
+    public Connection getConnection() throws Exception {
+
+        Connection connection = pool.getConnection();
+        Blackhole.consumeCPU(holdTokens);
+        connection.close();
+        return connection;
+    }
+}
@@ -0,0 +1,117 @@
+package dbpool.benchmark;
+
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.DBConnectionValidator;
+import dbpool.utils.DBValidationPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Borrow/return throughput of DBConnectionPool with one thread and with
+ * as many threads as processors, with and without the validation query
+ * on return .
+ * @author cgcastro
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorrowReturnBenchmark {
+
+    /**
+     * int number of connections, enough for every thread .
+     */
+    private static final int POOL_SIZE = 64;
+
+    /**
+     * String validation policy, none or onReturn .
+     */
+    @Param({"none", "onReturn"})
+    private String validation;
+
+    /**
+     * DBConnectionPool the measured pool .
+     */
+    private DBConnectionPool pool;
+
+    /**
+     * Build the pool .
+     * @throws Exception setup failure .
+     * */
+    @Setup
+    public void setUp() throws Exception {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration(POOL_SIZE, POOL_SIZE, 0);
+        configuration.setValidationStrategy("none".equals(validation)
+            ? DBValidationPolicy.none()
+            : DBValidationPolicy.onReturn(new DBConnectionValidator()));
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        pool = dbcpBuilder.build();
+    }
+
+    /**
+     * Shut the pool down .
+     * */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Borrow and return from a single thread .
+     * @throws Exception borrow failure .
+     * @param blackhole the blackhole .
+     * */
+    @Benchmark
+    @Threads(1)
+    public void singleThread(final Blackhole blackhole) throws Exception {
+        borrowAndReturn(blackhole);
+    }
+
+    /**
+     * Borrow and return from one thread per processor .
+     * @throws Exception borrow failure .
+     * @param blackhole the blackhole .
+     * */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void allProcessors(final Blackhole blackhole) throws Exception {
+        borrowAndReturn(blackhole);
+    }
+
+    /**
+     * Borrow a connection and return it right away .
+     * @throws Exception borrow failure .
+     * @param blackhole the blackhole .
+     * */
+    private void borrowAndReturn(final Blackhole blackhole)
+        throws Exception {
+
+        Connection connection = pool.getConnection();
+        blackhole.consume(connection);
+        connection.close();
+    }
+}
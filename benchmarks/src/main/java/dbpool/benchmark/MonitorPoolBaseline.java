@@ -0,0 +1,81 @@
+package dbpool.benchmark;
+
+import dbpool.utils.DBConnectionValidator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Copy of the monitor based borrow path of DBConnectionPool 1.0, kept
+ * as the baseline for the contention benchmark. Borrow and return are
+ * synchronized on the pool and every borrow copies the borrowed list .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class MonitorPoolBaseline {
+
+    /**
+     * BlockingQueue pool queue .
+     */
+    private final BlockingQueue<Connection> connectionPoolQueue;
+
+    /**
+     * CopyOnWriteArrayList borrowed connections .
+     */
+    private final CopyOnWriteArrayList<Connection> borrowedConnections;
+
+    /**
+     * Constructor .
+     * @param poolSize number of connections .
+     * */
+    public MonitorPoolBaseline(final int poolSize) {
+
+        this.connectionPoolQueue =
+            new LinkedBlockingDeque<Connection>(poolSize);
+        this.borrowedConnections = new CopyOnWriteArrayList<Connection>();
+        for (int i = 0; i < poolSize; i++) {
+            connectionPoolQueue.add(new StubConnection());
+        }
+    }
+
+    /**
+     * Borrow a connection .
+     * @return the connection or null if the pool is empty .
+     * */
+    public synchronized Connection getConnection() {
+
+        Connection connection = connectionPoolQueue.poll();
+        if (connection != null) {
+            borrowedConnections.add(connection);
+        }
+        return connection;
+    }
+
+    /**
+     * Validate and return a connection .
+     * @throws SQLException sql exception .
+     * @param connection the borrowed connection .
+     * */
+    public void close(final Connection connection) throws SQLException {
+
+        DBConnectionValidator connectionValidator =
+            new DBConnectionValidator();
+        connectionValidator.isValidConnection(connection);
+        sendConnectionToPool(connection);
+    }
+
+    /**
+     * Return the connection to the queue .
+     * @param connection the borrowed connection .
+     * */
+    private synchronized void sendConnectionToPool(
+        final Connection connection) {
+
+        if (borrowedConnections.remove(connection)) {
+            connectionPoolQueue.add(connection);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package dbpool.benchmark;
+
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.Constants.DBCPStartupMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Time to open the connections of a pool: building a pool that opens its
+ * min cache one connection at a time with the driver resolved once,
+ * against Class.forName and DriverManager.getConnection per connection,
+ * as version 1.0 did. Other drivers are registered so the DriverManager
+ * scan is as long as in an application server. The pool build also starts
+ * and stops the pool threads, which the baseline does not pay .
+ * @author cgcastro
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StartupBenchmark {
+
+    /**
+     * int connections opened at startup .
+     */
+    private static final int POOL_SIZE = 64;
+
+    /**
+     * int drivers registered before the stub driver .
+     */
+    @Param({"0", "8"})
+    private int otherDrivers;
+
+    /**
+     * DBPoolConfiguration the pool configuration .
+     */
+    private DBPoolConfiguration configuration;
+
+
+    /**
+     * Register the other drivers and build the configuration .
+     * @throws SQLException setup failure .
+     * */
+    @Setup
+    public void setUp() throws SQLException {
+
+        for (int i = 0; i < otherDrivers; i++) {
+            DriverManager.registerDriver(new RejectingDriver());
+        }
+        configuration = StubDriver.configuration(POOL_SIZE, POOL_SIZE, 0);
+        configuration.setStartupMode(DBCPStartupMode.PARALLEL_EAGER);
+        configuration.setStartupParallelism(1);
+    }
+
+    /**
+     * Build a pool opening the connections with the driver resolved once,
+     * and shut it down .
+     * @throws Exception connect failure .
+     * */
+    @Benchmark
+    public void cachedDriver() throws Exception {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        dbConnectionPool.shutdown();
+    }
+
+    /**
+     * Open the same connections the way version 1.0 did .
+     * @throws Exception connect failure .
+     * */
+    @Benchmark
+    public void driverManager() throws Exception {
+
+        Connection[] connections = new Connection[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            Class.forName(configuration.getDbDriver());
+            connections[i] = DriverManager.getConnection(
+                configuration.getDburl(), configuration.getDbusername(),
+                configuration.getDbpassword());
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Driver of another database, it rejects every url .
+     */
+    public static class RejectingDriver implements Driver {
+
+        @Override
+        public Connection connect(final String url, final Properties info) {
+            return null;
+        }
+
+        @Override
+        public boolean acceptsURL(final String url) {
+            return false;
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(final String url,
+            final Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger()
+            throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
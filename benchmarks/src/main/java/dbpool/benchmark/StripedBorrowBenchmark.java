@@ -0,0 +1,117 @@
+package dbpool.benchmark;
+
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.DBValidationPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Borrow/return throughput with one stripe and with several, the main
+ * method runs it with 1 to 128 threads. The pool is smaller than the
+ * biggest thread count so borrows miss the thread list and scan the
+ * shared list .
+ * @author cgcastro
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StripedBorrowBenchmark {
+
+    /**
+     * int number of connections .
+     */
+    private static final int POOL_SIZE = 32;
+
+    /**
+     * int biggest thread count of the main method .
+     */
+    private static final int MAX_THREADS = 128;
+
+    /**
+     * int stripes of the pool .
+     */
+    @Param({"1", "8"})
+    private int stripes;
+
+    /**
+     * DBConnectionPool the measured pool .
+     */
+    private DBConnectionPool pool;
+
+    /**
+     * Build the pool .
+     * @throws Exception setup failure .
+     * */
+    @Setup
+    public void setUp() throws Exception {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration(POOL_SIZE, POOL_SIZE, 0);
+        configuration.setValidationStrategy(DBValidationPolicy.none());
+        configuration.setStripes(stripes);
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        pool = dbcpBuilder.build();
+    }
+
+    /**
+     * Shut the pool down .
+     * */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Borrow a connection and return it right away .
+     * @throws Exception borrow failure .
+     * @param blackhole the blackhole .
+     * */
+    @Benchmark
+    public void borrowReturn(final Blackhole blackhole) throws Exception {
+
+        Connection connection = pool.getConnection();
+        blackhole.consume(connection);
+        connection.close();
+    }
+
+    /**
+     * Run the benchmark doubling the threads from 1 to 128 .
+     * @param args unused .
+     * @throws Exception run failure .
+     * */
+    public static void main(final String[] args) throws Exception {
+
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            Options options = new OptionsBuilder()
+                .include(StripedBorrowBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package dbpool.benchmark;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * In-process connection of the stub driver, it keeps the session state
+ * and answers every statement without any I/O .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class StubConnection implements Connection {
+
+    /**
+     * boolean closed flag .
+     */
+    private volatile boolean closed;
+    /**
+     * boolean auto commit .
+     */
+    private boolean autoCommit = true;
+    /**
+     * boolean read only .
+     */
+    private boolean readOnly;
+    /**
+     * int transaction isolation .
+     */
+    private int transactionIsolation = Connection.TRANSACTION_READ_COMMITTED;
+    /**
+     * String catalog .
+     */
+    private String catalog;
+    /**
+     * String schema .
+     */
+    private String schema;
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return new StubStatement(this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql)
+        throws SQLException {
+        return new StubStatement(this);
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        return null;
+    }
+
+    @Override
+    public String nativeSQL(final String sql) throws SQLException {
+        return null;
+    }
+
+    @Override
+    public void setAutoCommit(final boolean autoCommit) throws SQLException {
+        this.autoCommit = autoCommit;
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return autoCommit;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+    }
+
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed;
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public void setReadOnly(final boolean readOnly) throws SQLException {
+        this.readOnly = readOnly;
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return readOnly;
+    }
+
+    @Override
+    public void setCatalog(final String catalog) throws SQLException {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return catalog;
+    }
+
+    @Override
+    public void setTransactionIsolation(final int level) throws SQLException {
+        this.transactionIsolation = level;
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return transactionIsolation;
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+    }
+
+    @Override
+    public Statement createStatement(final int resultSetType,
+        final int resultSetConcurrency) throws SQLException {
+        return new StubStatement(this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+        final int resultSetType, final int resultSetConcurrency)
+        throws SQLException {
+        return new StubStatement(this);
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql,
+        final int resultSetType, final int resultSetConcurrency)
+        throws SQLException {
+        return null;
+    }
+
+    @Override
+    public java.util.Map<String,Class<?>> getTypeMap() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public void setTypeMap(final java.util.Map<String,Class<?>> map)
+        throws SQLException {
+    }
+
+    @Override
+    public void setHoldability(final int holdability) throws SQLException {
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return 0;
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public Savepoint setSavepoint(final String name) throws SQLException {
+        return null;
+    }
+
+    @Override
+    public void rollback(final Savepoint savepoint) throws SQLException {
+    }
+
+    @Override
+    public void releaseSavepoint(final Savepoint savepoint)
+        throws SQLException {
+    }
+
+    @Override
+    public Statement createStatement(final int resultSetType,
+        final int resultSetConcurrency, final int resultSetHoldability)
+        throws SQLException {
+        return new StubStatement(this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+        final int resultSetType, final int resultSetConcurrency,
+        final int resultSetHoldability) throws SQLException {
+        return new StubStatement(this);
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql,
+        final int resultSetType, final int resultSetConcurrency,
+        final int resultSetHoldability) throws SQLException {
+        return null;
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+        final int autoGeneratedKeys) throws SQLException {
+        return new StubStatement(this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+        final int[] columnIndexes) throws SQLException {
+        return new StubStatement(this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+        final String[] columnNames) throws SQLException {
+        return new StubStatement(this);
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public boolean isValid(final int timeout) throws SQLException {
+        return !closed;
+    }
+
+    @Override
+    public void setClientInfo(final String name, final String value)
+        throws SQLClientInfoException {
+    }
+
+    @Override
+    public void setClientInfo(final Properties properties)
+        throws SQLClientInfoException {
+    }
+
+    @Override
+    public String getClientInfo(final String name) throws SQLException {
+        return null;
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public Array createArrayOf(final String typeName, final Object[] elements)
+        throws SQLException {
+        return null;
+    }
+
+    @Override
+    public Struct createStruct(final String typeName, final Object[] attributes)
+        throws SQLException {
+        return null;
+    }
+
+    @Override
+    public void setSchema(final String schema) throws SQLException {
+        this.schema = schema;
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return schema;
+    }
+
+    @Override
+    public void abort(final Executor executor) throws SQLException {
+    }
+
+    @Override
+    public void setNetworkTimeout(final Executor executor,
+        final int milliseconds) throws SQLException {
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return 0;
+    }
+
+    @Override
+    public <T> T unwrap(final java.lang.Class<T> iface)
+        throws java.sql.SQLException {
+        return iface.cast(this);
+    }
+
+    @Override
+    public boolean isWrapperFor(final java.lang.Class<?> iface)
+        throws java.sql.SQLException {
+        return iface.isInstance(this);
+    }
+}
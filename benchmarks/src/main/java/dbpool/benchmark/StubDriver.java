@@ -0,0 +1,115 @@
+package dbpool.benchmark;
+
+import dbpool.dbmodule.DBPoolConfiguration;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * In-process JDBC driver for the benchmarks, no database is needed. The
+ * url jdbc:stub:NAME?connectMillis=N simulates the handshake latency of a
+ * remote database .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class StubDriver implements Driver {
+
+    /**
+     * String url prefix accepted by the driver .
+     */
+    public static final String URL_PREFIX = "jdbc:stub:";
+
+    /**
+     * String parameter with the simulated connect latency .
+     */
+    private static final String CONNECT_MILLIS = "connectMillis=";
+
+    static {
+        try {
+            DriverManager.registerDriver(new StubDriver());
+        } catch (SQLException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    /**
+     * Build a pool configuration pointing to the stub driver .
+     * @param minPoolCache min pool cache .
+     * @param maxPoolSize max pool size .
+     * @param connectMillis simulated connect latency .
+     * @return the configuration .
+     * */
+    public static DBPoolConfiguration configuration(final int minPoolCache,
+        final int maxPoolSize, final long connectMillis) {
+
+        DBPoolConfiguration configuration = new DBPoolConfiguration();
+        configuration.setDbusername("bench");
+        configuration.setDbpassword("bench");
+        configuration.setDbDriver(StubDriver.class.getName());
+        configuration.setDburl(URL_PREFIX + "bench?" + CONNECT_MILLIS
+            + connectMillis);
+        configuration.setMinPoolCache(minPoolCache);
+        configuration.setMaxPoolSize(maxPoolSize);
+        return configuration;
+    }
+
+    @Override
+    public Connection connect(final String url, final Properties info)
+        throws SQLException {
+
+        if (!acceptsURL(url)) {
+            return null;
+        }
+
+        int index = url.indexOf(CONNECT_MILLIS);
+        if (index > 0) {
+            long connectMillis = Long.parseLong(
+                url.substring(index + CONNECT_MILLIS.length()));
+            if (connectMillis > 0) {
+                LockSupport.parkNanos(
+                    TimeUnit.MILLISECONDS.toNanos(connectMillis));
+            }
+        }
+
+        return new StubConnection();
+    }
+
+    @Override
+    public boolean acceptsURL(final String url) {
+        return url != null && url.startsWith(URL_PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(final String url,
+        final Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+}
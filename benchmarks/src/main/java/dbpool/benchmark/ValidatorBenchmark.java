@@ -0,0 +1,97 @@
+package dbpool.benchmark;
+
+import dbpool.utils.DBConnectionValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of DBConnectionValidator.isValidConnection on the stub driver, so
+ * the number is the overhead of the pool side of a check: a new statement
+ * per check, a reused statement, and JDBC4 isValid .
+ * @author cgcastro
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    /**
+     * Connection the checked connection .
+     */
+    private Connection connection;
+
+    /**
+     * Statement reused by the query check .
+     */
+    private Statement statement;
+
+    /**
+     * DBConnectionValidator SELECT 1 validator .
+     */
+    private DBConnectionValidator queryValidator;
+
+    /**
+     * DBConnectionValidator JDBC4 isValid validator .
+     */
+    private DBConnectionValidator jdbc4Validator;
+
+    /**
+     * Build the connection and the validators .
+     * @throws SQLException setup failure .
+     * */
+    @Setup
+    public void setUp() throws SQLException {
+
+        connection = new StubConnection();
+        statement = connection.createStatement();
+        queryValidator = new DBConnectionValidator();
+        jdbc4Validator = new DBConnectionValidator(1);
+    }
+
+    /**
+     * SELECT 1 with a new statement per check .
+     * @throws SQLException check failure .
+     * @return validation result .
+     * */
+    @Benchmark
+    public boolean queryNewStatement() throws SQLException {
+        return queryValidator.isValidConnection(connection);
+    }
+
+    /**
+     * SELECT 1 reusing the statement of the connection .
+     * @throws SQLException check failure .
+     * @return validation result .
+     * */
+    @Benchmark
+    public boolean queryReusedStatement() throws SQLException {
+        return queryValidator.isValidConnection(connection, statement);
+    }
+
+    /**
+     * JDBC4 Connection.isValid .
+     * @throws SQLException check failure .
+     * @return validation result .
+     * */
+    @Benchmark
+    public boolean jdbc4IsValid() throws SQLException {
+        return jdbc4Validator.isValidConnection(connection);
+    }
+}
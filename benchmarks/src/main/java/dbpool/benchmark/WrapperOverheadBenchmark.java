@@ -0,0 +1,102 @@
+package dbpool.benchmark;
+
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.DBValidationPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of the pooled connection wrapper: the same call on
+ * the physical stub connection and through DBWrappedConnection, whose
+ * checkIfIsActive() guard runs before every delegated call .
+ * @author cgcastro
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WrapperOverheadBenchmark {
+
+    /**
+     * DBConnectionPool pool of one connection .
+     */
+    private DBConnectionPool pool;
+
+    /**
+     * Connection the borrowed wrapped connection .
+     */
+    private Connection wrapped;
+
+    /**
+     * Connection the physical connection behind the wrapper .
+     */
+    private Connection physical;
+
+    /**
+     * Borrow the connection kept for the whole run .
+     * @throws Exception setup failure .
+     * */
+    @Setup
+    public void setUp() throws Exception {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration(1, 1, 0);
+        configuration.setValidationStrategy(DBValidationPolicy.none());
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        pool = dbcpBuilder.build();
+
+        wrapped = pool.getConnection();
+        physical = wrapped.unwrap(Connection.class);
+    }
+
+    /**
+     * Return the connection and shut the pool down .
+     * @throws SQLException close failure .
+     * */
+    @TearDown
+    public void tearDown() throws SQLException {
+
+        wrapped.close();
+        pool.shutdown();
+    }
+
+    /**
+     * getAutoCommit on the physical connection .
+     * @throws SQLException call failure .
+     * @return auto commit .
+     * */
+    @Benchmark
+    public boolean direct() throws SQLException {
+        return physical.getAutoCommit();
+    }
+
+    /**
+     * getAutoCommit through the wrapper and its guard .
+     * @throws SQLException call failure .
+     * @return auto commit .
+     * */
+    @Benchmark
+    public boolean wrapped() throws SQLException {
+        return wrapped.getAutoCommit();
+    }
+}
@@ -0,0 +1,122 @@
+package dbpool.benchmark;
+
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput of 10k virtual threads competing for a 50 connection pool.
+ * Every task borrows a connection, holds it for a simulated query that
+ * parks the thread and returns it, the waiting threads park as well so
+ * the carriers keep running the holders. A pool that waits inside
+ * synchronized pins the carriers instead and never finishes this run.
+ * Needs Java 21, built by the java21 profile .
+ * @author cgcastro
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    /**
+     * int virtual threads started per invocation .
+     */
+    private static final int TASKS = 10000;
+
+    /**
+     * int number of connections .
+     */
+    private static final int POOL_SIZE = 50;
+
+    /**
+     * long simulated query time in microseconds .
+     */
+    @Param({"0", "100"})
+    private long queryMicros;
+
+    /**
+     * DBConnectionPool lock-free pool .
+     */
+    private DBConnectionPool pool;
+
+    /**
+     * Build the pool .
+     * @throws Exception setup failure .
+     * */
+    @Setup
+    public void setUp() throws Exception {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(
+            StubDriver.configuration(POOL_SIZE, POOL_SIZE, 0));
+        pool = dbcpBuilder.build();
+    }
+
+    /**
+     * Shut the pool down .
+     * */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Borrow and return through the pool from 10k virtual threads .
+     * */
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void dbpool() {
+
+        final long queryNanos = TimeUnit.MICROSECONDS.toNanos(queryMicros);
+        try (ExecutorService executor =
+                 Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < TASKS; i++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            Connection connection = pool.getConnection();
+                            query(queryNanos);
+                            connection.close();
+                        } catch (Exception exception) {
+                            throw new IllegalStateException(exception);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Simulate a query, the virtual thread unmounts while parked .
+     * @param queryNanos the query time in nanoseconds .
+     * */
+    private static void query(final long queryNanos) {
+
+        if (queryNanos > 0) {
+            LockSupport.parkNanos(queryNanos);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package dbpool.dbmodule;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Base class for the entries held by a DBConnectionBag. The state of the
+ * entry is claimed with compare-and-set so borrowing never takes a lock .
+ * @author cgcastro
+ * @version 1.0
+ */
+abstract class DBBagEntry {
+
+    /**
+     * int state of an entry available for borrowing .
+     */
+    static final int STATE_NOT_IN_USE = 0;
+    /**
+     * int state of a borrowed entry .
+     */
+    static final int STATE_IN_USE = 1;
+    /**
+     * int state of an entry removed from the bag .
+     */
+    static final int STATE_REMOVED = -1;
+    /**
+     * int state of an entry reserved by a background task .
+     */
+    static final int STATE_RESERVED = -2;
+
+    /**
+     * AtomicIntegerFieldUpdater updater for the state field .
+     */
+    private static final AtomicIntegerFieldUpdater<DBBagEntry> STATE_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(DBBagEntry.class, "state");
+
+    /**
+     * int current state of the entry .
+     */
+    private volatile int state;
+
+    /**
+     * Atomically change the state of the entry .
+     * @param expect the expected state .
+     * @param update the new state .
+     * @return true if the state was changed .
+     * */
+    final boolean compareAndSetState(final int expect, final int update) {
+        return STATE_UPDATER.compareAndSet(this, expect, update);
+    }
+
+    /**
+     * Set the state of the entry .
+     * @param update the new state .
+     * */
+    final void setState(final int update) {
+        STATE_UPDATER.set(this, update);
+    }
+
+    /**
+     * Get the state of the entry .
+     * @return the current state .
+     * */
+    final int getState() {
+        return state;
+    }
+}
@@ -0,0 +1,403 @@
+package dbpool.dbmodule;
+
+import dbpool.utils.Constants.DBCPMessageException;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces single-row writes into JDBC batches. Writes submitted for the
+ * same SQL are queued and run with addBatch and executeBatch on one
+ * borrowed connection, once the batch is full or the first write of the
+ * batch has waited the linger time. Each write gets a future completed
+ * with its update count or its failure. With auto-commit disabled the
+ * batch is committed as a whole and a failure fails every write of the
+ * batch, otherwise only the writes the driver reports as failed fail.
+ * Batches are run one at a time by a single thread .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBBatchWriter implements AutoCloseable {
+
+    /**
+     * DBConnectionPool the pool lending the connections .
+     */
+    private final DBConnectionPool pool;
+
+    /**
+     * int writes that trigger a flush .
+     */
+    private final int maxBatchSize;
+
+    /**
+     * long max time a write waits for its batch in nanoseconds .
+     */
+    private final long lingerNanos;
+
+    /**
+     * ScheduledThreadPoolExecutor thread running the flushes .
+     */
+    private final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * ReentrantLock lock of the pending batches .
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * Map pending batch of each SQL .
+     */
+    private final Map<String, DBBatch> pending;
+
+    /**
+     * boolean true once the writer is closed .
+     */
+    private boolean closed;
+
+    /**
+     * Constructor .
+     * @param pool the pool lending the connections .
+     * @param maxBatchSize writes that trigger a flush .
+     * @param lingerTime max time a write waits for its batch .
+     * @param unit the time unit of the linger time .
+     * */
+    public DBBatchWriter(final DBConnectionPool pool, final int maxBatchSize,
+        final long lingerTime, final TimeUnit unit) {
+
+        if (maxBatchSize <= 0 || lingerTime < 0) {
+            throw new IllegalArgumentException(
+                DBCPMessageException.MSG_INVALID_BATCH_BOUNDS);
+        }
+        this.pool = pool;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = unit.toNanos(lingerTime);
+        this.lock = new ReentrantLock();
+        this.pending = new HashMap<String, DBBatch>();
+        this.executor = new ScheduledThreadPoolExecutor(1,
+            new DBPoolThreadFactory("dbpool-batch"));
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Queue a write .
+     * @param sql the parameterized SQL .
+     * @param parameters the parameters, bound with setObject .
+     * @return future of the update count .
+     * */
+    public CompletableFuture<Integer> submit(final String sql,
+        final Object... parameters) {
+
+        DBBatchItem item = new DBBatchItem(parameters);
+        DBBatch full = null;
+
+        lock.lock();
+        try {
+            if (closed) {
+                item.future.completeExceptionally(new SQLException(
+                    DBCPMessageException.MSG_BATCH_WRITER_CLOSED));
+                return item.future;
+            }
+
+            DBBatch batch = pending.get(sql);
+            if (batch == null) {
+                batch = new DBBatch(sql);
+                pending.put(sql, batch);
+                if (maxBatchSize > 1) {
+                    batch.lingerTask = executor.schedule(batch, lingerNanos,
+                        TimeUnit.NANOSECONDS);
+                }
+            }
+            batch.items.add(item);
+            if (batch.items.size() >= maxBatchSize) {
+                pending.remove(sql);
+                full = batch;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (full != null) {
+            flushLater(full);
+        }
+        return item.future;
+    }
+
+    /**
+     * Hand a batch taken off the pending ones to the flush thread .
+     * @param batch the batch .
+     * */
+    private void flushLater(final DBBatch batch) {
+
+        if (batch.lingerTask != null) {
+            batch.lingerTask.cancel(false);
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    flush(batch);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            // closed meanwhile, run it on the caller thread
+            flush(batch);
+        }
+    }
+
+    /**
+     * Take a batch off the pending ones if it is still there .
+     * @param batch the batch .
+     * @return true if the caller now owns the batch .
+     * */
+    private boolean take(final DBBatch batch) {
+
+        lock.lock();
+        try {
+            return pending.remove(batch.sql, batch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Run a batch on a borrowed connection and complete its futures .
+     * @param batch the batch .
+     * */
+    private void flush(final DBBatch batch) {
+
+        List<DBBatchItem> bound = new ArrayList<DBBatchItem>(
+            batch.items.size());
+        int[] updateCounts = null;
+        SQLException failure = null;
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement =
+                 connection.prepareStatement(batch.sql)) {
+
+            for (DBBatchItem item : batch.items) {
+                if (bind(statement, item)) {
+                    bound.add(item);
+                }
+            }
+            if (bound.isEmpty()) {
+                return;
+            }
+
+            boolean autoCommit = connection.getAutoCommit();
+            try {
+                updateCounts = statement.executeBatch();
+                if (!autoCommit) {
+                    connection.commit();
+                }
+            } catch (BatchUpdateException exception) {
+                // the rows written so far must still reach their futures
+                failure = exception;
+                try {
+                    statement.clearBatch();
+                } catch (SQLException clearException) {
+                    exception.addSuppressed(clearException);
+                }
+                if (autoCommit) {
+                    updateCounts = exception.getUpdateCounts();
+                } else {
+                    try {
+                        connection.rollback();
+                    } catch (SQLException rollbackException) {
+                        exception.addSuppressed(rollbackException);
+                    }
+                }
+            }
+        } catch (SQLException | RuntimeException exception) {
+            // writes failed while binding keep their own failure
+            fail(batch.items, exception);
+            return;
+        }
+
+        // completed once the connection is back in the pool
+        complete(bound, updateCounts, failure);
+    }
+
+    /**
+     * Bind the parameters of a write and add it to the batch, a write
+     * that cannot be bound fails alone .
+     * @param statement the batch statement .
+     * @param item the write .
+     * @return true if the write was added .
+     * */
+    private static boolean bind(final PreparedStatement statement,
+        final DBBatchItem item) {
+
+        try {
+            for (int i = 0; i < item.parameters.length; i++) {
+                statement.setObject(i + 1, item.parameters[i]);
+            }
+            statement.addBatch();
+            return true;
+        } catch (SQLException exception) {
+            try {
+                statement.clearParameters();
+            } catch (SQLException clearException) {
+                exception.addSuppressed(clearException);
+            }
+            item.future.completeExceptionally(exception);
+            return false;
+        }
+    }
+
+    /**
+     * Complete the writes with their update counts, the ones without a
+     * count or reported as failed get the failure .
+     * @param items the writes in batch order .
+     * @param updateCounts the update counts, may be shorter or null .
+     * @param failure the batch failure, null if it succeeded .
+     * */
+    private static void complete(final List<DBBatchItem> items,
+        final int[] updateCounts, final SQLException failure) {
+
+        for (int i = 0; i < items.size(); i++) {
+            CompletableFuture<Integer> future = items.get(i).future;
+            if (updateCounts == null || i >= updateCounts.length
+                || updateCounts[i] == Statement.EXECUTE_FAILED) {
+                future.completeExceptionally(failure != null ? failure
+                    : new SQLException(
+                        DBCPMessageException.MSG_MISSING_UPDATE_COUNT));
+            } else {
+                future.complete(updateCounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Fail every write not completed yet .
+     * @param items the writes .
+     * @param failure the failure .
+     * */
+    private static void fail(final List<DBBatchItem> items,
+        final Throwable failure) {
+
+        for (DBBatchItem item : items) {
+            item.future.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Flush the pending writes and stop the flush thread, writes submitted
+     * afterwards fail. The call blocks without a time limit until the last
+     * batches have run, each of them waits at most the connection timeout
+     * of the pool for a connection and then as long as its statement runs .
+     * @throws SQLException if interrupted while the last batches run, the
+     *         interrupt flag is set again .
+     * */
+    @Override
+    public void close() throws SQLException {
+
+        List<DBBatch> batches;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            batches = new ArrayList<DBBatch>(pending.values());
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        for (DBBatch batch : batches) {
+            flushLater(batch);
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(
+                DBCPMessageException.MSG_BATCH_WRITER_CLOSE_INTERRUPTED,
+                exception);
+        }
+    }
+
+    /**
+     * Writes queued for one SQL, run as the linger task of the batch .
+     * @author cgcastro
+     * @version 1.0
+     */
+    private final class DBBatch implements Runnable {
+
+        /**
+         * String the parameterized SQL .
+         */
+        private final String sql;
+
+        /**
+         * List writes in submission order .
+         */
+        private final List<DBBatchItem> items;
+
+        /**
+         * ScheduledFuture the linger task, null without linger .
+         */
+        private ScheduledFuture<?> lingerTask;
+
+        /**
+         * Constructor .
+         * @param sql the parameterized SQL .
+         * */
+        DBBatch(final String sql) {
+            this.sql = sql;
+            this.items = new ArrayList<DBBatchItem>();
+        }
+
+        /**
+         * Flush the batch once the linger time elapsed, unless it was
+         * already flushed because it was full .
+         * */
+        @Override
+        public void run() {
+
+            if (take(this)) {
+                flush(this);
+            }
+        }
+    }
+
+    /**
+     * One queued write .
+     * @author cgcastro
+     * @version 1.0
+     */
+    private static final class DBBatchItem {
+
+        /**
+         * Object[] the parameters .
+         */
+        private final Object[] parameters;
+
+        /**
+         * CompletableFuture future of the update count .
+         */
+        private final CompletableFuture<Integer> future;
+
+        /**
+         * Constructor .
+         * @param parameters the parameters .
+         * */
+        DBBatchItem(final Object[] parameters) {
+            this.parameters = parameters.clone();
+            this.future = new CompletableFuture<Integer>();
+        }
+    }
+}
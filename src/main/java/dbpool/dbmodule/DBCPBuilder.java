@@ -47,4 +47,16 @@ public class DBCPBuilder {
                 DBCPMessageException.MSG_INVALID_CONFIGURATION);
         }
     }
+
+    /**
+     *  Build a connection pool and expose it as a DataSource .
+     *  @throws SQLException sql exceptions
+     *  @throws DBPoolException db pool exception
+     *  @return DBPoolDataSource object .
+     * */
+    public DBPoolDataSource buildDataSource() throws SQLException,
+        DBPoolException {
+
+        return new DBPoolDataSource(build());
+    }
 }
@@ -0,0 +1,298 @@
+package dbpool.dbmodule;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Struct;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query result detached from its connection. The values are kept in a
+ * single array, row after row, with the column labels shared by every
+ * row. LOB, SQLXML, Array and Struct values are read into byte[], String
+ * and Object[] copies, a result holding a value that cannot be detached
+ * is returned but never cached. Byte arrays, dates and Object[] values
+ * are copied on every read, so a caller cannot change the cached value .
+ * @author cgcastro
+ * @version 1.0
+ */
+public final class DBCachedResult {
+
+    /**
+     * long estimated bytes of an object header and its reference .
+     */
+    private static final long OBJECT_BYTES = 16;
+    /**
+     * long estimated bytes of a boxed number, date or boolean .
+     */
+    private static final long BOXED_BYTES = 24;
+    /**
+     * long estimated bytes of a String without its characters .
+     */
+    private static final long STRING_BYTES = 40;
+    /**
+     * long estimated bytes of a BigDecimal .
+     */
+    private static final long DECIMAL_BYTES = 48;
+    /**
+     * long estimated bytes of an unknown value .
+     */
+    private static final long OTHER_BYTES = 64;
+
+    /**
+     * String[] the column labels .
+     */
+    private final String[] columnLabels;
+    /**
+     * Object[] the values, row after row .
+     */
+    private final Object[] values;
+    /**
+     * long estimated memory used by the result .
+     */
+    private final long sizeInBytes;
+    /**
+     * boolean false if a value is still bound to its connection .
+     */
+    private final boolean detached;
+
+    /**
+     * Constructor .
+     * @param columnLabels the column labels .
+     * @param values the values, row after row .
+     * @param detached false if a value is still bound to its connection .
+     * */
+    DBCachedResult(final String[] columnLabels, final Object[] values,
+        final boolean detached) {
+
+        this.columnLabels = columnLabels;
+        this.values = values;
+        this.detached = detached;
+
+        long size = OBJECT_BYTES * 3 + OBJECT_BYTES * values.length;
+        for (String label : columnLabels) {
+            size += estimateSize(label);
+        }
+        for (Object value : values) {
+            size += estimateSize(value);
+        }
+        this.sizeInBytes = size;
+    }
+
+    /**
+     * Read every row of a result set .
+     * @param resultSet the result set .
+     * @throws SQLException sql exception .
+     * @return the detached result .
+     * */
+    static DBCachedResult read(final ResultSet resultSet) throws SQLException {
+
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] columnLabels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnLabels[i] = metaData.getColumnLabel(i + 1);
+        }
+
+        List<Object> values = new ArrayList<Object>();
+        boolean detached = true;
+        while (resultSet.next()) {
+            for (int i = 1; i <= columnCount; i++) {
+                Object value = detach(resultSet.getObject(i));
+                detached &= !isBound(value);
+                values.add(value);
+            }
+        }
+        return new DBCachedResult(columnLabels, values.toArray(), detached);
+    }
+
+    /**
+     * Read a value into a copy that does not depend on the connection, the
+     * driver object is freed. A Ref is kept as it is .
+     * @param value the value read from the result set .
+     * @throws SQLException sql exception .
+     * @return the detached value .
+     * */
+    private static Object detach(final Object value) throws SQLException {
+
+        if (value instanceof Blob) {
+            Blob blob = (Blob) value;
+            byte[] bytes = blob.getBytes(1, (int) blob.length());
+            blob.free();
+            return bytes;
+        } else if (value instanceof Clob) {
+            // NClob too
+            Clob clob = (Clob) value;
+            String text = clob.getSubString(1, (int) clob.length());
+            clob.free();
+            return text;
+        } else if (value instanceof SQLXML) {
+            SQLXML xml = (SQLXML) value;
+            String text = xml.getString();
+            xml.free();
+            return text;
+        } else if (value instanceof Array) {
+            Array array = (Array) value;
+            Object elements = array.getArray();
+            array.free();
+            return detach(elements);
+        } else if (value instanceof Struct) {
+            return detach(((Struct) value).getAttributes());
+        } else if (value instanceof Object[]) {
+            Object[] elements = ((Object[]) value).clone();
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = detach(elements[i]);
+            }
+            return elements;
+        }
+        return copy(value);
+    }
+
+    /**
+     * Check if a detached value still holds a Ref to the database .
+     * @param value the detached value .
+     * @return true if the value is bound to its connection .
+     * */
+    private static boolean isBound(final Object value) {
+
+        if (value instanceof Ref) {
+            return true;
+        } else if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                if (isBound(element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copy a mutable value, byte arrays, dates and Object[] values .
+     * @param value the value .
+     * @return a copy, or the value itself if it is immutable .
+     * */
+    private static Object copy(final Object value) {
+
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        } else if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).clone();
+        } else if (value instanceof Object[]) {
+            Object[] elements = ((Object[]) value).clone();
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = copy(elements[i]);
+            }
+            return elements;
+        }
+        return value;
+    }
+
+    /**
+     * Estimate the memory used by a value .
+     * @param value the value .
+     * @return estimated bytes .
+     * */
+    private static long estimateSize(final Object value) {
+
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String) {
+            return STRING_BYTES + 2L * ((String) value).length();
+        } else if (value instanceof byte[]) {
+            return OBJECT_BYTES + ((byte[]) value).length;
+        } else if (value instanceof BigDecimal) {
+            return DECIMAL_BYTES;
+        } else if (value instanceof Number || value instanceof Boolean
+            || value instanceof java.util.Date) {
+            return BOXED_BYTES;
+        } else if (value instanceof Object[]) {
+            long size = OBJECT_BYTES * (1 + ((Object[]) value).length);
+            for (Object element : (Object[]) value) {
+                size += estimateSize(element);
+            }
+            return size;
+        }
+        return OTHER_BYTES;
+    }
+
+    /**
+     * Get the number of columns .
+     * @return column count .
+     * */
+    public int getColumnCount() {
+        return columnLabels.length;
+    }
+
+    /**
+     * Get the label of a column .
+     * @param column the column, the first one is 1 .
+     * @return the label .
+     * */
+    public String getColumnLabel(final int column) {
+        return columnLabels[column - 1];
+    }
+
+    /**
+     * Get the number of rows .
+     * @return row count .
+     * */
+    public int getRowCount() {
+        return columnLabels.length == 0 ? 0
+            : values.length / columnLabels.length;
+    }
+
+    /**
+     * Get a value, mutable values are copied .
+     * @param row the row, the first one is 0 .
+     * @param column the column, the first one is 1 .
+     * @return the value .
+     * */
+    public Object getObject(final int row, final int column) {
+
+        if (column < 1 || column > columnLabels.length) {
+            throw new IndexOutOfBoundsException("column " + column);
+        }
+        return copy(values[row * columnLabels.length + column - 1]);
+    }
+
+    /**
+     * Get a value by column label, ignoring case .
+     * @param row the row, the first one is 0 .
+     * @param columnLabel the column label .
+     * @return the value .
+     * */
+    public Object getObject(final int row, final String columnLabel) {
+
+        for (int i = 0; i < columnLabels.length; i++) {
+            if (columnLabel.equalsIgnoreCase(columnLabels[i])) {
+                return getObject(row, i + 1);
+            }
+        }
+        throw new IllegalArgumentException("column " + columnLabel);
+    }
+
+    /**
+     * Check if every value is detached from the connection, only those
+     * results are cached .
+     * @return true if the result can be cached .
+     * */
+    boolean isDetached() {
+        return detached;
+    }
+
+    /**
+     * Get the estimated memory used by the result .
+     * @return estimated bytes .
+     * */
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+}
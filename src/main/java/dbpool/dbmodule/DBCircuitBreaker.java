@@ -0,0 +1,160 @@
+package dbpool.dbmodule;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker around the creation of physical connections. After
+ * the configured number of consecutive failures the breaker opens: no
+ * connection is created and borrowers that find no idle connection fail
+ * at once instead of waiting. Once the open time elapses a single probe
+ * creation is allowed, a success closes the breaker and a failure opens
+ * it again for twice as long, up to the max backoff. Half of every open
+ * time is random so pools sharing a database do not reconnect together.
+ * The state is changed by the refill worker only and read by borrowers .
+ * @author cgcastro
+ * @version 1.0
+ */
+final class DBCircuitBreaker {
+
+    /**
+     * Logger the dbpool logger .
+     */
+    private static final Logger LOGGER = Logger.getLogger("dbpool");
+
+    /**
+     * int creations allowed .
+     */
+    private static final int CLOSED = 0;
+    /**
+     * int creations refused until the open time elapses .
+     */
+    private static final int OPEN = 1;
+    /**
+     * int one probe creation allowed .
+     */
+    private static final int HALF_OPEN = 2;
+
+    /**
+     * int consecutive failures that open the breaker, 0 if disabled .
+     */
+    private final int failureThreshold;
+    /**
+     * long first open time in nanoseconds .
+     */
+    private final long baseBackoffNanos;
+    /**
+     * long longest open time in nanoseconds .
+     */
+    private final long maxBackoffNanos;
+    /**
+     * int state of the breaker .
+     */
+    private volatile int state;
+    /**
+     * long time the breaker stops refusing creations in nanoseconds .
+     */
+    private volatile long openUntilNanos;
+    /**
+     * int consecutive creation failures .
+     */
+    private int consecutiveFailures;
+    /**
+     * int openings since the last successful creation .
+     */
+    private int openings;
+
+    /**
+     * Constructor .
+     * @param failureThreshold consecutive failures that open the breaker,
+     * 0 to disable it .
+     * @param baseBackoffNanos first open time in nanoseconds .
+     * @param maxBackoffNanos longest open time in nanoseconds .
+     * */
+    DBCircuitBreaker(final int failureThreshold, final long baseBackoffNanos,
+        final long maxBackoffNanos) {
+
+        this.failureThreshold = failureThreshold;
+        this.baseBackoffNanos = baseBackoffNanos;
+        this.maxBackoffNanos = maxBackoffNanos;
+        this.state = CLOSED;
+    }
+
+    /**
+     * Check if a connection may be created now, the first check after the
+     * open time elapsed lets the probe through .
+     * @return true if the creation may go on .
+     * */
+    boolean allowCreation() {
+
+        int current = state;
+        if (current == CLOSED) {
+            return true;
+        }
+        if (current == OPEN && System.nanoTime() - openUntilNanos >= 0) {
+            state = HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Record a created connection, the breaker closes .
+     * */
+    void recordSuccess() {
+
+        consecutiveFailures = 0;
+        openings = 0;
+        if (state != CLOSED) {
+            state = CLOSED;
+            LOGGER.log(Level.INFO, "dbpool circuit breaker closed");
+        }
+    }
+
+    /**
+     * Record a failed creation, the breaker opens after too many in a row
+     * or when the probe fails .
+     * */
+    void recordFailure() {
+
+        if (failureThreshold == 0) {
+            return;
+        }
+        consecutiveFailures++;
+        if (state == HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Open the breaker, the open time doubles with each opening and half
+     * of it is random .
+     * */
+    private void open() {
+
+        long backoffNanos = baseBackoffNanos;
+        for (int i = 0; i < openings && backoffNanos < maxBackoffNanos; i++) {
+            backoffNanos <<= 1;
+        }
+        backoffNanos = Math.min(backoffNanos, maxBackoffNanos);
+        openings++;
+
+        long halfNanos = backoffNanos / 2;
+        long openNanos = backoffNanos - halfNanos
+            + ThreadLocalRandom.current().nextLong(halfNanos + 1);
+        openUntilNanos = System.nanoTime() + openNanos;
+        state = OPEN;
+        LOGGER.log(Level.WARNING, "dbpool circuit breaker open for {0} ms"
+            + " after {1} failed connection attempts",
+            new Object[] {openNanos / 1000000, consecutiveFailures});
+    }
+
+    /**
+     * Check if creations are refused, borrowers then fail at once .
+     * @return true while the breaker is open .
+     * */
+    boolean isOpen() {
+        return state == OPEN && System.nanoTime() - openUntilNanos < 0;
+    }
+}
@@ -0,0 +1,534 @@
+package dbpool.dbmodule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free container of pooled entries. An entry is borrowed by claiming
+ * its state with compare-and-set, first from the entries the calling
+ * thread returned most recently and then from the shared list. The shared
+ * list is only copied when a physical connection is added or removed,
+ * never on borrow or return. A borrow that misses the thread list
+ * notifies the listener of the bag so idle entries can be added in
+ * advance. Threads that find the bag empty wait in a
+ * FIFO queue and a returned entry is handed straight to the longest
+ * waiter. Waiting parks the thread and nothing is synchronized, so a
+ * virtual thread never pins its carrier. Virtual threads skip the thread
+ * list, they rarely outlive one borrow. An asynchronous borrower queues a
+ * callback instead of a thread, the entry is passed to it by the thread
+ * that returns the entry. With more than one stripe the shared list is
+ * split into that many slices and each thread starts its scan in the
+ * slice picked by a hash of its id, going on to the next slices when its
+ * own has nothing free, so threads do not all compete for the first
+ * entries .
+ * @param <T> the entry type .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBConnectionBag<T extends DBBagEntry> {
+
+    /**
+     * int max entries remembered per thread .
+     */
+    private static final int MAX_THREAD_ENTRIES = 16;
+
+    /**
+     * int golden ratio multiplier spreading thread ids over the stripes .
+     */
+    private static final int STRIPE_HASH = 0x9E3779B9;
+
+    /**
+     * int slices of the shared list where threads start their scan .
+     */
+    private final int stripes;
+
+    /**
+     * CopyOnWriteArrayList all the entries of the bag .
+     */
+    private final CopyOnWriteArrayList<T> sharedList;
+
+    /**
+     * ThreadLocal entries last returned by the current thread .
+     */
+    private final ThreadLocal<List<T>> threadList;
+
+    /**
+     * ConcurrentLinkedQueue threads waiting for an entry, oldest first .
+     */
+    private final ConcurrentLinkedQueue<Waiter<T>> waiters;
+
+    /**
+     * Runnable listener notified when a borrow reaches the shared list .
+     */
+    private final Runnable sharedBorrowListener;
+
+    /**
+     * Constructor .
+     * @param stripes slices of the shared list where threads start their
+     *        scan .
+     * @param sharedBorrowListener listener notified when a borrow reaches
+     *        the shared list .
+     * */
+    DBConnectionBag(final int stripes, final Runnable sharedBorrowListener) {
+
+        this.stripes = stripes;
+        this.sharedBorrowListener = sharedBorrowListener;
+
+        this.sharedList = new CopyOnWriteArrayList<T>();
+        this.waiters = new ConcurrentLinkedQueue<Waiter<T>>();
+        this.threadList = new ThreadLocal<List<T>>() {
+            @Override
+            protected List<T> initialValue() {
+                return new ArrayList<T>(MAX_THREAD_ENTRIES);
+            }
+        };
+    }
+
+    /**
+     * Claim an entry not in use, starting with the ones last used by the
+     * current thread .
+     * @return the borrowed entry or null if every entry is in use .
+     * */
+    T borrow() {
+
+        // fast path: connections recently returned by this thread
+        if (!DBThreads.isVirtual(Thread.currentThread())) {
+            List<T> list = threadList.get();
+            for (int i = list.size() - 1; i >= 0; i--) {
+                T entry = list.remove(i);
+                if (entry.compareAndSetState(DBBagEntry.STATE_NOT_IN_USE,
+                    DBBagEntry.STATE_IN_USE)) {
+                    return entry;
+                }
+            }
+        }
+
+        // slow path: scan the shared list
+        T entry = scanSharedList();
+        sharedBorrowListener.run();
+        return entry;
+    }
+
+    /**
+     * Claim an entry waiting up to the given time for one to be returned.
+     * Waiting threads are served in arrival order .
+     * @throws InterruptedException if interrupted while waiting .
+     * @param timeoutNanos max time to wait in nanoseconds .
+     * @return the borrowed entry or null if the timeout elapsed .
+     * */
+    T borrow(final long timeoutNanos) throws InterruptedException {
+
+        T entry = borrow();
+        if (entry != null || timeoutNanos <= 0) {
+            return entry;
+        }
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        Waiter<T> waiter = new Waiter<T>(Thread.currentThread(), null);
+        waiters.add(waiter);
+        sharedBorrowListener.run();
+
+        for (;;) {
+            T handed = waiter.getEntry();
+            if (handed != null) {
+                return handed;
+            }
+
+            // an entry may have been returned before this thread queued
+            entry = scanSharedList();
+            if (entry != null) {
+                if (waiter.cancel()) {
+                    waiters.remove(waiter);
+                    return entry;
+                }
+                // handed over at the same time, keep only one of them
+                requite(entry);
+                continue;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                if (waiter.cancel()) {
+                    waiters.remove(waiter);
+                    return null;
+                }
+                continue;
+            }
+
+            LockSupport.parkNanos(this, remaining);
+
+            if (Thread.interrupted()) {
+                if (waiter.cancel()) {
+                    waiters.remove(waiter);
+                    throw new InterruptedException();
+                }
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Claim an entry or queue a callback that receives the next entry
+     * handed over. The callback runs on the calling thread if an entry is
+     * free, otherwise on the thread that returns or adds the entry .
+     * @param callback receives the borrowed entry, or null if the bag is
+     *        closed while it waits .
+     * @return the queued waiter, null if the callback already ran .
+     * */
+    Waiter<T> borrowAsync(final Consumer<T> callback) {
+
+        T entry = borrow();
+        if (entry != null) {
+            callback.accept(entry);
+            return null;
+        }
+
+        Waiter<T> waiter = new Waiter<T>(null, callback);
+        waiters.add(waiter);
+        sharedBorrowListener.run();
+
+        // an entry may have been returned before the callback queued
+        entry = scanSharedList();
+        if (entry != null) {
+            if (waiter.cancel()) {
+                waiters.remove(waiter);
+                callback.accept(entry);
+                return null;
+            }
+            // handed over at the same time, keep only one of them
+            requite(entry);
+        }
+        return waiter;
+    }
+
+    /**
+     * Cancel a queued asynchronous borrow .
+     * @param waiter the queued waiter .
+     * @return true if no entry was handed to the waiter .
+     * */
+    boolean cancel(final Waiter<T> waiter) {
+
+        if (waiter.cancel()) {
+            waiters.remove(waiter);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Wake every queued asynchronous borrow with a null entry, used when
+     * the pool shuts down .
+     * */
+    void cancelCallbacks() {
+
+        for (Waiter<T> waiter : waiters) {
+            if (waiter.callback != null && waiter.cancel()) {
+                waiters.remove(waiter);
+                waiter.callback.accept(null);
+            }
+        }
+    }
+
+    /**
+     * Claim the first entry not in use of the shared list .
+     * @return the borrowed entry or null .
+     * */
+    private T scanSharedList() {
+
+        if (stripes == 1) {
+            return claim(sharedList.listIterator(), Integer.MAX_VALUE);
+        }
+
+        int start = stripeStart(sharedList.size());
+        ListIterator<T> iterator;
+        try {
+            iterator = sharedList.listIterator(start);
+        } catch (IndexOutOfBoundsException exception) {
+            // the list shrank after its size was read
+            start = 0;
+            iterator = sharedList.listIterator();
+        }
+
+        // own stripe and the ones after it, then the ones before it
+        T entry = claim(iterator, Integer.MAX_VALUE);
+        if (entry == null && start > 0) {
+            entry = claim(sharedList.listIterator(), start);
+        }
+        return entry;
+    }
+
+    /**
+     * Claim the first entry not in use of an iterator .
+     * @param iterator snapshot iterator of the shared list .
+     * @param limit max entries to look at .
+     * @return the borrowed entry or null .
+     * */
+    private T claim(final ListIterator<T> iterator, final int limit) {
+
+        for (int i = 0; i < limit && iterator.hasNext(); i++) {
+            T entry = iterator.next();
+            if (entry.compareAndSetState(DBBagEntry.STATE_NOT_IN_USE,
+                DBBagEntry.STATE_IN_USE)) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the index where the stripe of the current thread starts .
+     * @param size size of the shared list .
+     * @return the first index of the stripe .
+     * */
+    private int stripeStart(final int size) {
+
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * STRIPE_HASH;
+        int stripe = (hash >>> 1) % stripes;
+        return (int) ((long) stripe * size / stripes);
+    }
+
+    /**
+     * Give back a borrowed entry. If there are waiting threads the entry
+     * is handed to the longest waiter without passing through the shared
+     * list. An entry removed while borrowed is dropped .
+     * @param entry the borrowed entry .
+     * */
+    void requite(final T entry) {
+
+        for (;;) {
+            if (entry.getState() != DBBagEntry.STATE_IN_USE) {
+                return;
+            }
+            if (handOff(entry)) {
+                return;
+            }
+            if (!entry.compareAndSetState(DBBagEntry.STATE_IN_USE,
+                DBBagEntry.STATE_NOT_IN_USE)) {
+                return;
+            }
+            // a thread may have queued after the hand off was attempted
+            if (waiters.isEmpty()
+                || !entry.compareAndSetState(DBBagEntry.STATE_NOT_IN_USE,
+                    DBBagEntry.STATE_IN_USE)) {
+                break;
+            }
+        }
+
+        if (DBThreads.isVirtual(Thread.currentThread())) {
+            return;
+        }
+        List<T> list = threadList.get();
+        if (list.size() < MAX_THREAD_ENTRIES) {
+            list.add(entry);
+        }
+    }
+
+    /**
+     * Add a new entry to the bag, the state of the entry is kept so a
+     * newly created connection can be added already borrowed .
+     * @param entry the new entry .
+     * */
+    void add(final T entry) {
+
+        sharedList.add(entry);
+
+        if (!waiters.isEmpty()
+            && entry.compareAndSetState(DBBagEntry.STATE_NOT_IN_USE,
+                DBBagEntry.STATE_IN_USE)) {
+            requite(entry);
+        }
+    }
+
+    /**
+     * Hand a borrowed entry to the longest waiting thread .
+     * @param entry the borrowed entry .
+     * @return true if a waiting thread took the entry .
+     * */
+    private boolean handOff(final T entry) {
+
+        Waiter<T> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.fulfil(entry)) {
+                waiter.wake();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reserve an entry not in use so a background task can work on it,
+     * borrowers skip reserved entries .
+     * @param entry the entry .
+     * @return true if the entry was reserved .
+     * */
+    boolean reserve(final T entry) {
+
+        return entry.compareAndSetState(DBBagEntry.STATE_NOT_IN_USE,
+            DBBagEntry.STATE_RESERVED);
+    }
+
+    /**
+     * Make a reserved entry available again, it is handed to the longest
+     * waiter if there is any .
+     * @param entry the reserved entry .
+     * */
+    void unreserve(final T entry) {
+
+        if (entry.compareAndSetState(DBBagEntry.STATE_RESERVED,
+            DBBagEntry.STATE_IN_USE)) {
+            requite(entry);
+        }
+    }
+
+    /**
+     * Get a snapshot of the entries of the bag .
+     * @return the entries .
+     * */
+    List<T> values() {
+        return sharedList;
+    }
+
+    /**
+     * Get the number of threads waiting for an entry .
+     * @return number of waiting threads .
+     * */
+    int getWaitingThreads() {
+        return waiters.size();
+    }
+
+    /**
+     * Remove a borrowed or reserved entry from the bag .
+     * @param entry the entry to remove .
+     * @return true if the entry was removed .
+     * */
+    boolean remove(final T entry) {
+
+        if (!entry.compareAndSetState(DBBagEntry.STATE_IN_USE,
+                DBBagEntry.STATE_REMOVED)
+            && !entry.compareAndSetState(DBBagEntry.STATE_RESERVED,
+                DBBagEntry.STATE_REMOVED)) {
+            return false;
+        }
+
+        return sharedList.remove(entry);
+    }
+
+    /**
+     * Count the entries in a given state .
+     * @param state the state .
+     * @return number of entries .
+     * */
+    int getCount(final int state) {
+
+        int count = 0;
+        for (T entry : sharedList) {
+            if (entry.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the total number of entries .
+     * @return number of entries .
+     * */
+    int size() {
+        return sharedList.size();
+    }
+
+    /**
+     * Thread or callback waiting for an entry, the entry is set once
+     * either by the returning thread or by the cancellation of the
+     * waiter .
+     * @param <E> the entry type .
+     */
+    static final class Waiter<E> {
+
+        /**
+         * Object marker of a cancelled waiter .
+         */
+        private static final Object CANCELLED = new Object();
+
+        /**
+         * AtomicReferenceFieldUpdater updater for the entry field .
+         */
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Waiter, Object>
+            ENTRY_UPDATER = AtomicReferenceFieldUpdater.newUpdater(
+                Waiter.class, Object.class, "entry");
+
+        /**
+         * Thread the waiting thread, null for a callback .
+         */
+        private final Thread thread;
+
+        /**
+         * Consumer callback of an asynchronous borrow, null for a thread .
+         */
+        private final Consumer<E> callback;
+
+        /**
+         * Object handed entry or cancelled marker .
+         */
+        private volatile Object entry;
+
+        /**
+         * Constructor .
+         * @param thread the waiting thread, null for a callback .
+         * @param callback the callback, null for a thread .
+         * */
+        Waiter(final Thread thread, final Consumer<E> callback) {
+            this.thread = thread;
+            this.callback = callback;
+        }
+
+        /**
+         * Wake the waiter up once an entry was handed to it .
+         * */
+        void wake() {
+
+            if (callback != null) {
+                callback.accept(getEntry());
+            } else {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        /**
+         * Hand an entry to the waiter .
+         * @param handed the entry .
+         * @return true if the waiter was still waiting .
+         * */
+        boolean fulfil(final E handed) {
+            return ENTRY_UPDATER.compareAndSet(this, null, handed);
+        }
+
+        /**
+         * Cancel the waiter .
+         * @return true if no entry was handed before .
+         * */
+        boolean cancel() {
+            return ENTRY_UPDATER.compareAndSet(this, null, CANCELLED);
+        }
+
+        /**
+         * Get the handed entry .
+         * @return the entry or null if none was handed .
+         * */
+        @SuppressWarnings("unchecked")
+        E getEntry() {
+            Object value = entry;
+            return value == CANCELLED ? null : (E) value;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package dbpool.dbmodule;
+
+import dbpool.utils.Constants.DBCPMessageException;
+import dbpool.utils.DBConnectionInitializer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Opens the physical connections of a pool. The JDBC driver, or the
+ * DataSource given in the configuration, is resolved once when the pool
+ * is built, so creating a connection is a direct call to the driver
+ * without loading classes nor scanning the DriverManager drivers. A new
+ * connection runs the init SQL and the initializer before it is returned,
+ * in the creating thread .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBConnectionFactory {
+
+    /**
+     * DataSource the user supplied data source, null if not set .
+     */
+    private final DataSource dataSource;
+    /**
+     * Driver the driver accepting the url, null with a data source .
+     */
+    private final Driver driver;
+    /**
+     * String the database url .
+     */
+    private final String url;
+    /**
+     * String the database username, null if not set .
+     */
+    private final String username;
+    /**
+     * String the database password .
+     */
+    private final String password;
+    /**
+     * Properties user and password given to the driver on every connect .
+     */
+    private final Properties connectionProperties;
+    /**
+     * String[] SQL run once on every new connection .
+     */
+    private final String[] initSql;
+    /**
+     * DBConnectionInitializer callback run once, null if not set .
+     */
+    private final DBConnectionInitializer connectionInitializer;
+
+    /**
+     * Constructor, it loads and resolves the driver of the url .
+     * @param dbPoolConfiguration the pool configuration .
+     * @throws SQLException if the driver is not found or rejects the url .
+     * */
+    DBConnectionFactory(final DBPoolConfiguration dbPoolConfiguration)
+        throws SQLException {
+
+        this.dataSource = dbPoolConfiguration.getDataSource();
+        this.url = dbPoolConfiguration.getDburl();
+        this.username = dbPoolConfiguration.getDbusername();
+        this.password = dbPoolConfiguration.getDbpassword();
+        this.initSql = dbPoolConfiguration.getInitSql().toArray(new String[0]);
+        this.connectionInitializer =
+            dbPoolConfiguration.getConnectionInitializer();
+
+        this.connectionProperties = new Properties();
+        if (username != null) {
+            connectionProperties.setProperty("user", username);
+        }
+        if (password != null) {
+            connectionProperties.setProperty("password", password);
+        }
+
+        if (dataSource != null) {
+            this.driver = null;
+            return;
+        }
+
+        try {
+            Class.forName(dbPoolConfiguration.getDbDriver());
+        } catch (ClassNotFoundException exception) {
+            throw new SQLException(DBCPMessageException.MSG_INVALID_DRIVER);
+        }
+        this.driver = DriverManager.getDriver(url);
+    }
+
+    /**
+     * Open and initialize a new physical connection, it is closed if the
+     * initialization fails. A runtime exception of the initializer is
+     * wrapped in an SQLException, so the pool releases the slot of the
+     * connection as for any other creation failure .
+     * @throws SQLException sql exception .
+     * @return the connection .
+     * */
+    Connection createConnection() throws SQLException {
+
+        Connection connection = openConnection();
+        try {
+            initialize(connection);
+        } catch (SQLException exception) {
+            closeAfterFailure(connection, exception);
+            throw exception;
+        } catch (RuntimeException exception) {
+            SQLException failure = new SQLException(
+                DBCPMessageException.MSG_CONNECTION_INIT_FAILED, exception);
+            closeAfterFailure(connection, failure);
+            throw failure;
+        }
+        return connection;
+    }
+
+    /**
+     * Close a connection whose initialization failed .
+     * @param connection the connection .
+     * @param failure the failure, a close failure is added to it .
+     * */
+    private static void closeAfterFailure(final Connection connection,
+        final SQLException failure) {
+
+        try {
+            connection.close();
+        } catch (SQLException closeException) {
+            failure.addSuppressed(closeException);
+        }
+    }
+
+    /**
+     * Open a new physical connection .
+     * @throws SQLException sql exception .
+     * @return the connection .
+     * */
+    private Connection openConnection() throws SQLException {
+
+        if (dataSource != null) {
+            return username == null || username.isEmpty()
+                ? dataSource.getConnection()
+                : dataSource.getConnection(username, password);
+        }
+
+        Connection connection = driver.connect(url, connectionProperties);
+        if (connection == null) {
+            throw new SQLException(DBCPMessageException.MSG_INVALID_URL);
+        }
+        return connection;
+    }
+
+    /**
+     * Run the init SQL in order, then the initializer .
+     * @param connection the new connection .
+     * @throws SQLException sql exception .
+     * */
+    private void initialize(final Connection connection)
+        throws SQLException {
+
+        if (initSql.length > 0) {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : initSql) {
+                    statement.execute(sql);
+                }
+            }
+        }
+        if (connectionInitializer != null) {
+            connectionInitializer.initialize(connection);
+        }
+    }
+}
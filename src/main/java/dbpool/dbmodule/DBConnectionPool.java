@@ -1,14 +1,23 @@
 package dbpool.dbmodule;
 
-import dbpool.utils.Constants.DBCPStatus;
+import dbpool.utils.Constants.DBCPStartupMode;
+import dbpool.utils.DBConnectionLeak;
+import dbpool.utils.DBConnectionWork;
 import dbpool.utils.DBConnectionValidator;
+import dbpool.utils.DBLeakListener;
 import dbpool.utils.Constants.DBCPMessageException;
 import dbpool.utils.DBPoolException;
+import dbpool.utils.DBPoolTimeoutException;
+import dbpool.utils.DBValidationStrategy;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
 import java.sql.Blob;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.CallableStatement;
 import java.sql.Statement;
 import java.sql.SQLException;
@@ -21,251 +30,1758 @@ import java.sql.NClob;
 import java.sql.Array;
 import java.sql.Struct;
 import java.sql.SQLXML;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * This class is for creating and managing wrapped pool connections .
  * @author cgcastro
  * @version 1.0
  */
-public class DBConnectionPool  {
+public class DBConnectionPool implements DBConnectionPoolMXBean {
 
     /**
-     * BlockingQueue pool queue .
+     * int timeout in seconds of the keepalive ping .
      */
-    private  BlockingQueue<DBWrappedConnection> connectionPoolQueue;
+    private static final int KEEPALIVE_TIMEOUT = 5;
+    /**
+     * DBConnectionValidator ping used when the strategy has no validator .
+     */
+    private static final DBConnectionValidator KEEPALIVE_VALIDATOR =
+        new DBConnectionValidator(KEEPALIVE_TIMEOUT);
+    /**
+     * long max lifetime is shortened by up to 1/40 per connection .
+     */
+    private static final long LIFETIME_JITTER_DIVISOR = 40;
 
     /**
-     * CopyOnWriteArrayList connection pool array of borrowed connections
+     * DBConnectionBag lock-free bag of pooled connections .
+     */
+    private final DBConnectionBag<DBPoolEntry> connectionBag;
+    /**
+     * AtomicInteger total connections created or reserved for creation .
+     */
+    private final AtomicInteger totalConnections;
+    /**
+     * DBPoolRefiller background worker creating connections .
+     */
+    private final DBPoolRefiller poolRefiller;
+    /**
+     * DBCircuitBreaker breaker around the creation of connections .
+     */
+    private final DBCircuitBreaker circuitBreaker;
+    /**
+     * DBPoolHousekeeper background validation of idle connections .
+     */
+    private final DBPoolHousekeeper poolHousekeeper;
+    /**
+     * DBValidationStrategy when and how connections are validated .
+     */
+    private final DBValidationStrategy validationStrategy;
+    /**
+     * CompletableFuture completed once the min cache is filled .
+     */
+    private final CompletableFuture<Void> warmFuture;
+    /**
+     * LongAdder prepared statements found in the statement caches .
+     */
+    private final LongAdder statementCacheHits;
+    /**
+     * LongAdder prepared statements not found in the statement caches .
+     */
+    private final LongAdder statementCacheMisses;
+    /**
+     * LongAdder prepared statements closed to make room in the caches .
+     */
+    private final LongAdder statementCacheEvictions;
+    /**
+     * DBPoolMetrics counters and histograms of the pool .
+     */
+    private final DBPoolMetrics metrics;
+    /**
+     * DBConnectionFactory opens the physical connections .
+     */
+    private final DBConnectionFactory connectionFactory;
+    /**
+     * String[] statements prepared into the cache of new connections .
+     */
+    private final String[] warmupStatements;
+    /**
+     * AtomicReference name of the registered MXBean, null if not
+     * registered .
+     */
+    private final AtomicReference<ObjectName> mbeanName;
+    /**
+     * boolean true once the pool is shut down .
      */
-    private CopyOnWriteArrayList<DBWrappedConnection> borrowedConnections;
+    private volatile boolean shutdown;
     /**
     * int maxPoolSize  max size.
      */
-    private int maxPoolSize;
+    private volatile int maxPoolSize;
+    /**
+     * int connections the pool opens at most now, the max pool size
+     * unless adaptive sizing lowers it .
+     */
+    private volatile int targetSize;
+    /**
+     * DBPoolSizer adaptive sizing, null if disabled .
+     */
+    private final DBPoolSizer poolSizer;
     /**
     * int minPoolCache .
     */
-    private int minPoolCache;
+    private volatile int minPoolCache;
     /**
-    * int poolStatus .
-    */
-    private int poolStatus;
+     * int idle headroom under which the pool is refilled .
+     */
+    private volatile int refillLowWaterMark;
+    /**
+     * int idle connections kept by the housekeeper .
+     */
+    private volatile int minIdle;
+    /**
+     * ReentrantLock serializes resizes with the adaptive sizing, the
+     * borrow path never takes it .
+     */
+    private final ReentrantLock resizeLock;
+    /**
+     * long idle time in nanoseconds before eviction, 0 if disabled .
+     */
+    private long idleTimeoutNanos;
+    /**
+     * long max lifetime in nanoseconds, 0 if disabled .
+     */
+    private long maxLifetimeNanos;
+    /**
+     * long idle time in nanoseconds before a ping, 0 if disabled .
+     */
+    private long keepaliveTimeNanos;
+    /**
+     * long time in nanoseconds a connection is held before it is
+     * reported, 0 if disabled .
+     */
+    private long leakThresholdNanos;
+    /**
+     * int one borrow in this many captures its stack, 0 for none .
+     */
+    private int leakStackSampleRate;
+    /**
+     * boolean true to take leaked connections back .
+     */
+    private boolean leakReclaim;
+    /**
+     * DBLeakListener listener notified of leaks .
+     */
+    private DBLeakListener leakListener;
     /**
      * DPoolConfiguration database pool configuration .
      */
     private DBPoolConfiguration dbPoolConfiguration;
     /**
-     * Constructor .
-     * @throws DBPoolException dbPoolException .
-     * @throws SQLException sql exception .
-     * @param dbPoolConfiguration pool configuration .
+     * Constructor .
+     * @throws DBPoolException dbPoolException .
+     * @throws SQLException sql exception .
+     * @param dbPoolConfiguration pool configuration .
+     * */
+     DBConnectionPool(final DBPoolConfiguration dbPoolConfiguration)
+        throws DBPoolException, SQLException {
+
+        this.dbPoolConfiguration = dbPoolConfiguration;
+        this.connectionFactory = new DBConnectionFactory(dbPoolConfiguration);
+        this.warmupStatements = dbPoolConfiguration.getWarmupStatements()
+            .toArray(new String[0]);
+        this.maxPoolSize = dbPoolConfiguration.getMaxPoolSize();
+        this.minPoolCache = dbPoolConfiguration.getMinPoolCache();
+        this.refillLowWaterMark =
+            dbPoolConfiguration.getRefillLowWaterMark();
+        this.minIdle = dbPoolConfiguration.getMinIdle();
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(
+            dbPoolConfiguration.getIdleTimeout());
+        this.maxLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(
+            dbPoolConfiguration.getMaxLifetime());
+        this.keepaliveTimeNanos = TimeUnit.MILLISECONDS.toNanos(
+            dbPoolConfiguration.getKeepaliveTime());
+        this.leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+            dbPoolConfiguration.getLeakDetectionThreshold());
+        this.leakStackSampleRate =
+            dbPoolConfiguration.getLeakStackSampleRate();
+        this.leakReclaim = dbPoolConfiguration.isLeakReclaim();
+        this.leakListener = dbPoolConfiguration.getLeakListener();
+        this.mbeanName = new AtomicReference<ObjectName>();
+        this.resizeLock = new ReentrantLock();
+        this.circuitBreaker = new DBCircuitBreaker(
+            dbPoolConfiguration.getBreakerFailureThreshold(),
+            TimeUnit.MILLISECONDS.toNanos(
+                dbPoolConfiguration.getBreakerBackoff()),
+            TimeUnit.MILLISECONDS.toNanos(
+                dbPoolConfiguration.getBreakerMaxBackoff()));
+        this.poolRefiller = new DBPoolRefiller(this, circuitBreaker,
+            dbPoolConfiguration.getMaxCreationRate() == 0 ? null
+                : new DBTokenBucket(dbPoolConfiguration.getMaxCreationRate()));
+        this.connectionBag = new DBConnectionBag<DBPoolEntry>(
+            dbPoolConfiguration.getStripes(), new Runnable() {
+                @Override
+                public void run() {
+                    poolRefiller.signal();
+                }
+            });
+        this.totalConnections = new AtomicInteger();
+        this.statementCacheHits = new LongAdder();
+        this.statementCacheMisses = new LongAdder();
+        this.statementCacheEvictions = new LongAdder();
+        this.metrics = new DBPoolMetrics();
+        if (dbPoolConfiguration.getSizingPeriod() > 0) {
+            int minSize = Math.min(maxPoolSize, Math.max(1, minPoolCache));
+            this.targetSize = minSize;
+            this.poolSizer = new DBPoolSizer(this, metrics, minSize,
+                maxPoolSize);
+        } else {
+            this.targetSize = maxPoolSize;
+            this.poolSizer = null;
+        }
+        this.validationStrategy =
+            dbPoolConfiguration.getValidationStrategy();
+        boolean evicts = idleTimeoutNanos > 0 || maxLifetimeNanos > 0
+            || keepaliveTimeNanos > 0;
+        // leaks are checked twice per threshold
+        long leakCheckPeriod = leakThresholdNanos == 0 ? 0 : Math.max(1,
+            dbPoolConfiguration.getLeakDetectionThreshold() / 2);
+        this.poolHousekeeper = new DBPoolHousekeeper(this,
+            validationStrategy.getBackgroundInterval(),
+            evicts ? dbPoolConfiguration.getHousekeepingPeriod() : 0,
+            leakCheckPeriod, dbPoolConfiguration.getSizingPeriod());
+
+        switch (dbPoolConfiguration.getStartupMode()) {
+            case DBCPStartupMode.LAZY:
+                // the first borrow signals the refill worker
+                this.warmFuture = CompletableFuture.completedFuture(null);
+                break;
+            case DBCPStartupMode.ASYNC_WARM:
+                this.warmFuture = fillDBPool();
+                break;
+            default:
+                this.warmFuture = fillDBPool();
+                awaitFill();
+                break;
+        }
+
+        if (dbPoolConfiguration.isRegisterMBean()) {
+            registerMBean();
+        }
+    }
+
+    /**
+     * Register the pool MXBean in the platform MBean server, the pool is
+     * shut down if the registration fails .
+     * @throws DBPoolException if the MXBean could not be registered .
+     * */
+    private void registerMBean() throws DBPoolException {
+
+        try {
+            ObjectName name = new ObjectName("dbpool:type=DBConnectionPool,name="
+                + ObjectName.quote(dbPoolConfiguration.getPoolName()));
+            ManagementFactory.getPlatformMBeanServer()
+                .registerMBean(this, name);
+            mbeanName.set(name);
+        } catch (JMException exception) {
+            shutdown();
+            throw new DBPoolException(
+                DBCPMessageException.MSG_MBEAN_REGISTRATION);
+        }
+    }
+
+
+    /**
+     * Open a new physical connection with the factory resolved at build
+     * time and create its pool entry, the warm-up statements are prepared
+     * before it can be borrowed .
+     * @throws SQLException sql exception .
+     * @return pool entry .
+     * */
+    private DBPoolEntry createConnection()
+        throws SQLException {
+
+        Connection connection = connectionFactory.createConnection();
+        DBSessionState sessionState;
+        try {
+            sessionState = new DBSessionState(connection, dbPoolConfiguration);
+        } catch (SQLException exception) {
+            try {
+                connection.close();
+            } catch (SQLException closeException) {
+                exception.addSuppressed(closeException);
+            }
+            throw exception;
+        }
+
+        DBPoolEntry entry = new DBPoolEntry(connection, sessionState);
+        try {
+            entry.warmUp();
+        } catch (SQLException exception) {
+            entry.closePhysicalConnection();
+            throw exception;
+        }
+        return entry;
+    }
+
+
+    /**
+     * Fill the pool with the min cache connections, opening up to the
+     * startup parallelism connections at the same time .
+     * @return future completed once every connection is added .
+     * */
+    private CompletableFuture<Void> fillDBPool() {
+
+        int reserved = reserveCapacity(minPoolCache);
+        if (reserved == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(reserved, dbPoolConfiguration.getStartupParallelism()),
+            new DBPoolThreadFactory("dbpool-startup"));
+
+        CompletableFuture<?>[] creations = new CompletableFuture<?>[reserved];
+        for (int i = 0; i < reserved; i++) {
+            creations[i] = CompletableFuture.runAsync(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        addReservedConnection();
+                    } catch (SQLException exception) {
+                        throw new CompletionException(exception);
+                    }
+                }
+            }, executor);
+        }
+        executor.shutdown();
+
+        return CompletableFuture.allOf(creations);
+    }
+
+    /**
+     * Wait for the startup fill, the pool is shut down if any connection
+     * could not be opened .
+     * @throws SQLException the first creation failure .
+     * */
+    private void awaitFill() throws SQLException {
+
+        try {
+            warmFuture.join();
+        } catch (CompletionException exception) {
+            shutdown();
+            if (exception.getCause() instanceof SQLException) {
+                throw (SQLException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Get a future completed once the min cache connections are open. It
+     * is already completed for eager and lazy startup, and completes in
+     * the background for async warm startup .
+     * @return the warm up future .
+     * */
+    public CompletableFuture<Void> awaitWarm() {
+        return warmFuture;
+    }
+
+    /**
+     * Reserve capacity for new connections without exceeding the target
+     * size, the reservation is a single CAS on the total counter .
+     * @param wanted number of connections wanted .
+     * @return number of connections granted .
+     * */
+    private int reserveCapacity(final int wanted) {
+
+        for (;;) {
+            int total = totalConnections.get();
+            int granted = Math.min(wanted, targetSize - total);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (totalConnections.compareAndSet(total, total + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * Run the adaptive sizing once .
+     * */
+    void adjustSize() {
+
+        resizeLock.lock();
+        try {
+            poolSizer.adjust();
+        } finally {
+            resizeLock.unlock();
+        }
+    }
+
+    /**
+     * Change the min cache and max pool size of the running pool. The
+     * low-water mark and min idle are derived again from the new min
+     * cache, reconfigure sets them explicitly. Growing lets the refill
+     * worker open connections at once. Shrinking closes idle connections
+     * over the new size and borrowed ones as they are returned, a borrow
+     * in flight is never interrupted. It is safe to call while the pool
+     * is in use .
+     * @param newMinPoolCache the new min cache .
+     * @param newMaxPoolSize the new max pool size .
+     * */
+    @Override
+    public void resize(final int newMinPoolCache, final int newMaxPoolSize) {
+
+        applyBounds(newMinPoolCache, newMaxPoolSize,
+            Math.max(1, newMinPoolCache / 2), newMinPoolCache);
+    }
+
+    /**
+     * Apply the pool bounds of a configuration to the running pool: min
+     * cache, max pool size, refill low-water mark and min idle. The other
+     * settings are only read when a pool is built .
+     * @param configuration the configuration with the new bounds .
+     * @throws DBPoolException if the configuration is not valid .
+     * */
+    public void reconfigure(final DBPoolConfiguration configuration)
+        throws DBPoolException {
+
+        configuration.isValid();
+        applyBounds(configuration.getMinPoolCache(),
+            configuration.getMaxPoolSize(),
+            configuration.getRefillLowWaterMark(),
+            configuration.getMinIdle());
+    }
+
+    /**
+     * Apply new pool bounds and move the size limit within them .
+     * @param newMinPoolCache the new min cache .
+     * @param newMaxPoolSize the new max pool size .
+     * @param newRefillLowWaterMark the new refill low-water mark .
+     * @param newMinIdle the new min idle .
+     * */
+    private void applyBounds(final int newMinPoolCache,
+        final int newMaxPoolSize, final int newRefillLowWaterMark,
+        final int newMinIdle) {
+
+        if (newMaxPoolSize < 0) {
+            throw new IllegalArgumentException(
+                DBCPMessageException.MSG_ZERO_MAX_SIZE);
+        }
+        if (newMinPoolCache < 0) {
+            throw new IllegalArgumentException(
+                DBCPMessageException.MSG_ZERO_MIN_CACHE_SIZE);
+        }
+        if (newMinPoolCache > newMaxPoolSize) {
+            throw new IllegalArgumentException(
+                DBCPMessageException.MSG_INVERTED_POOL_BOUNDS);
+        }
+
+        resizeLock.lock();
+        try {
+            minPoolCache = newMinPoolCache;
+            refillLowWaterMark = newRefillLowWaterMark;
+            minIdle = Math.min(newMinIdle, newMaxPoolSize);
+            maxPoolSize = newMaxPoolSize;
+
+            int size = newMaxPoolSize;
+            if (poolSizer != null) {
+                int minSize = Math.min(newMaxPoolSize,
+                    Math.max(1, newMinPoolCache));
+                poolSizer.setBounds(minSize, newMaxPoolSize);
+                size = Math.min(newMaxPoolSize,
+                    Math.max(minSize, targetSize));
+            }
+            setTargetSize(size);
+        } finally {
+            resizeLock.unlock();
+        }
+        // open the connections now under the new min cache
+        poolRefiller.signal();
+    }
+
+    /**
+     * Get the min cache of the pool .
+     * @return min pool cache .
+     * */
+    @Override
+    public int getMinPoolCache() {
+        return minPoolCache;
+    }
+
+    /**
+     * Get the max pool size of the pool .
+     * @return max pool size .
+     * */
+    @Override
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * Set the number of connections the pool opens at most. A lower size
+     * closes idle connections over it, borrowed ones are closed as they
+     * are returned. A higher size lets waiting threads get new
+     * connections .
+     * @param size the new size .
+     * */
+    void setTargetSize(final int size) {
+
+        targetSize = size;
+        for (DBPoolEntry entry : connectionBag.values()) {
+            if (totalConnections.get() <= size) {
+                break;
+            }
+            if (connectionBag.reserve(entry)) {
+                discardConnection(entry);
+            }
+        }
+        if (connectionBag.getWaitingThreads() > 0) {
+            poolRefiller.signal();
+        }
+    }
+
+    /**
+     * Get the number of connections the pool opens at most now, the max
+     * pool size unless adaptive sizing is enabled .
+     * @return target size .
+     * */
+    @Override
+    public int getTargetSize() {
+        return targetSize;
+    }
+
+    /**
+     * Get the last resize decisions of the adaptive sizing .
+     * @return the decisions, oldest first, empty if disabled .
+     * */
+    public List<DBPoolSizingDecision> getSizingDecisions() {
+
+        if (poolSizer == null) {
+            return Collections.emptyList();
+        }
+        return poolSizer.getDecisions();
+    }
+
+    /**
+     * Release capacity reserved for connections that were not created .
+     * @param reserved number of connections not created .
+     * */
+    void releaseReservation(final int reserved) {
+        totalConnections.addAndGet(-reserved);
+    }
+
+    /**
+     * Reserve the connections to create in the background when the idle
+     * headroom, idle connections minus waiting threads, is under the
+     * low-water mark. The pool grows by min cache connections or by the
+     * number of waiting threads until reaching the max pool size .
+     * @return number of connections reserved .
+     * */
+    int reserveRefill() {
+
+        if (shutdown) {
+            return 0;
+        }
+
+        int waiting = connectionBag.getWaitingThreads();
+        int headroom = connectionBag.getCount(DBBagEntry.STATE_NOT_IN_USE)
+            - waiting;
+        if (headroom >= refillLowWaterMark && waiting == 0) {
+            // top up connections closed by the housekeeper
+            return reserveCapacity(minIdle - totalConnections.get());
+        }
+
+        return reserveCapacity(Math.max(Math.max(1, minPoolCache), waiting));
+    }
+
+    /**
+     * Create a connection for a reserved slot and add it to the bag, the
+     * slot is released if the creation fails .
+     * @throws SQLException sql exception .
+     * */
+    void addReservedConnection() throws SQLException {
+
+        DBPoolEntry entry;
+        long startTime = System.nanoTime();
+        try {
+            entry = createConnection();
+        } catch (SQLException exception) {
+            releaseReservation(1);
+            throw exception;
+        }
+        metrics.recordCreation(System.nanoTime() - startTime);
+        connectionBag.add(entry);
+    }
+
+    /**
+     * Return wrapped connection from the bag of connections, waiting up to
+     * the configured connection timeout .
+     * @throws SQLException sql exception .
+     * @return wrapped connection
+     * */
+    public Connection getConnection()
+        throws SQLException {
+
+        return getConnection(dbPoolConfiguration.getConnectionTimeout(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Return wrapped connection from the bag of connections. The borrow
+     * is lock-free and never creates connections: when the cache is empty
+     * the refill worker is signalled and the caller waits for a connection
+     * to be created or returned. Waiting callers are served in arrival
+     * order. While the circuit breaker is open a caller that finds no
+     * idle connection fails at once .
+     * @throws SQLException sql exception .
+     * @throws DBPoolTimeoutException if the timeout elapsed .
+     * @param timeout max time to wait .
+     * @param unit the time unit of the timeout .
+     * @return wrapped connection
+     * */
+    public Connection getConnection(final long timeout, final TimeUnit unit)
+        throws SQLException {
+
+        if (shutdown) {
+            throw new SQLException(DBCPMessageException.MSG_POOL_SHUT_DOWN);
+        }
+
+        long startTime = System.nanoTime();
+        long timeoutNanos = unit.toNanos(timeout);
+
+        for (;;) {
+            DBPoolEntry entry = connectionBag.borrow();
+
+            if (entry == null && circuitBreaker.isOpen()) {
+                throw databaseUnavailable();
+            }
+            if (entry == null) {
+                try {
+                    entry = connectionBag.borrow(timeoutNanos
+                        - (System.nanoTime() - startTime));
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException(
+                        DBCPMessageException.MSG_INTERRUPTED_BORROW,
+                        exception);
+                }
+            }
+
+            if (entry == null) {
+                throw borrowTimeout(startTime);
+            }
+
+            Connection connection = checkOut(entry, startTime);
+            if (connection != null) {
+                return connection;
+            }
+        }
+    }
+
+    /**
+     * Borrow a connection without blocking the calling thread, waiting up
+     * to the configured connection timeout .
+     * @return future completed with the wrapped connection .
+     * */
+    public CompletableFuture<Connection> getConnectionAsync() {
+
+        return getConnectionAsync(dbPoolConfiguration.getConnectionTimeout(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection without blocking the calling thread. If no
+     * connection is free the borrow is queued with the waiting threads and
+     * the future is completed by the thread that returns a connection, so
+     * dependent stages should run on their own executor. The future fails
+     * with a DBPoolTimeoutException once the timeout elapses, cancelling
+     * it removes the borrow from the queue. While the circuit breaker is
+     * open it fails at once if no connection is idle .
+     * @param timeout max time to wait .
+     * @param unit the time unit of the timeout .
+     * @return future completed with the wrapped connection .
+     * */
+    public CompletableFuture<Connection> getConnectionAsync(
+        final long timeout, final TimeUnit unit) {
+
+        CompletableFuture<Connection> future =
+            new CompletableFuture<Connection>();
+        if (shutdown) {
+            future.completeExceptionally(
+                new SQLException(DBCPMessageException.MSG_POOL_SHUT_DOWN));
+            return future;
+        }
+        if (circuitBreaker.isOpen()
+            && connectionBag.getCount(DBBagEntry.STATE_NOT_IN_USE) == 0) {
+            future.completeExceptionally(databaseUnavailable());
+            return future;
+        }
+
+        new DBAsyncBorrow(future, System.nanoTime(), unit.toNanos(timeout))
+            .start();
+        return future;
+    }
+
+    /**
+     * Borrow a connection asynchronously and run JDBC work with it on an
+     * executor, the connection is given back when the work ends. If the
+     * executor rejects the work the connection is given back and the
+     * future fails with the rejection .
+     * @param work the JDBC work .
+     * @param executor the executor running the work .
+     * @param <R> the result type .
+     * @return future completed with the result of the work .
+     * */
+    public <R> CompletableFuture<R> withConnectionAsync(
+        final DBConnectionWork<R> work, final Executor executor) {
+
+        final CompletableFuture<R> result = new CompletableFuture<R>();
+        final CompletableFuture<Connection> borrow = getConnectionAsync();
+
+        borrow.whenComplete(new BiConsumer<Connection, Throwable>() {
+            @Override
+            public void accept(final Connection connection,
+                final Throwable failure) {
+
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                    return;
+                }
+                try {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            runWork(work, connection, result);
+                        }
+                    });
+                } catch (RejectedExecutionException exception) {
+                    closeQuietly(connection);
+                    result.completeExceptionally(exception);
+                }
+            }
+        });
+
+        // cancelling the result gives up a borrow still waiting
+        result.whenComplete(new BiConsumer<R, Throwable>() {
+            @Override
+            public void accept(final R value, final Throwable failure) {
+                borrow.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Run JDBC work with a borrowed connection and give the connection
+     * back, the work is skipped if the result was already cancelled .
+     * @param work the JDBC work .
+     * @param connection the borrowed connection .
+     * @param result the future of the work .
+     * @param <R> the result type .
+     * */
+    private static <R> void runWork(final DBConnectionWork<R> work,
+        final Connection connection, final CompletableFuture<R> result) {
+
+        try {
+            if (!result.isDone()) {
+                result.complete(work.run(connection));
+            }
+        } catch (SQLException exception) {
+            result.completeExceptionally(exception);
+        } catch (RuntimeException exception) {
+            result.completeExceptionally(exception);
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * Give a borrowed connection back, a connection already closed by the
+     * caller is ignored .
+     * @param connection the borrowed connection .
+     * */
+    private static void closeQuietly(final Connection connection) {
+
+        try {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException exception) {
+            // the connection is discarded by the pool
+        }
+    }
+
+    /**
+     * Prepare a borrowed entry for its borrower: validate it if the
+     * strategy asks for it, record the borrow and lend a handle. A stale
+     * connection is discarded .
+     * @param entry the borrowed entry .
+     * @param startTime time the borrow started in nanoseconds .
+     * @return the handle or null if the connection was discarded .
+     * */
+    private Connection checkOut(final DBPoolEntry entry,
+        final long startTime) {
+
+        long idleMillis = TimeUnit.NANOSECONDS.toMillis(
+            startTime - entry.lastAccessNanos);
+        if (!validationStrategy.validateOnBorrow(idleMillis)
+            || entry.validate()) {
+            long borrowNanos = System.nanoTime();
+            metrics.recordBorrow(borrowNanos - startTime);
+            entry.borrowNanos = borrowNanos;
+            if (leakThresholdNanos > 0) {
+                entry.trackBorrow(borrowNanos);
+            }
+            return entry.lend();
+        }
+
+        // stale connection, replaced by the refill worker
+        discardConnection(entry);
+        poolRefiller.signal();
+        return null;
+    }
+
+    /**
+     * Build the exception of a borrow refused while the breaker is open .
+     * @return the exception for the borrower, caused by the last
+     * creation failure .
+     * */
+    private SQLException databaseUnavailable() {
+
+        return new SQLException(DBCPMessageException.MSG_DATABASE_UNAVAILABLE,
+            poolRefiller.getLastFailure());
+    }
+
+    /**
+     * Record a borrow timeout .
+     * @param startTime time the borrow started in nanoseconds .
+     * @return the exception for the borrower .
+     * */
+    private DBPoolTimeoutException borrowTimeout(final long startTime) {
+
+        metrics.recordTimeout();
+        DBPoolTimeoutException timeoutException =
+            new DBPoolTimeoutException(System.nanoTime() - startTime);
+        timeoutException.initCause(poolRefiller.getLastFailure());
+        return timeoutException;
+    }
+
+    /**
+     * Validate the idle connections, each one is reserved while it is
+     * checked so borrowers simply skip it .
+     * */
+    void validateIdleConnections() {
+
+        for (DBPoolEntry entry : connectionBag.values()) {
+            if (!connectionBag.reserve(entry)) {
+                continue;
+            }
+            if (entry.validate()) {
+                connectionBag.unreserve(entry);
+            } else {
+                discardConnection(entry);
+                poolRefiller.signal();
+            }
+        }
+    }
+
+    /**
+     * Close the idle connections past their lifetime, close the ones idle
+     * longer than the idle timeout while more than min idle are left, and
+     * ping the ones idle longer than the keepalive time. Each connection
+     * is reserved while it is checked so borrowers simply skip it .
+     * */
+    void evictIdleConnections() {
+
+        long now = System.nanoTime();
+        int removable = connectionBag.getCount(DBBagEntry.STATE_NOT_IN_USE)
+            - minIdle;
+        boolean replace = false;
+
+        for (DBPoolEntry entry : connectionBag.values()) {
+            if (!connectionBag.reserve(entry)) {
+                continue;
+            }
+
+            long idleNanos = now - entry.lastAccessNanos;
+            if (entry.isExpired(now)) {
+                discardConnection(entry);
+                replace = true;
+            } else if (idleTimeoutNanos > 0 && removable > 0
+                && idleNanos >= idleTimeoutNanos) {
+                removable--;
+                discardConnection(entry);
+            } else if (keepaliveTimeNanos > 0
+                && now - Math.max(entry.lastAccessNanos,
+                    entry.lastKeepaliveNanos) >= keepaliveTimeNanos) {
+                if (entry.keepalive()) {
+                    entry.lastKeepaliveNanos = now;
+                    connectionBag.unreserve(entry);
+                } else {
+                    discardConnection(entry);
+                    replace = true;
+                }
+            } else {
+                connectionBag.unreserve(entry);
+            }
+        }
+
+        if (replace) {
+            poolRefiller.signal();
+        }
+    }
+
+    /**
+     * Report the connections held longer than the leak detection
+     * threshold, once per borrow. The stack of the report is the borrow
+     * stack if it was sampled, otherwise the stack of the holding thread
+     * is taken now, so borrows pay nothing for it. A leaked connection is
+     * closed and replaced if reclaim is enabled .
+     * */
+    void detectLeaks() {
+
+        long now = System.nanoTime();
+        for (DBPoolEntry entry : connectionBag.values()) {
+            Thread holder = entry.holderThread;
+            if (holder == null || entry.leakReported
+                || now - entry.leakBorrowNanos < leakThresholdNanos) {
+                continue;
+            }
+
+            entry.leakReported = true;
+            Throwable trace = entry.acquisitionTrace;
+            StackTraceElement[] stackTrace = trace != null
+                ? trace.getStackTrace() : holder.getStackTrace();
+            int borrowGeneration = entry.generation.get();
+            if (entry.holderThread != holder) {
+                // returned while the stack was taken
+                continue;
+            }
+
+            // the borrow is ended first so a racing close cannot also
+            // hand the entry back
+            boolean reclaimed = leakReclaim
+                && entry.endBorrow(borrowGeneration)
+                && discardConnection(entry);
+            if (reclaimed) {
+                poolRefiller.signal();
+            }
+            metrics.recordLeak();
+
+            try {
+                leakListener.onLeak(new DBConnectionLeak(
+                    dbPoolConfiguration.getPoolName(), holder.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(
+                        now - entry.leakBorrowNanos),
+                    stackTrace, trace != null, reclaimed));
+            } catch (RuntimeException exception) {
+                // a failing listener must not stop the housekeeper
+            }
+        }
+    }
+
+    /**
+     * Get the number of connections requested from the refill worker and
+     * not created yet .
+     * @return refill queue depth .
+     * */
+    @Override
+    public int getRefillQueueDepth() {
+        return poolRefiller.getQueueDepth();
+    }
+
+    /**
+     * Get the average time the refill worker needs to create a connection .
+     * @param unit the time unit .
+     * @return average creation time .
+     * */
+    public long getAverageCreationTime(final TimeUnit unit) {
+        return poolRefiller.getAverageCreationTime(unit);
+    }
+
+    /**
+     * Get the time the refill worker needed to create the last connection .
+     * @param unit the time unit .
+     * @return last creation time .
+     * */
+    public long getLastCreationTime(final TimeUnit unit) {
+        return poolRefiller.getLastCreationTime(unit);
+    }
+
+    /**
+     * Get a point in time view of the gauges, counters and histograms of
+     * the pool .
+     * @return the metrics snapshot .
+     * */
+    public DBPoolMetricsSnapshot getMetrics() {
+        return new DBPoolMetricsSnapshot(this, metrics);
+    }
+
+    /**
+     * Get the number of idle connections .
+     * @return idle connections .
+     * */
+    @Override
+    public int getIdleConnections() {
+        return connectionBag.getCount(DBBagEntry.STATE_NOT_IN_USE);
+    }
+
+    /**
+     * Get the number of borrowed connections .
+     * @return borrowed connections .
      * */
-     DBConnectionPool(final DBPoolConfiguration dbPoolConfiguration)
-        throws DBPoolException, SQLException {
+    @Override
+    public int getBorrowedConnections() {
+        return connectionBag.getCount(DBBagEntry.STATE_IN_USE);
+    }
 
-        this.dbPoolConfiguration = dbPoolConfiguration;
-        this.maxPoolSize = dbPoolConfiguration.getMaxPoolSize();
-        this.minPoolCache = dbPoolConfiguration.getMinPoolCache();
-        this.connectionPoolQueue =
-                    new LinkedBlockingDeque<DBWrappedConnection>(maxPoolSize);
-         this.borrowedConnections =
-                    new CopyOnWriteArrayList<DBWrappedConnection>();
-         fillDBPool();
+    /**
+     * Get the number of threads waiting for a connection .
+     * @return pending threads .
+     * */
+    @Override
+    public int getPendingThreads() {
+        return connectionBag.getWaitingThreads();
     }
 
+    /**
+     * Get the number of physical connections of the pool .
+     * @return total connections .
+     * */
+    @Override
+    public int getTotalConnections() {
+        return connectionBag.size();
+    }
 
     /**
-     * Check if DBPool configuration has valid fields .
-     * @throws SQLException sql exception .
-     * @return wrapped connection .
+     * Get the number of physical connections created .
+     * @return created connections .
      * */
-    private DBWrappedConnection createConnection()
-        throws SQLException {
+    @Override
+    public long getCreatedConnections() {
+        return metrics.getCreated();
+    }
 
-        Connection connection;
+    /**
+     * Get the number of physical connections closed by the pool .
+     * @return destroyed connections .
+     * */
+    @Override
+    public long getDestroyedConnections() {
+        return metrics.getDestroyed();
+    }
 
-        String username =  dbPoolConfiguration.getDbusername();
-        String password = dbPoolConfiguration.getDbpassword();
-        String driver = dbPoolConfiguration.getDbDriver();
-        String url = dbPoolConfiguration.getDburl();
+    /**
+     * Get the number of validations that found a broken connection .
+     * @return validation failures .
+     * */
+    @Override
+    public long getValidationFailures() {
+        return metrics.getValidationFailures();
+    }
 
-        // load driver and create new connection
-        try {
-            Class.forName(driver);
-        } catch (ClassNotFoundException exception) {
-            throw new SQLException(DBCPMessageException.MSG_INVALID_DRIVER);
-        }
+    /**
+     * Get the number of borrows that timed out .
+     * @return timeouts .
+     * */
+    @Override
+    public long getTimeouts() {
+        return metrics.getTimeouts();
+    }
 
-        connection = DriverManager.getConnection(url, username, password);
-        DBWrappedConnection dbWrappedConnection =
-                new DBWrappedConnection(connection);
+    /**
+     * Get the number of connections reported as leaked .
+     * @return leaks .
+     * */
+    @Override
+    public long getLeakedConnections() {
+        return metrics.getLeaks();
+    }
 
-        return dbWrappedConnection;
+    /**
+     * Check if the circuit breaker refuses new connections .
+     * @return true while the breaker is open .
+     * */
+    @Override
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
     }
 
+    /**
+     * Get the number of statements left open by borrowers and closed on
+     * return .
+     * @return auto closed statements .
+     * */
+    @Override
+    public long getAutoClosedStatements() {
+        return metrics.getAutoClosedStatements();
+    }
 
     /**
-     * Check if DBPool configuration has valid fields .
-     * @throws SQLException sql exception .
+     * Get the time spent in getConnection() .
+     * @return borrow wait histogram .
      * */
-    private void fillDBPool()
-        throws SQLException {
+    @Override
+    public DBPoolHistogramSnapshot getBorrowWaitTime() {
+        return metrics.getBorrowWait().snapshot();
+    }
 
-        int i;
+    /**
+     * Get the time connections are held by borrowers .
+     * @return hold time histogram .
+     * */
+    @Override
+    public DBPoolHistogramSnapshot getHoldTime() {
+        return metrics.getHoldTime().snapshot();
+    }
 
-        for (i = 0; i < dbPoolConfiguration.getMinPoolCache(); i++) {
+    /**
+     * Get the time to open a physical connection .
+     * @return creation time histogram .
+     * */
+    @Override
+    public DBPoolHistogramSnapshot getCreationTime() {
+        return metrics.getCreationTime().snapshot();
+    }
 
-            connectionPoolQueue.add(createConnection());
-        }
+    /**
+     * Get the number of prepared statements found in the statement caches .
+     * @return statement cache hits .
+     * */
+    @Override
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
 
+    /**
+     * Get the number of prepared statements not found in the statement
+     * caches .
+     * @return statement cache misses .
+     * */
+    @Override
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
 
+    /**
+     * Get the number of prepared statements closed to make room in the
+     * statement caches .
+     * @return statement cache evictions .
+     * */
+    @Override
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions.sum();
     }
 
     /**
-     * Return wrapped connection from Queue Connections.
-     * @throws SQLException sql exception .
-     * @return wrapped connection
+     * Shut down the pool: stop the refill worker and close the idle
+     * connections. Borrowed connections are closed when returned .
      * */
-    public synchronized Connection getConnection()
-        throws SQLException {
+    public void shutdown() {
 
-        int localPoolStatus = getPoolStatus();
-        DBWrappedConnection connection = null;
-        if (localPoolStatus == DBCPStatus.CONNECTIONS_AVAILABLE) {
+        shutdown = true;
+        unregisterMBean();
+        poolRefiller.shutdown();
+        poolHousekeeper.shutdown();
+        connectionBag.cancelCallbacks();
 
-            boolean isFullCache = getPoolStatus()
-                    == DBCPStatus.FULL_CACHE_CONNECTION;
-            boolean isWaitingForCache = getPoolStatus()
-                    == DBCPStatus.WAITING_FOR_FILLING_CACHE;
+        DBPoolEntry entry;
+        while ((entry = connectionBag.borrow()) != null) {
+            discardConnection(entry);
+        }
+    }
 
-            if (isWaitingForCache) {
-                return null;
-            } else if (isFullCache) {
-                fillDBPool();
-            }
+    /**
+     * Unregister the pool MXBean if it was registered .
+     * */
+    private void unregisterMBean() {
 
-            connection = connectionPoolQueue.remove();
-            borrowedConnections.add(connection);
+        ObjectName name = mbeanName.getAndSet(null);
+        if (name == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(name);
+        } catch (JMException exception) {
+            // already unregistered from outside the pool
         }
-        return connection;
     }
 
     /**
-     * Get status of the pool according to
-     *  the borrowed and available connections.
-     * @return borrowed pool status    .
+     * Remove a borrowed connection from the pool and close it .
+     * @param entry the borrowed connection .
+     * @return true if the connection was removed .
      * */
-    private int getPoolStatus() {
-
-        int connectionsSize = borrowedConnections.size();
-        int modConnectionsSize = connectionsSize % minPoolCache;
+    private boolean discardConnection(final DBPoolEntry entry) {
 
-        if (connectionsSize == maxPoolSize) { // max pool size reached
-            poolStatus = DBCPStatus.FULL_POOL_CONNECTION;
-        } else if (modConnectionsSize == DBCPStatus.CONNECTIONS_AVAILABLE
-            && (connectionPoolQueue.isEmpty())) { // check if cache is full
-            poolStatus = DBCPStatus.FULL_CACHE_CONNECTION;
-        } else if ((maxPoolSize - connectionsSize) < minPoolCache) {
-            // waiting for reach min cache size
-            poolStatus = DBCPStatus.WAITING_FOR_FILLING_CACHE;
-        } else { // connections available
-            poolStatus = DBCPStatus.CONNECTIONS_AVAILABLE;
+        if (!connectionBag.remove(entry)) {
+            return false;
         }
-
-        return poolStatus;
+        totalConnections.decrementAndGet();
+        metrics.recordDestroy();
+        entry.closePhysicalConnection();
+        return true;
     }
 
     /**
      *  Return borrowed connection to pool database .
      * @throws SQLException sql exception for new connection .
-     * @param  connection the incoming connection .
+     * @param  entry the incoming connection .
      * @param  isValidConnection boolean of valid connection .
      * */
-    private synchronized void sendConnectionToPool(final DBWrappedConnection connection,
+    private void sendConnectionToPool(final DBPoolEntry entry,
         final boolean isValidConnection) throws SQLException {
 
+        long returnNanos = System.nanoTime();
+        metrics.recordReturn(returnNanos - entry.borrowNanos);
+        if (leakThresholdNanos > 0) {
+            entry.holderThread = null;
+        }
+
+        if (shutdown) {
+            discardConnection(entry);
+        } else if (releaseSurplus(entry)) {
+            // the pool was shrunk, the connection is not needed anymore
+            return;
+        } else if (isValidConnection && !entry.isExpired(returnNanos)) {
+            entry.lastAccessNanos = returnNanos;
+            connectionBag.requite(entry);
+        } else {
+            // broken or expired, the replacement is created by the refill
+            // worker
+            discardConnection(entry);
+            poolRefiller.signal();
+        }
 
-        if (borrowedConnections.remove(connection)) {
+    }
 
-            if (isValidConnection) {
-                connectionPoolQueue.add(connection);
-            } else {
-                connectionPoolQueue.add(createConnection());
+    /**
+     * Close a returned connection while the pool holds more connections
+     * than its size limit, the count is lowered with a CAS so concurrent
+     * returns never close more than the surplus .
+     * @param entry the returned connection .
+     * @return true if the connection was closed .
+     * */
+    private boolean releaseSurplus(final DBPoolEntry entry) {
+
+        for (;;) {
+            int total = totalConnections.get();
+            if (total <= targetSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(total, total - 1)) {
+                break;
             }
         }
 
+        if (!connectionBag.remove(entry)) {
+            // already taken back by the pool, which lowered the count
+            totalConnections.incrementAndGet();
+            return false;
+        }
+        metrics.recordDestroy();
+        entry.closePhysicalConnection();
+        return true;
     }
 
     /**
-     * Check if connection pool db is full .
-     * @return full connection boolean .
-     * */
-    private boolean isFullConnectionPool() {
+     * Asynchronous borrow of one connection. It is queued in the bag as a
+     * callback, and a scheduled task fails it once the timeout elapses.
+     * When the future completes in any way the queued callback and the
+     * timeout task are cancelled, a connection handed over at the same
+     * time is given back .
+     * @author cgcastro
+     * @version 1.0
+     */
+    private final class DBAsyncBorrow implements Consumer<DBPoolEntry>,
+        Runnable, BiConsumer<Connection, Throwable> {
+
+        /**
+         * CompletableFuture future of the borrower .
+         */
+        private final CompletableFuture<Connection> future;
+        /**
+         * long time the borrow started in nanoseconds .
+         */
+        private final long startTime;
+        /**
+         * long max time to wait in nanoseconds .
+         */
+        private final long timeoutNanos;
+        /**
+         * Waiter callback queued in the bag, null if none .
+         */
+        private volatile DBConnectionBag.Waiter<DBPoolEntry> waiter;
+        /**
+         * ScheduledFuture timeout task, null if not scheduled .
+         */
+        private volatile ScheduledFuture<?> timeoutTask;
+        /**
+         * Constructor .
+         * @param future future of the borrower .
+         * @param startTime time the borrow started in nanoseconds .
+         * @param timeoutNanos max time to wait in nanoseconds .
+         * */
+        DBAsyncBorrow(final CompletableFuture<Connection> future,
+            final long startTime, final long timeoutNanos) {
+
+            this.future = future;
+            this.startTime = startTime;
+            this.timeoutNanos = timeoutNanos;
+        }
+        /**
+         * Try the bag and schedule the timeout if the borrow has to wait .
+         * */
+        private void start() {
+
+            future.whenComplete(this);
+            borrowNext();
+            if (future.isDone()) {
+                return;
+            }
+
+            long remaining = timeoutNanos - (System.nanoTime() - startTime);
+            if (remaining <= 0) {
+                run();
+                return;
+            }
+            try {
+                timeoutTask = poolHousekeeper.schedule(this, remaining);
+            } catch (RejectedExecutionException exception) {
+                // shut down meanwhile, the queued callback was woken up
+                return;
+            }
+            if (future.isDone()) {
+                timeoutTask.cancel(false);
+            }
+        }
+        /**
+         * Claim an entry or queue the callback .
+         * */
+        private void borrowNext() {
+
+            if (!future.isDone()) {
+                waiter = connectionBag.borrowAsync(this);
+            }
+        }
+        /**
+         * Receive a borrowed entry, null if the pool shut down .
+         * @param entry the borrowed entry .
+         * */
+        @Override
+        public void accept(final DBPoolEntry entry) {
+
+            if (entry == null) {
+                future.completeExceptionally(new SQLException(
+                    DBCPMessageException.MSG_POOL_SHUT_DOWN));
+                return;
+            }
+
+            Connection connection = checkOut(entry, startTime);
+            if (connection == null) {
+                borrowNext();
+            } else if (!future.complete(connection)) {
+                closeQuietly(connection);
+            }
+        }
+        /**
+         * Fail the borrow once the timeout elapsed .
+         * */
+        @Override
+        public void run() {
 
-        return borrowedConnections.size() == maxPoolSize;
+            if (!future.isDone()) {
+                future.completeExceptionally(borrowTimeout(startTime));
+            }
+        }
+        /**
+         * Cancel the queued callback and the timeout task once the future
+         * completes .
+         * @param connection the connection or null .
+         * @param failure the failure or null .
+         * */
+        @Override
+        public void accept(final Connection connection,
+            final Throwable failure) {
 
+            DBConnectionBag.Waiter<DBPoolEntry> queued = waiter;
+            if (queued != null) {
+                connectionBag.cancel(queued);
+            }
+            ScheduledFuture<?> task = timeoutTask;
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
     }
 
     /**
-     * This class is for Wrapping SQL Connection .
+     * Physical connection held by the pool. Each borrow gets its own
+     * DBWrappedConnection handle stamped with the generation of the entry,
+     * the generation is advanced with compare-and-set when the borrow ends
+     * so only one thread can hand the entry back and the handles of
+     * previous borrows never work again .
      * @author cgcastro
      * @version 1.0
      */
-     class DBWrappedConnection implements Connection {
+    final class DBPoolEntry extends DBBagEntry {
 
         /**
          * Connection the SQL Connection .
          */
-        private Connection connection;
+        private final Connection connection;
+        /**
+         * AtomicInteger generation of the current borrow, advanced when
+         * the borrow ends .
+         */
+        private final AtomicInteger generation = new AtomicInteger();
+        /**
+         * Statement reused by the validation query .
+         */
+        private Statement validationStatement;
+        /**
+         * long time the connection was last returned in nanoseconds .
+         */
+        private long lastAccessNanos;
+        /**
+         * long time the connection was last borrowed in nanoseconds .
+         */
+        private long borrowNanos;
+        /**
+         * long time of the last keepalive ping in nanoseconds .
+         */
+        private long lastKeepaliveNanos;
+        /**
+         * long time the max lifetime elapses in nanoseconds .
+         */
+        private final long expiresAtNanos;
+        /**
+         * Thread holding the connection, tracked for leak detection .
+         */
+        private volatile Thread holderThread;
+        /**
+         * long time the holder borrowed the connection in nanoseconds .
+         */
+        private long leakBorrowNanos;
+        /**
+         * Throwable sampled borrow stack, null if not sampled .
+         */
+        private Throwable acquisitionTrace;
+        /**
+         * boolean true once the current borrow was reported as leaked .
+         */
+        private boolean leakReported;
+        /**
+         * DBStatementCache idle prepared statements, null if disabled .
+         */
+        private final DBStatementCache statementCache;
+        /**
+         * DBSessionState session state of the connection .
+         */
+        private final DBSessionState sessionState;
         /**
-         *
+         * DBStatementList statements opened in the current borrow .
          */
-        private boolean deadConnection;
+        private final DBStatementList openStatements;
         /**
          * Constructor .
          * @param connection SQL Connection .
+         * @param sessionState session state of the connection .
          * */
-        DBWrappedConnection(final Connection connection) {
+        DBPoolEntry(final Connection connection,
+            final DBSessionState sessionState) {
 
             this.connection = connection;
+            this.sessionState = sessionState;
+            this.openStatements = new DBStatementList();
+            this.lastAccessNanos = System.nanoTime();
+
+            // jitter so connections opened together do not expire together
+            long lifetimeNanos = maxLifetimeNanos;
+            if (lifetimeNanos > 0) {
+                lifetimeNanos -= ThreadLocalRandom.current().nextLong(
+                    lifetimeNanos / LIFETIME_JITTER_DIVISOR + 1);
+            }
+            this.expiresAtNanos = lastAccessNanos + lifetimeNanos;
+
+            int statementCacheSize =
+                dbPoolConfiguration.getStatementCacheSize();
+            this.statementCache = statementCacheSize == 0 ? null
+                : new DBStatementCache(statementCacheSize,
+                    statementCacheHits, statementCacheMisses,
+                    statementCacheEvictions);
+        }
+        /**
+         * Prepare the warm-up statements into the statement cache .
+         * @throws SQLException the sql exception
+         * */
+        private void warmUp() throws SQLException {
+
+            if (statementCache == null) {
+                return;
+            }
+            for (String sql : warmupStatements) {
+                DBStatementKey statementKey = new DBStatementKey(sql);
+                statementCache.release(statementKey,
+                    statementKey.prepare(connection));
+            }
+        }
+        /**
+         * Get a handle for the current borrow, the entry must be in use .
+         * @return the handle stamped with the current generation .
+         * */
+        private DBWrappedConnection lend() {
+            return new DBWrappedConnection(this, generation.get());
+        }
+        /**
+         * End a borrow, the handle lent for it stops working. Only one of
+         * the threads ending the same borrow succeeds, the others must not
+         * touch the entry .
+         * @param borrowGeneration the generation of the borrow .
+         * @return true if this call ended the borrow .
+         * */
+        private boolean endBorrow(final int borrowGeneration) {
+            return generation.compareAndSet(borrowGeneration,
+                borrowGeneration + 1);
+        }
+        /**
+         * set back the session state changed by the borrower .
+         * @return true if the connection could be reset .
+         * */
+        private boolean resetSession() {
+
+            try {
+                sessionState.reset();
+                return true;
+            } catch (SQLException exception) {
+                // a connection that cannot be reset is not lent again
+                return false;
+            }
+        }
+        /**
+         * validate the physical connection with the validator of the
+         * strategy, the statement of the query is kept for the next check .
+         * @return true if the connection is valid .
+         * */
+        private boolean validate() {
+            return validate(validationStrategy.getValidator());
+        }
+        /**
+         * ping an idle connection with the validator of the strategy, or
+         * with JDBC4 isValid if the strategy has none .
+         * @return true if the connection is valid .
+         * */
+        private boolean keepalive() {
+
+            DBConnectionValidator connectionValidator =
+                validationStrategy.getValidator();
+            return validate(connectionValidator != null ? connectionValidator
+                : KEEPALIVE_VALIDATOR);
+        }
+        /**
+         * track the borrowing thread for leak detection, the holder is
+         * published last so the housekeeper sees the other fields .
+         * @param now the borrow time in nanoseconds .
+         * */
+        private void trackBorrow(final long now) {
+
+            leakReported = false;
+            leakBorrowNanos = now;
+            acquisitionTrace = leakStackSampleRate > 0
+                && ThreadLocalRandom.current().nextInt(leakStackSampleRate)
+                    == 0 ? new Throwable() : null;
+            holderThread = Thread.currentThread();
+        }
+        /**
+         * check if the max lifetime of the connection elapsed .
+         * @param now the current time in nanoseconds .
+         * @return true if the connection expired .
+         * */
+        private boolean isExpired(final long now) {
+            return maxLifetimeNanos > 0 && now - expiresAtNanos >= 0;
+        }
+        /**
+         * validate the physical connection, the statement of the query is
+         * kept for the next check .
+         * @param connectionValidator the validator, null for none .
+         * @return true if the connection is valid .
+         * */
+        private boolean validate(
+            final DBConnectionValidator connectionValidator) {
+
+            if (connectionValidator == null) {
+                return true;
+            }
+
+            try {
+                boolean isValid;
+                if (!connectionValidator.usesStatement()) {
+                    isValid = connectionValidator.isValidConnection(connection);
+                } else {
+                    if (validationStatement == null) {
+                        validationStatement = connection.createStatement();
+                    }
+                    isValid = connectionValidator.isValidConnection(connection,
+                        validationStatement);
+                }
+                if (isValid) {
+                    return true;
+                }
+            } catch (SQLException exception) {
+                // a failed check means a broken connection
+            }
+            metrics.recordValidationFailure();
+            return false;
+        }
+        /**
+         * close the physical connection of an invalid pooled connection .
+         * */
+        private void closePhysicalConnection() {
+
+            if (statementCache != null) {
+                statementCache.close();
+            }
+            try {
+                connection.close();
+            } catch (SQLException exception) {
+                // the connection is already broken, nothing left to release
+            }
+        }
+    }
+
+    /**
+     * This class is for Wrapping SQL Connection. A handle is lent for one
+     * borrow of its pool entry and stamped with the generation of that
+     * borrow, once the borrow ends every call on it fails. A handle is
+     * never reused, so a handle kept after close stays closed .
+     * @author cgcastro
+     * @version 1.0
+     */
+     class DBWrappedConnection implements Connection {
+
+        /**
+         * DBPoolEntry the pool entry of the handle .
+         */
+        private final DBPoolEntry entry;
+        /**
+         * Connection the SQL Connection .
+         */
+        private final Connection connection;
+        /**
+         * DBStatementCache idle prepared statements, null if disabled .
+         */
+        private final DBStatementCache statementCache;
+        /**
+         * DBStatementList statements opened in the current borrow .
+         */
+        private final DBStatementList openStatements;
+        /**
+         * int generation of the borrow the handle is lent for .
+         */
+        private final int generation;
+        /**
+         * Constructor .
+         * @param entry the pool entry .
+         * @param generation the generation of the borrow .
+         * */
+        DBWrappedConnection(final DBPoolEntry entry, final int generation) {
+
+            this.entry = entry;
+            this.connection = entry.connection;
+            this.statementCache = entry.statementCache;
+            this.openStatements = entry.openStatements;
+            this.generation = generation;
 
         }
         /**
-         * close connection .
+         * close connection, the handle stops working before the entry
+         * goes back to the pool and the statements left open by the
+         * borrower are closed. A concurrent close or leak reclaim of the
+         * same borrow makes this call fail without touching the entry .
          * */
         @Override
         public void close() throws SQLException {
 
-            checkIfIsActive();
+            if (entry.getState() != DBBagEntry.STATE_IN_USE
+                || !entry.endBorrow(generation)) {
+                throw new
+                    SQLException(DBCPMessageException.MSG_CONNECTION_NO_LONGER_ACTIVE);
+            }
 
-            DBConnectionValidator connectionValidator =
-                new DBConnectionValidator();
+            int leftOpen = openStatements.closeAll();
+            if (leftOpen > 0) {
+                metrics.recordAutoClosedStatements(leftOpen);
+            }
 
-            boolean isValid = connectionValidator.isValidConnection(connection);
+            boolean isValid = entry.resetSession()
+                && (!validationStrategy.validateOnReturn()
+                    || entry.validate());
 
-            sendConnectionToPool(this, isValid);
+            sendConnectionToPool(entry, isValid);
 
-            deadConnection = true;
+        }
+        /**
+         * Take a prepared statement from the statement cache or prepare a
+         * new one, closing the returned statement puts it back in the
+         * cache .
+         * @param statementKey the statement key .
+         * @throws SQLException the sql exception
+         * @return wrapped prepared statement .
+         * */
+        private PreparedStatement prepareCachedStatement(
+            final DBStatementKey statementKey) throws SQLException {
 
+            PreparedStatement statement = statementCache.take(statementKey);
+            if (statement == null) {
+                statement = statementKey.prepare(connection);
+            }
+            return new DBWrappedPreparedStatement(this, statement,
+                statementKey, statementCache, openStatements);
         }
         /**
-         * check if connection is active .
+         * check if connection is active: the handle belongs to the current
+         * borrow and the entry was not taken back by the pool .
          * @throws SQLException the sql exception
          * */
         private void checkIfIsActive() throws SQLException {
 
-            if (deadConnection) {
+            if (!isActive()) {
                 throw new
                     SQLException(DBCPMessageException.MSG_CONNECTION_NO_LONGER_ACTIVE);
             }
 
         }
+        /**
+         * Check if the handle belongs to the current borrow of its entry .
+         * @return true until the handle is closed or taken back .
+         * */
+        boolean isActive() {
+
+            return generation == entry.generation.get()
+                && entry.getState() == DBBagEntry.STATE_IN_USE;
+        }
         /**
          * Call for original Connection method.
          * @return statement .
@@ -274,7 +1790,8 @@ public class DBConnectionPool  {
         public Statement createStatement() throws SQLException {
 
             checkIfIsActive();
-            return connection.createStatement();
+            return new DBWrappedStatement(this,
+                connection.createStatement(), openStatements);
         }
         /**
          * Call for original Connection method.
@@ -284,7 +1801,12 @@ public class DBConnectionPool  {
         public PreparedStatement prepareStatement(final String sql)
             throws SQLException {
             checkIfIsActive();
-            return connection.prepareStatement(sql);
+            if (statementCache == null) {
+                return new DBWrappedPreparedStatement(this,
+                    connection.prepareStatement(sql),
+                    null, null, openStatements);
+            }
+            return prepareCachedStatement(new DBStatementKey(sql));
         }
         /**
          * Call for original Connection method.
@@ -295,7 +1817,8 @@ public class DBConnectionPool  {
             throws SQLException {
 
             checkIfIsActive();
-            return connection.prepareCall(sql);
+            return new DBWrappedCallableStatement(this,
+                connection.prepareCall(sql), openStatements);
         }
         /**
          * Call for original Connection method.
@@ -307,22 +1830,23 @@ public class DBConnectionPool  {
             return connection.nativeSQL(sql);
         }
         /**
-         * Call for original method.
+         * Set through the session state, the driver is only called if
+         * the value changes .
          * @param autoCommit the autocommit .
          * */
         @Override
         public void setAutoCommit(final boolean autoCommit) throws SQLException {
             checkIfIsActive();
-            connection.setAutoCommit(autoCommit);
+            entry.sessionState.setAutoCommit(autoCommit);
         }
         /**
-         * Call for original Connection method.
+         * Answered from the session state, no round trip .
          * @return auto commit  .
          * */
         @Override
         public boolean getAutoCommit() throws SQLException {
             checkIfIsActive();
-            return connection.getAutoCommit();
+            return entry.sessionState.getAutoCommit();
         }
         /**
          * Call for original method.
@@ -342,12 +1866,12 @@ public class DBConnectionPool  {
         }
         /**
          * Call for original Connection method.
-         * @return value if is closed the connection  .
+         * @return value if is closed the connection, true once the handle
+         *         is closed .
          * */
         @Override
         public boolean isClosed() throws SQLException {
-            checkIfIsActive();
-            return connection.isClosed();
+            return !isActive() || connection.isClosed();
         }
         /**
          * Call for original Connection method.
@@ -360,61 +1884,64 @@ public class DBConnectionPool  {
             return connection.getMetaData();
         }
         /**
-         * Call for original method.
+         * Set through the session state, the driver is only called if
+         * the value changes .
          * @param readOnly readOnly value .
          * */
         @Override
         public void setReadOnly(final boolean readOnly)
             throws SQLException {
             checkIfIsActive();
-            connection.setReadOnly(readOnly);
+            entry.sessionState.setReadOnly(readOnly);
         }
         /**
-         * Call for original Connection method.
+         * Answered from the session state, no round trip .
          * @return boolean of read only  .
          * */
         @Override
         public boolean isReadOnly() throws SQLException {
             checkIfIsActive();
-            return connection.isReadOnly();
+            return entry.sessionState.isReadOnly();
         }
         /**
-         * Call for original method.
+         * Set through the session state, the driver is only called if
+         * the value changes .
          * @param catalog the catalog .
          * */
         @Override
         public void setCatalog(final String catalog)
             throws SQLException {
             checkIfIsActive();
-            connection.setCatalog(catalog);
+            entry.sessionState.setCatalog(catalog);
         }
         /**
-         * Call for original Connection method.
+         * Answered from the session state, no round trip .
          * @return catalog string .
          * */
         @Override
         public String getCatalog() throws SQLException {
             checkIfIsActive();
-            return connection.getCatalog();
+            return entry.sessionState.getCatalog();
         }
         /**
-         * Call for original method.
+         * Set through the session state, the driver is only called if
+         * the value changes .
          * @param level the level .
          * */
         @Override
         public void setTransactionIsolation(final int level)
             throws SQLException {
             checkIfIsActive();
-            connection.setTransactionIsolation(level);
+            entry.sessionState.setTransactionIsolation(level);
         }
         /**
-         * Call for original Connection method.
+         * Answered from the session state, no round trip .
          * @return transaction isolation int .
          * */
         @Override
         public int getTransactionIsolation() throws SQLException {
             checkIfIsActive();
-            return connection.getTransactionIsolation();
+            return entry.sessionState.getTransactionIsolation();
         }
         /**
          * Call for original Connection method.
@@ -441,7 +1968,9 @@ public class DBConnectionPool  {
         public Statement createStatement(final int resultSetType,
             final int resultSetConcurrency) throws SQLException {
             checkIfIsActive();
-            return connection.createStatement(resultSetType, resultSetConcurrency);
+            return new DBWrappedStatement(this,
+                connection.createStatement(resultSetType,
+                    resultSetConcurrency), openStatements);
         }
         /**
          * Call for original Connection method.
@@ -452,8 +1981,15 @@ public class DBConnectionPool  {
             final int resultSetType, final int resultSetConcurrency)
             throws SQLException {
             checkIfIsActive();
-            return connection.prepareStatement(sql, resultSetType,
-                resultSetConcurrency);
+            if (statementCache == null) {
+                return new DBWrappedPreparedStatement(this,
+                    connection.prepareStatement(sql, resultSetType,
+                        resultSetConcurrency),
+                    null, null, openStatements);
+            }
+            return prepareCachedStatement(new DBStatementKey(sql,
+                resultSetType, resultSetConcurrency, DBStatementKey.UNSET,
+                DBStatementKey.UNSET, null, null));
         }
 
         /**
@@ -465,8 +2001,9 @@ public class DBConnectionPool  {
             final int resultSetType, final int resultSetConcurrency)
             throws SQLException {
             checkIfIsActive();
-            return connection.prepareCall(sql, resultSetType,
-                    resultSetConcurrency);
+            return new DBWrappedCallableStatement(this,
+                connection.prepareCall(sql, resultSetType,
+                    resultSetConcurrency), openStatements);
         }
         /**
          * Call for original Connection method.
@@ -551,8 +2088,10 @@ public class DBConnectionPool  {
             final int resultSetConcurrency,
             final int resultSetHoldability) throws SQLException {
             checkIfIsActive();
-            return connection.createStatement(resultSetType,
-                resultSetConcurrency, resultSetHoldability);
+            return new DBWrappedStatement(this,
+                connection.createStatement(resultSetType,
+                    resultSetConcurrency, resultSetHoldability),
+                openStatements);
         }
 
         /**
@@ -565,8 +2104,15 @@ public class DBConnectionPool  {
             final int resultSetConcurrency,
             final int resultSetHoldability) throws SQLException {
             checkIfIsActive();
-            return connection.prepareStatement(sql, resultSetType,
-                resultSetConcurrency, resultSetHoldability);
+            if (statementCache == null) {
+                return new DBWrappedPreparedStatement(this,
+                    connection.prepareStatement(sql, resultSetType,
+                        resultSetConcurrency, resultSetHoldability),
+                    null, null, openStatements);
+            }
+            return prepareCachedStatement(new DBStatementKey(sql,
+                resultSetType, resultSetConcurrency, resultSetHoldability,
+                DBStatementKey.UNSET, null, null));
         }
         /**
          * Call for original Connection method.
@@ -578,8 +2124,10 @@ public class DBConnectionPool  {
             final int resultSetConcurrency,
             final int resultSetHoldability) throws SQLException {
             checkIfIsActive();
-            return connection.prepareCall(sql, resultSetType,
-                resultSetConcurrency, resultSetHoldability);
+            return new DBWrappedCallableStatement(this,
+                connection.prepareCall(sql, resultSetType,
+                    resultSetConcurrency, resultSetHoldability),
+                openStatements);
         }
 
         /**
@@ -590,7 +2138,14 @@ public class DBConnectionPool  {
         public PreparedStatement prepareStatement(final String sql,
             final int autoGeneratedKeys) throws SQLException {
             checkIfIsActive();
-            return connection.prepareStatement(sql, autoGeneratedKeys);
+            if (statementCache == null) {
+                return new DBWrappedPreparedStatement(this,
+                    connection.prepareStatement(sql, autoGeneratedKeys),
+                    null, null, openStatements);
+            }
+            return prepareCachedStatement(new DBStatementKey(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY,
+                DBStatementKey.UNSET, autoGeneratedKeys, null, null));
         }
 
         /**
@@ -601,7 +2156,15 @@ public class DBConnectionPool  {
         public PreparedStatement prepareStatement(final String sql,
             final int[] columnIndexes) throws SQLException {
             checkIfIsActive();
-            return connection.prepareStatement(sql, columnIndexes);
+            if (statementCache == null) {
+                return new DBWrappedPreparedStatement(this,
+                    connection.prepareStatement(sql, columnIndexes),
+                    null, null, openStatements);
+            }
+            return prepareCachedStatement(new DBStatementKey(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY,
+                DBStatementKey.UNSET, DBStatementKey.UNSET, columnIndexes,
+                null));
         }
 
         /**
@@ -613,7 +2176,15 @@ public class DBConnectionPool  {
             final String[] columnNames) throws SQLException {
 
             checkIfIsActive();
-            return connection.prepareStatement(sql, columnNames);
+            if (statementCache == null) {
+                return new DBWrappedPreparedStatement(this,
+                    connection.prepareStatement(sql, columnNames),
+                    null, null, openStatements);
+            }
+            return prepareCachedStatement(new DBStatementKey(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY,
+                DBStatementKey.UNSET, DBStatementKey.UNSET, null,
+                columnNames));
         }
 
         /**
@@ -729,23 +2300,24 @@ public class DBConnectionPool  {
             return connection.createStruct(typeName, attributes);
         }
         /**
-         * Call for original method.
+         * Set through the session state, the driver is only called if
+         * the value changes .
          * @param schema the schema .
          * */
         @Override
         public void setSchema(final String schema) throws SQLException {
             checkIfIsActive();
-            connection.setSchema(schema);
+            entry.sessionState.setSchema(schema);
         }
 
         /**
-         * Call for original Connection method.
+         * Answered from the session state, no round trip .
          * @return new schema .
          * */
         @Override
         public String getSchema() throws SQLException {
             checkIfIsActive();
-            return connection.getSchema();
+            return entry.sessionState.getSchema();
         }
         /**
          * Call for original method.
@@ -0,0 +1,146 @@
+package dbpool.dbmodule;
+
+/**
+ * JMX view of a DBConnectionPool, registered as
+ * dbpool:type=DBConnectionPool,name=poolName when enabled in the pool
+ * configuration. Histograms are exposed as composite data .
+ * @author cgcastro
+ * @version 1.0
+ */
+public interface DBConnectionPoolMXBean {
+
+    /**
+     * Get the idle connections .
+     * @return idle connections .
+     * */
+    int getIdleConnections();
+
+    /**
+     * Get the borrowed connections .
+     * @return borrowed connections .
+     * */
+    int getBorrowedConnections();
+
+    /**
+     * Get the threads waiting for a connection .
+     * @return pending threads .
+     * */
+    int getPendingThreads();
+
+    /**
+     * Get the physical connections of the pool .
+     * @return total connections .
+     * */
+    int getTotalConnections();
+
+    /**
+     * Get the connections the pool opens at most now .
+     * @return target size .
+     * */
+    int getTargetSize();
+
+    /**
+     * Get the min cache of the pool .
+     * @return min pool cache .
+     * */
+    int getMinPoolCache();
+
+    /**
+     * Get the max pool size of the pool .
+     * @return max pool size .
+     * */
+    int getMaxPoolSize();
+
+    /**
+     * Change the min cache and max pool size of the running pool, borrowed
+     * connections over the new size are closed as they are returned .
+     * @param minPoolCache the new min cache .
+     * @param maxPoolSize the new max pool size .
+     * */
+    void resize(int minPoolCache, int maxPoolSize);
+
+    /**
+     * Get the physical connections created .
+     * @return created connections .
+     * */
+    long getCreatedConnections();
+
+    /**
+     * Get the physical connections closed by the pool .
+     * @return destroyed connections .
+     * */
+    long getDestroyedConnections();
+
+    /**
+     * Get the validations that found a broken connection .
+     * @return validation failures .
+     * */
+    long getValidationFailures();
+
+    /**
+     * Get the borrows that timed out .
+     * @return timeouts .
+     * */
+    long getTimeouts();
+
+    /**
+     * Get the connections reported as leaked .
+     * @return leaked connections .
+     * */
+    long getLeakedConnections();
+
+    /**
+     * Check if the circuit breaker refuses new connections .
+     * @return true while the breaker is open .
+     * */
+    boolean isCircuitOpen();
+
+    /**
+     * Get the statements left open by borrowers and closed on return .
+     * @return auto closed statements .
+     * */
+    long getAutoClosedStatements();
+
+    /**
+     * Get the connections requested from the refill worker and not
+     * created yet .
+     * @return refill queue depth .
+     * */
+    int getRefillQueueDepth();
+
+    /**
+     * Get the prepared statements found in the statement caches .
+     * @return statement cache hits .
+     * */
+    long getStatementCacheHits();
+
+    /**
+     * Get the prepared statements not found in the statement caches .
+     * @return statement cache misses .
+     * */
+    long getStatementCacheMisses();
+
+    /**
+     * Get the prepared statements closed to make room in the caches .
+     * @return statement cache evictions .
+     * */
+    long getStatementCacheEvictions();
+
+    /**
+     * Get the time spent in getConnection() .
+     * @return borrow wait histogram .
+     * */
+    DBPoolHistogramSnapshot getBorrowWaitTime();
+
+    /**
+     * Get the time connections are held by borrowers .
+     * @return hold time histogram .
+     * */
+    DBPoolHistogramSnapshot getHoldTime();
+
+    /**
+     * Get the time to open a physical connection .
+     * @return creation time histogram .
+     * */
+    DBPoolHistogramSnapshot getCreationTime();
+}
@@ -1,7 +1,19 @@
 package dbpool.dbmodule;
 
 import dbpool.utils.Constants.DBCPMessageException;
+import dbpool.utils.Constants.DBCPStartupMode;
+import dbpool.utils.DBConnectionInitializer;
+import dbpool.utils.DBConnectionValidator;
+import dbpool.utils.DBLeakListener;
+import dbpool.utils.DBLeakLogger;
 import dbpool.utils.DBPoolException;
+import dbpool.utils.DBValidationPolicy;
+import dbpool.utils.DBValidationStrategy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Class for managing Connection Pool  and setting database resources.
@@ -34,6 +46,134 @@ public class DBPoolConfiguration {
      * String driver class name .
      */
     private String dbDriver;
+    /**
+     * long max time in milliseconds to wait for a connection .
+     */
+    private long connectionTimeout;
+    /**
+     * int idle headroom under which the pool is refilled, -1 if unset .
+     */
+    private int refillLowWaterMark;
+    /**
+     * int startup mode, one of DBCPStartupMode .
+     */
+    private int startupMode;
+    /**
+     * int max connections opened concurrently at startup .
+     */
+    private int startupParallelism;
+    /**
+     * DBValidationStrategy when and how connections are validated .
+     */
+    private DBValidationStrategy validationStrategy;
+    /**
+     * int prepared statements cached per connection, 0 disables the cache .
+     */
+    private int statementCacheSize;
+    /**
+     * List SQL run once on every new connection .
+     */
+    private List<String> initSql;
+    /**
+     * DBConnectionInitializer callback run once on every new connection .
+     */
+    private DBConnectionInitializer connectionInitializer;
+    /**
+     * List statements prepared into the cache of every new connection .
+     */
+    private List<String> warmupStatements;
+    /**
+     * int consecutive creation failures that open the breaker .
+     */
+    private int breakerFailureThreshold;
+    /**
+     * long first open time of the breaker in milliseconds .
+     */
+    private long breakerBackoff;
+    /**
+     * long longest open time of the breaker in milliseconds .
+     */
+    private long breakerMaxBackoff;
+    /**
+     * int connections created per second at most .
+     */
+    private int maxCreationRate;
+    /**
+     * int stripes the idle connections are spread over .
+     */
+    private int stripes;
+    /**
+     * String name of the pool in thread names and JMX .
+     */
+    private String poolName;
+    /**
+     * boolean true to register the pool MXBean .
+     */
+    private boolean registerMBean;
+    /**
+     * long milliseconds idle before a connection over min idle is closed .
+     */
+    private long idleTimeout;
+    /**
+     * long max milliseconds a connection is kept open .
+     */
+    private long maxLifetime;
+    /**
+     * long milliseconds idle before a connection is pinged .
+     */
+    private long keepaliveTime;
+    /**
+     * int idle connections kept by the housekeeper, -1 if unset .
+     */
+    private int minIdle;
+    /**
+     * long milliseconds between housekeeper runs .
+     */
+    private long housekeepingPeriod;
+    /**
+     * long milliseconds between adaptive sizing runs, 0 if disabled .
+     */
+    private long sizingPeriod;
+    /**
+     * long milliseconds a connection is held before it is reported .
+     */
+    private long leakDetectionThreshold;
+    /**
+     * int one borrow in this many captures its stack, 0 for none .
+     */
+    private int leakStackSampleRate;
+    /**
+     * boolean true to take leaked connections back .
+     */
+    private boolean leakReclaim;
+    /**
+     * DBLeakListener listener notified of leaks .
+     */
+    private DBLeakListener leakListener;
+    /**
+     * DataSource source of the physical connections, null for the driver .
+     */
+    private DataSource dataSource;
+    /**
+     * boolean auto-commit mode of the connections .
+     */
+    private boolean autoCommit;
+    /**
+     * int transaction isolation of the connections, -1 for the driver one .
+     */
+    private int transactionIsolation;
+    /**
+     * boolean read-only mode of the connections .
+     */
+    private boolean readOnly;
+    /**
+     * String catalog of the connections, null for the driver one .
+     */
+    private String catalog;
+    /**
+     * String schema of the connections, null for the driver one .
+     */
+    private String schema;
     /**
      * DPoolConfiguration database pool configuration .
      */
@@ -46,6 +186,38 @@ public class DBPoolConfiguration {
      * default cache size .
      */
     private static final int DEFAULT_MIN_CACHE = 10;
+    /**
+     * default connection timeout in milliseconds .
+     */
+    private static final long DEFAULT_CONNECTION_TIMEOUT = 30000;
+    /**
+     * default startup parallelism .
+     */
+    private static final int DEFAULT_STARTUP_PARALLELISM = 8;
+    /**
+     * default pool name .
+     */
+    private static final String DEFAULT_POOL_NAME = "dbpool";
+    /**
+     * default idle timeout in milliseconds .
+     */
+    private static final long DEFAULT_IDLE_TIMEOUT = 600000;
+    /**
+     * default max lifetime in milliseconds .
+     */
+    private static final long DEFAULT_MAX_LIFETIME = 1800000;
+    /**
+     * default housekeeping period in milliseconds .
+     */
+    private static final long DEFAULT_HOUSEKEEPING_PERIOD = 30000;
+    /**
+     * long default first open time of the breaker .
+     */
+    private static final long DEFAULT_BREAKER_BACKOFF = 1000;
+    /**
+     * long default longest open time of the breaker .
+     */
+    private static final long DEFAULT_BREAKER_MAX_BACKOFF = 30000;
 
     /**
      * Default constructor .
@@ -54,6 +226,25 @@ public class DBPoolConfiguration {
 
         this.maxPoolSize = DEFAULT_POOL_SIZE;
         this.minPoolCache = DEFAULT_MIN_CACHE;
+        this.connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+        this.refillLowWaterMark = -1;
+        this.startupMode = DBCPStartupMode.PARALLEL_EAGER;
+        this.startupParallelism = DEFAULT_STARTUP_PARALLELISM;
+        this.validationStrategy =
+            DBValidationPolicy.onReturn(new DBConnectionValidator());
+        this.poolName = DEFAULT_POOL_NAME;
+        this.idleTimeout = DEFAULT_IDLE_TIMEOUT;
+        this.maxLifetime = DEFAULT_MAX_LIFETIME;
+        this.minIdle = -1;
+        this.housekeepingPeriod = DEFAULT_HOUSEKEEPING_PERIOD;
+        this.leakListener = new DBLeakLogger();
+        this.autoCommit = true;
+        this.transactionIsolation = -1;
+        this.stripes = 1;
+        this.initSql = Collections.emptyList();
+        this.warmupStatements = Collections.emptyList();
+        this.breakerBackoff = DEFAULT_BREAKER_BACKOFF;
+        this.breakerMaxBackoff = DEFAULT_BREAKER_MAX_BACKOFF;
     }
 
     /**
@@ -148,6 +339,589 @@ public class DBPoolConfiguration {
         this.maxPoolSize = maxPoolSize;
     }
 
+    /**
+     * Method for getting the max time to wait for a connection.
+     * @return connection timeout in milliseconds .
+     * */
+    public long getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    /**
+     * Method for setting the max time to wait for a connection.
+     * @param connectionTimeout timeout in milliseconds .
+     * */
+    public void setConnectionTimeout(final long connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    /**
+     * Method for getting the idle headroom under which the background
+     * worker creates connections, half of the min cache when unset .
+     * @return refill low-water mark .
+     * */
+    public int getRefillLowWaterMark() {
+
+        if (refillLowWaterMark < 0) {
+            return Math.max(1, minPoolCache / 2);
+        }
+        return refillLowWaterMark;
+    }
+
+    /**
+     * Method for setting the idle headroom under which the background
+     * worker creates connections.
+     * @param refillLowWaterMark the refill low-water mark .
+     * */
+    public void setRefillLowWaterMark(final int refillLowWaterMark) {
+        this.refillLowWaterMark = refillLowWaterMark;
+    }
+
+    /**
+     * Method for getting the startup mode.
+     * @return startup mode, one of DBCPStartupMode .
+     * */
+    public int getStartupMode() {
+        return startupMode;
+    }
+
+    /**
+     * Method for setting the startup mode.
+     * @param startupMode startup mode, one of DBCPStartupMode .
+     * */
+    public void setStartupMode(final int startupMode) {
+        this.startupMode = startupMode;
+    }
+
+    /**
+     * Method for getting the max connections opened concurrently at
+     * startup.
+     * @return startup parallelism .
+     * */
+    public int getStartupParallelism() {
+        return startupParallelism;
+    }
+
+    /**
+     * Method for setting the max connections opened concurrently at
+     * startup.
+     * @param startupParallelism startup parallelism .
+     * */
+    public void setStartupParallelism(final int startupParallelism) {
+        this.startupParallelism = startupParallelism;
+    }
+
+    /**
+     * Method for getting the validation strategy.
+     * @return validation strategy .
+     * */
+    public DBValidationStrategy getValidationStrategy() {
+        return validationStrategy;
+    }
+
+    /**
+     * Method for setting the validation strategy, by default connections
+     * are validated with SELECT 1 when returned.
+     * @param validationStrategy the validation strategy .
+     * */
+    public void setValidationStrategy(
+        final DBValidationStrategy validationStrategy) {
+        this.validationStrategy = validationStrategy;
+    }
+
+    /**
+     * Method for getting the prepared statements cached per connection.
+     * @return statement cache size .
+     * */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Method for setting the prepared statements cached per connection,
+     * the least recently used statement is closed when the cache is full.
+     * By default the cache is disabled.
+     * @param statementCacheSize statement cache size .
+     * */
+    public void setStatementCacheSize(final int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Method for getting the SQL run once on every new connection.
+     * @return init SQL .
+     * */
+    public List<String> getInitSql() {
+        return initSql;
+    }
+
+    /**
+     * Method for setting the SQL run once on every new connection, in
+     * order and before the session defaults are read, so the session
+     * settings it makes are the ones connections get back on return. By
+     * default there is none.
+     * @param initSql init SQL .
+     * */
+    public void setInitSql(final List<String> initSql) {
+        this.initSql = initSql;
+    }
+
+    /**
+     * Method for getting the callback run once on every new connection.
+     * @return connection initializer, null if not set .
+     * */
+    public DBConnectionInitializer getConnectionInitializer() {
+        return connectionInitializer;
+    }
+
+    /**
+     * Method for setting the callback run once on every new connection,
+     * after the init SQL. By default there is none.
+     * @param connectionInitializer connection initializer .
+     * */
+    public void setConnectionInitializer(
+        final DBConnectionInitializer connectionInitializer) {
+        this.connectionInitializer = connectionInitializer;
+    }
+
+    /**
+     * Method for getting the statements prepared on every new connection.
+     * @return warm-up statements .
+     * */
+    public List<String> getWarmupStatements() {
+        return warmupStatements;
+    }
+
+    /**
+     * Method for setting the statements prepared into the statement cache
+     * of every new connection, so the first borrower finds them ready.
+     * They are ignored while the statement cache is disabled, and only
+     * the last statement cache size ones are kept. By default there is
+     * none.
+     * @param warmupStatements warm-up statements .
+     * */
+    public void setWarmupStatements(final List<String> warmupStatements) {
+        this.warmupStatements = warmupStatements;
+    }
+
+    /**
+     * Method for getting the consecutive creation failures that open the
+     * circuit breaker.
+     * @return breaker failure threshold, 0 if disabled .
+     * */
+    public int getBreakerFailureThreshold() {
+        return breakerFailureThreshold;
+    }
+
+    /**
+     * Method for setting the consecutive creation failures that open the
+     * circuit breaker. While it is open no connection is created and
+     * borrowers that find no idle connection fail at once. By default the
+     * breaker is disabled.
+     * @param breakerFailureThreshold breaker failure threshold .
+     * */
+    public void setBreakerFailureThreshold(
+        final int breakerFailureThreshold) {
+        this.breakerFailureThreshold = breakerFailureThreshold;
+    }
+
+    /**
+     * Method for getting the milliseconds the breaker first stays open.
+     * @return breaker backoff .
+     * */
+    public long getBreakerBackoff() {
+        return breakerBackoff;
+    }
+
+    /**
+     * Method for setting the milliseconds the breaker first stays open,
+     * doubled each time the probe connection fails. By default 1 second.
+     * @param breakerBackoff breaker backoff .
+     * */
+    public void setBreakerBackoff(final long breakerBackoff) {
+        this.breakerBackoff = breakerBackoff;
+    }
+
+    /**
+     * Method for getting the longest milliseconds the breaker stays open.
+     * @return breaker max backoff .
+     * */
+    public long getBreakerMaxBackoff() {
+        return breakerMaxBackoff;
+    }
+
+    /**
+     * Method for setting the longest milliseconds the breaker stays open.
+     * By default 30 seconds.
+     * @param breakerMaxBackoff breaker max backoff .
+     * */
+    public void setBreakerMaxBackoff(final long breakerMaxBackoff) {
+        this.breakerMaxBackoff = breakerMaxBackoff;
+    }
+
+    /**
+     * Method for getting the connections created per second at most.
+     * @return max creation rate, 0 if unlimited .
+     * */
+    public int getMaxCreationRate() {
+        return maxCreationRate;
+    }
+
+    /**
+     * Method for setting the connections the refill worker creates per
+     * second at most, with bursts of one second worth. By default the
+     * rate is unlimited.
+     * @param maxCreationRate max creation rate .
+     * */
+    public void setMaxCreationRate(final int maxCreationRate) {
+        this.maxCreationRate = maxCreationRate;
+    }
+
+    /**
+     * Method for getting the stripes the idle connections are spread over.
+     * @return number of stripes .
+     * */
+    public int getStripes() {
+        return stripes;
+    }
+
+    /**
+     * Method for setting the stripes the idle connections are spread over.
+     * Each thread starts looking for an idle connection in its own stripe
+     * and takes one from the next stripes when its stripe is empty, so
+     * threads stop competing for the same connections. The pool limits
+     * are shared by every stripe. By default there is one stripe.
+     * @param stripes number of stripes .
+     * */
+    public void setStripes(final int stripes) {
+        this.stripes = stripes;
+    }
+
+    /**
+     * Method for getting the pool name.
+     * @return pool name .
+     * */
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Method for setting the pool name, used as name of the pool MXBean.
+     * @param poolName pool name .
+     * */
+    public void setPoolName(final String poolName) {
+        this.poolName = poolName;
+    }
+
+    /**
+     * Method for checking if the pool MXBean is registered.
+     * @return true if the MXBean is registered .
+     * */
+    public boolean isRegisterMBean() {
+        return registerMBean;
+    }
+
+    /**
+     * Method for registering the pool MXBean in the platform MBean server
+     * as dbpool:type=DBConnectionPool,name=poolName. By default it is not
+     * registered.
+     * @param registerMBean true to register the MXBean .
+     * */
+    public void setRegisterMBean(final boolean registerMBean) {
+        this.registerMBean = registerMBean;
+    }
+
+    /**
+     * Method for getting the milliseconds a connection stays idle before
+     * the housekeeper closes it.
+     * @return idle timeout, 0 if disabled .
+     * */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Method for setting the milliseconds a connection stays idle before
+     * the housekeeper closes it, only connections over min idle are
+     * closed. By default 10 minutes, 0 disables it.
+     * @param idleTimeout idle timeout .
+     * */
+    public void setIdleTimeout(final long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Method for getting the max milliseconds a connection is kept open.
+     * @return max lifetime, 0 if disabled .
+     * */
+    public long getMaxLifetime() {
+        return maxLifetime;
+    }
+
+    /**
+     * Method for setting the max milliseconds a connection is kept open.
+     * Every connection gets up to 2.5% less so connections opened together
+     * are not all replaced at once. By default 30 minutes, 0 disables it.
+     * @param maxLifetime max lifetime .
+     * */
+    public void setMaxLifetime(final long maxLifetime) {
+        this.maxLifetime = maxLifetime;
+    }
+
+    /**
+     * Method for getting the milliseconds a connection stays idle before
+     * the housekeeper pings it.
+     * @return keepalive time, 0 if disabled .
+     * */
+    public long getKeepaliveTime() {
+        return keepaliveTime;
+    }
+
+    /**
+     * Method for setting the milliseconds a connection stays idle before
+     * the housekeeper pings it, so firewalls do not drop it. By default
+     * disabled.
+     * @param keepaliveTime keepalive time .
+     * */
+    public void setKeepaliveTime(final long keepaliveTime) {
+        this.keepaliveTime = keepaliveTime;
+    }
+
+    /**
+     * Method for getting the connections the housekeeper keeps when
+     * closing idle ones, the min cache when unset.
+     * @return min idle .
+     * */
+    public int getMinIdle() {
+
+        if (minIdle < 0) {
+            return minPoolCache;
+        }
+        return minIdle;
+    }
+
+    /**
+     * Method for setting the connections the housekeeper keeps when
+     * closing idle ones.
+     * @param minIdle min idle .
+     * */
+    public void setMinIdle(final int minIdle) {
+        this.minIdle = minIdle;
+    }
+
+    /**
+     * Method for getting the milliseconds between housekeeper runs.
+     * @return housekeeping period .
+     * */
+    public long getHousekeepingPeriod() {
+        return housekeepingPeriod;
+    }
+
+    /**
+     * Method for setting the milliseconds between housekeeper runs. By
+     * default 30 seconds.
+     * @param housekeepingPeriod housekeeping period .
+     * */
+    public void setHousekeepingPeriod(final long housekeepingPeriod) {
+        this.housekeepingPeriod = housekeepingPeriod;
+    }
+
+    /**
+     * Method for getting the milliseconds between adaptive sizing runs.
+     * @return sizing period, 0 if disabled .
+     * */
+    public long getSizingPeriod() {
+        return sizingPeriod;
+    }
+
+    /**
+     * Method for setting the milliseconds between adaptive sizing runs.
+     * When enabled the pool starts with min cache connections at most and
+     * its size limit follows the measured demand, between the min cache
+     * and the max pool size. By default it is disabled and the limit is
+     * the max pool size.
+     * @param sizingPeriod sizing period .
+     * */
+    public void setSizingPeriod(final long sizingPeriod) {
+        this.sizingPeriod = sizingPeriod;
+    }
+
+    /**
+     * Method for getting the milliseconds a connection is held before it
+     * is reported as leaked.
+     * @return leak detection threshold, 0 if disabled .
+     * */
+    public long getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    /**
+     * Method for setting the milliseconds a connection is held before it
+     * is reported as leaked. By default leak detection is disabled.
+     * @param leakDetectionThreshold leak detection threshold .
+     * */
+    public void setLeakDetectionThreshold(final long leakDetectionThreshold) {
+        this.leakDetectionThreshold = leakDetectionThreshold;
+    }
+
+    /**
+     * Method for getting how often the borrow stack is captured.
+     * @return one borrow in this many is captured, 0 for none .
+     * */
+    public int getLeakStackSampleRate() {
+        return leakStackSampleRate;
+    }
+
+    /**
+     * Method for setting how often the borrow stack is captured, 1 for
+     * every borrow. Leaks of borrows not captured report the current
+     * stack of the holding thread instead. By default no borrow is
+     * captured.
+     * @param leakStackSampleRate one borrow in this many is captured .
+     * */
+    public void setLeakStackSampleRate(final int leakStackSampleRate) {
+        this.leakStackSampleRate = leakStackSampleRate;
+    }
+
+    /**
+     * Method for checking if leaked connections are taken back.
+     * @return true if leaked connections are reclaimed .
+     * */
+    public boolean isLeakReclaim() {
+        return leakReclaim;
+    }
+
+    /**
+     * Method for taking leaked connections back: the physical connection
+     * is closed and replaced, and the holder gets an exception on its
+     * next call. By default leaks are only reported.
+     * @param leakReclaim true to reclaim leaked connections .
+     * */
+    public void setLeakReclaim(final boolean leakReclaim) {
+        this.leakReclaim = leakReclaim;
+    }
+
+    /**
+     * Method for getting the listener notified of leaks.
+     * @return leak listener .
+     * */
+    public DBLeakListener getLeakListener() {
+        return leakListener;
+    }
+
+    /**
+     * Method for setting the listener notified of leaks, by default
+     * leaks are logged as warnings of the dbpool logger.
+     * @param leakListener leak listener .
+     * */
+    public void setLeakListener(final DBLeakListener leakListener) {
+        this.leakListener = leakListener;
+    }
+
+    /**
+     * Method for getting the data source of the physical connections.
+     * @return data source, null if connections come from the driver .
+     * */
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Method for setting the data source of the physical connections,
+     * the url and driver are then not needed and the username and
+     * password are optional.
+     * @param dataSource data source .
+     * */
+    public void setDataSource(final DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Method for checking the auto-commit mode of the connections.
+     * @return true if connections start in auto-commit mode .
+     * */
+    public boolean isAutoCommit() {
+        return autoCommit;
+    }
+
+    /**
+     * Method for setting the auto-commit mode every connection starts
+     * with and gets back on return, true by default.
+     * @param autoCommit auto-commit mode .
+     * */
+    public void setAutoCommit(final boolean autoCommit) {
+        this.autoCommit = autoCommit;
+    }
+
+    /**
+     * Method for getting the transaction isolation of the connections.
+     * @return transaction isolation, -1 for the driver default .
+     * */
+    public int getTransactionIsolation() {
+        return transactionIsolation;
+    }
+
+    /**
+     * Method for setting the transaction isolation every connection
+     * starts with and gets back on return, one of the
+     * Connection.TRANSACTION_ levels. By default the driver one is kept.
+     * @param transactionIsolation transaction isolation .
+     * */
+    public void setTransactionIsolation(final int transactionIsolation) {
+        this.transactionIsolation = transactionIsolation;
+    }
+
+    /**
+     * Method for checking the read-only mode of the connections.
+     * @return true if connections start read-only .
+     * */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Method for setting the read-only mode every connection starts with
+     * and gets back on return, false by default.
+     * @param readOnly read-only mode .
+     * */
+    public void setReadOnly(final boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Method for getting the catalog of the connections.
+     * @return catalog, null for the driver default .
+     * */
+    public String getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Method for setting the catalog every connection starts with and
+     * gets back on return. By default the driver one is kept.
+     * @param catalog catalog .
+     * */
+    public void setCatalog(final String catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Method for getting the schema of the connections.
+     * @return schema, null for the driver default .
+     * */
+    public String getSchema() {
+        return schema;
+    }
+
+    /**
+     * Method for setting the schema every connection starts with and
+     * gets back on return. By default the driver one is kept.
+     * @param schema schema .
+     * */
+    public void setSchema(final String schema) {
+        this.schema = schema;
+    }
+
     /**
      * Check if DBPool configuration has valid fields .
      * @throws DBPoolException if has empty fields
@@ -157,21 +931,23 @@ public class DBPoolConfiguration {
             throws DBPoolException {
 
         try {
-            if (getDbusername().isEmpty()) {
-                throw new DBPoolException(DBCPMessageException.MGS_UNDEFINED_USERNAME);
+            if (getDataSource() == null) {
+                if (getDbusername().isEmpty()) {
+                    throw new DBPoolException(DBCPMessageException.MGS_UNDEFINED_USERNAME);
 
-            }
-            if (getDbpassword().isEmpty()) {
-                throw new DBPoolException(DBCPMessageException.MSG_UNDEFINED_PASSWORD);
+                }
+                if (getDbpassword().isEmpty()) {
+                    throw new DBPoolException(DBCPMessageException.MSG_UNDEFINED_PASSWORD);
 
-            }
-            if (getDburl().isEmpty()) {
-                throw new DBPoolException(DBCPMessageException.MSG_UNDEFINED_URL);
+                }
+                if (getDburl().isEmpty()) {
+                    throw new DBPoolException(DBCPMessageException.MSG_UNDEFINED_URL);
 
-            }
-            if (getDbDriver().isEmpty()) {
-                throw new DBPoolException(DBCPMessageException.MSG_UNDEFINED_DRIVER);
+                }
+                if (getDbDriver().isEmpty()) {
+                    throw new DBPoolException(DBCPMessageException.MSG_UNDEFINED_DRIVER);
 
+                }
             }
             if (!(getMaxPoolSize() >= 0)) {
                 throw new DBPoolException(DBCPMessageException.MSG_ZERO_MAX_SIZE);
@@ -182,6 +958,90 @@ public class DBPoolConfiguration {
                     <= getMaxPoolSize()))) {
                 throw new DBPoolException(DBCPMessageException.MSG_ZERO_MIN_CACHE_SIZE);
             }
+            if (getRefillLowWaterMark() > getMaxPoolSize()) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_INVALID_LOW_WATER_MARK);
+            }
+            if (getStartupMode() != DBCPStartupMode.PARALLEL_EAGER
+                && getStartupMode() != DBCPStartupMode.LAZY
+                && getStartupMode() != DBCPStartupMode.ASYNC_WARM) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_INVALID_STARTUP_MODE);
+            }
+            if (getStartupParallelism() <= 0) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_ZERO_STARTUP_PARALLELISM);
+            }
+            if (getValidationStrategy() == null) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_UNDEFINED_VALIDATION_STRATEGY);
+            }
+            if (getConnectionTimeout() < 0) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_NEGATIVE_CONNECTION_TIMEOUT);
+            }
+            if (getPoolName().isEmpty()) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_UNDEFINED_POOL_NAME);
+            }
+            if (getIdleTimeout() < 0 || getMaxLifetime() < 0
+                || getKeepaliveTime() < 0) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_NEGATIVE_HOUSEKEEPING_TIME);
+            }
+            if (getHousekeepingPeriod() <= 0) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_ZERO_HOUSEKEEPING_PERIOD);
+            }
+            if (getSizingPeriod() < 0) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_NEGATIVE_SIZING_PERIOD);
+            }
+            if (getMinIdle() > getMaxPoolSize()) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_INVALID_MIN_IDLE);
+            }
+            if (getLeakDetectionThreshold() < 0
+                || getLeakStackSampleRate() < 0) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_NEGATIVE_LEAK_DETECTION);
+            }
+            if (getLeakListener() == null) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_UNDEFINED_LEAK_LISTENER);
+            }
+            if (getStatementCacheSize() < 0) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_NEGATIVE_STATEMENT_CACHE_SIZE);
+            }
+            if (getInitSql().contains(null)
+                || getWarmupStatements().contains(null)) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_NULL_INIT_STATEMENT);
+            }
+            if (getBreakerFailureThreshold() < 0 || getMaxCreationRate() < 0
+                || getBreakerBackoff() <= 0
+                || getBreakerMaxBackoff() < getBreakerBackoff()) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_INVALID_CREATION_THROTTLE);
+            }
+            if (getStripes() <= 0) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_ZERO_STRIPES);
+            }
+            if (getTransactionIsolation() != -1
+                && getTransactionIsolation() != Connection.TRANSACTION_NONE
+                && getTransactionIsolation()
+                    != Connection.TRANSACTION_READ_UNCOMMITTED
+                && getTransactionIsolation()
+                    != Connection.TRANSACTION_READ_COMMITTED
+                && getTransactionIsolation()
+                    != Connection.TRANSACTION_REPEATABLE_READ
+                && getTransactionIsolation()
+                    != Connection.TRANSACTION_SERIALIZABLE) {
+                throw new DBPoolException(
+                    DBCPMessageException.MSG_INVALID_TRANSACTION_ISOLATION);
+            }
 
         } catch (NullPointerException nullException) {
             throw new DBPoolException(DBCPMessageException.MSG_NULL_CONFIGURATION);
@@ -0,0 +1,194 @@
+package dbpool.dbmodule;
+
+import dbpool.utils.Constants.DBCPMessageException;
+
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.DataSource;
+import javax.sql.PooledConnection;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * DataSource backed by a DBConnectionPool, for frameworks that take a
+ * javax.sql.DataSource. getConnection() hands out the connection of the
+ * pool itself, no extra wrapper is added on the borrow path. The login
+ * timeout is the borrow timeout, zero keeps the connection timeout of the
+ * configuration. unwrap(DBConnectionPool.class) gives access to the pool
+ * and its metrics .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBPoolDataSource implements DataSource,
+    ConnectionPoolDataSource {
+
+    /**
+     * DBConnectionPool the pool of the data source .
+     */
+    private final DBConnectionPool connectionPool;
+
+    /**
+     * int borrow timeout in seconds, 0 for the configured timeout .
+     */
+    private volatile int loginTimeout;
+
+    /**
+     * PrintWriter log writer set by the application .
+     */
+    private volatile PrintWriter logWriter;
+
+    /**
+     * Constructor .
+     * @param connectionPool the pool of the data source .
+     * */
+    DBPoolDataSource(final DBConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Borrow a connection from the pool, closing it gives it back .
+     * @throws SQLException if no connection is available in time .
+     * @return the pooled connection .
+     * */
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        int timeout = loginTimeout;
+        return timeout == 0 ? connectionPool.getConnection()
+            : connectionPool.getConnection(timeout, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Connections are opened with the credentials of the configuration,
+     * per call credentials are not supported .
+     * @param username the user name .
+     * @param password the password .
+     * @throws SQLException always .
+     * @return never returns .
+     * */
+    @Override
+    public Connection getConnection(final String username,
+        final String password) throws SQLException {
+
+        throw new SQLFeatureNotSupportedException(
+            DBCPMessageException.MSG_UNSUPPORTED_CREDENTIALS);
+    }
+
+    /**
+     * Borrow a connection from the pool as a PooledConnection, the borrow
+     * lasts until the pooled connection is closed and each of its logical
+     * connections can be closed without ending it .
+     * @throws SQLException if no connection is available in time .
+     * @return the pooled connection .
+     * */
+    @Override
+    public PooledConnection getPooledConnection() throws SQLException {
+        return new DBPooledConnection(getConnection());
+    }
+
+    /**
+     * Per call credentials are not supported .
+     * @param user the user name .
+     * @param password the password .
+     * @throws SQLException always .
+     * @return never returns .
+     * */
+    @Override
+    public PooledConnection getPooledConnection(final String user,
+        final String password) throws SQLException {
+
+        throw new SQLFeatureNotSupportedException(
+            DBCPMessageException.MSG_UNSUPPORTED_CREDENTIALS);
+    }
+
+    /**
+     * Get the log writer .
+     * @return the log writer, null by default .
+     * */
+    @Override
+    public PrintWriter getLogWriter() {
+        return logWriter;
+    }
+
+    /**
+     * Set the log writer, the pool logs through java.util.logging .
+     * @param out the log writer .
+     * */
+    @Override
+    public void setLogWriter(final PrintWriter out) {
+        this.logWriter = out;
+    }
+
+    /**
+     * Set the time getConnection() waits for a connection .
+     * @param seconds the timeout in seconds, 0 for the configured
+     *        connection timeout .
+     * @throws SQLException if the timeout is negative .
+     * */
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+
+        if (seconds < 0) {
+            throw new SQLException(
+                DBCPMessageException.MSG_NEGATIVE_LOGIN_TIMEOUT);
+        }
+        this.loginTimeout = seconds;
+    }
+
+    /**
+     * Get the time getConnection() waits for a connection .
+     * @return the timeout in seconds, 0 for the configured timeout .
+     * */
+    @Override
+    public int getLoginTimeout() {
+        return loginTimeout;
+    }
+
+    /**
+     * Get the logger of the pool .
+     * @return the dbpool logger .
+     * */
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getLogger("dbpool");
+    }
+
+    /**
+     * Get the data source or the pool behind it .
+     * @param iface the requested interface .
+     * @param <T> the requested type .
+     * @throws SQLException if neither implements the interface .
+     * @return the data source or the pool .
+     * */
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        if (iface.isInstance(connectionPool)) {
+            return iface.cast(connectionPool);
+        }
+        throw new SQLException(DBCPMessageException.MSG_NOT_A_WRAPPER);
+    }
+
+    /**
+     * Check if the data source or the pool implements an interface .
+     * @param iface the interface .
+     * @return true if unwrap would succeed .
+     * */
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) {
+        return iface.isInstance(this) || iface.isInstance(connectionPool);
+    }
+
+    /**
+     * Shut down the pool of the data source .
+     * */
+    public void shutdown() {
+        connectionPool.shutdown();
+    }
+}
@@ -0,0 +1,106 @@
+package dbpool.dbmodule;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Histogram of durations in nanoseconds with power of two buckets. Every
+ * bucket is a striped counter, so recording a value never allocates nor
+ * takes a lock and threads recording different values do not contend .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBPoolHistogram {
+
+    /**
+     * int number of buckets, one per bit of a long .
+     */
+    static final int BUCKETS = 64;
+
+    /**
+     * LongBinaryOperator max of two values .
+     */
+    private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+        @Override
+        public long applyAsLong(final long left, final long right) {
+            return Math.max(left, right);
+        }
+    };
+
+    /**
+     * LongAdder[] values per bucket, bucket i holds values under 2^i .
+     */
+    private final LongAdder[] buckets;
+
+    /**
+     * LongAdder sum of the recorded values .
+     */
+    private final LongAdder total;
+
+    /**
+     * LongAccumulator max recorded value .
+     */
+    private final LongAccumulator max;
+
+    /**
+     * Constructor .
+     * */
+    DBPoolHistogram() {
+
+        this.buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+        this.total = new LongAdder();
+        this.max = new LongAccumulator(MAX, 0);
+    }
+
+    /**
+     * Record a duration .
+     * @param nanos the duration in nanoseconds .
+     * */
+    void record(final long nanos) {
+
+        long value = Math.max(0, nanos);
+        buckets[Math.min(BUCKETS - 1,
+            Long.SIZE - Long.numberOfLeadingZeros(value))].increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Get the number of recorded durations .
+     * @return count .
+     * */
+    long getCount() {
+
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Get the sum of the recorded durations .
+     * @return total in nanoseconds .
+     * */
+    long getTotalNanos() {
+        return total.sum();
+    }
+
+    /**
+     * Take a snapshot of the histogram, concurrent records may be partly
+     * included .
+     * @return the snapshot .
+     * */
+    DBPoolHistogramSnapshot snapshot() {
+
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new DBPoolHistogramSnapshot(counts, total.sum(), max.get());
+    }
+}
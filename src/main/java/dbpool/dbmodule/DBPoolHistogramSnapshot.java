@@ -0,0 +1,145 @@
+package dbpool.dbmodule;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time copy of a pool duration histogram. Percentiles are
+ * estimated with the upper bound of the power of two bucket holding the
+ * percentile, so they are at most twice the exact value .
+ * @author cgcastro
+ * @version 1.0
+ */
+public final class DBPoolHistogramSnapshot {
+
+    /**
+     * double median .
+     */
+    private static final double P50 = 0.5;
+    /**
+     * double 90th percentile .
+     */
+    private static final double P90 = 0.9;
+    /**
+     * double 99th percentile .
+     */
+    private static final double P99 = 0.99;
+
+    /**
+     * long[] values per bucket, bucket i holds values under 2^i ns .
+     */
+    private final long[] bucketCounts;
+    /**
+     * long number of recorded values .
+     */
+    private final long count;
+    /**
+     * long sum of the recorded values in nanoseconds .
+     */
+    private final long totalNanos;
+    /**
+     * long max recorded value in nanoseconds .
+     */
+    private final long maxNanos;
+
+    /**
+     * Constructor .
+     * @param bucketCounts values per bucket .
+     * @param totalNanos sum of the recorded values in nanoseconds .
+     * @param maxNanos max recorded value in nanoseconds .
+     * */
+    DBPoolHistogramSnapshot(final long[] bucketCounts, final long totalNanos,
+        final long maxNanos) {
+
+        long sum = 0;
+        for (long bucketCount : bucketCounts) {
+            sum += bucketCount;
+        }
+        this.bucketCounts = bucketCounts;
+        this.count = sum;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Get the number of recorded values .
+     * @return count .
+     * */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the mean in microseconds .
+     * @return mean .
+     * */
+    public long getMeanMicros() {
+        return count == 0 ? 0
+            : TimeUnit.NANOSECONDS.toMicros(totalNanos / count);
+    }
+
+    /**
+     * Get the max in microseconds .
+     * @return max .
+     * */
+    public long getMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxNanos);
+    }
+
+    /**
+     * Get the median in microseconds .
+     * @return median .
+     * */
+    public long getP50Micros() {
+        return percentile(P50, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Get the 90th percentile in microseconds .
+     * @return 90th percentile .
+     * */
+    public long getP90Micros() {
+        return percentile(P90, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Get the 99th percentile in microseconds .
+     * @return 99th percentile .
+     * */
+    public long getP99Micros() {
+        return percentile(P99, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Estimate a percentile .
+     * @param quantile the percentile between 0 and 1 .
+     * @param unit the time unit .
+     * @return the estimated percentile, 0 if nothing was recorded .
+     * */
+    public long percentile(final double quantile, final TimeUnit unit) {
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank && seen > 0) {
+                long upperBound = i >= Long.SIZE - 1 ? Long.MAX_VALUE
+                    : (1L << i) - 1;
+                return unit.convert(Math.min(upperBound, maxNanos),
+                    TimeUnit.NANOSECONDS);
+            }
+        }
+        return unit.convert(maxNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the values per bucket, bucket i holds values under 2^i ns .
+     * @return bucket counts .
+     * */
+    public long[] getBucketCounts() {
+        return bucketCounts.clone();
+    }
+}
@@ -0,0 +1,91 @@
+package dbpool.dbmodule;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background thread running the periodic maintenance of the pool, out of
+ * the borrow path: background validation, the eviction of idle and
+ * expired connections, leak detection, adaptive sizing and the timeouts
+ * of asynchronous borrows. The thread is only started once a task is scheduled .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBPoolHousekeeper {
+
+    /**
+     * ScheduledThreadPoolExecutor the scheduler .
+     */
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Constructor .
+     * @param pool the pool .
+     * @param validationInterval period of the idle validation in
+     *        milliseconds, 0 for none .
+     * @param housekeepingPeriod period of the idle and lifetime eviction
+     *        in milliseconds, 0 for none .
+     * @param leakCheckPeriod period of the leak detection in
+     *        milliseconds, 0 for none .
+     * @param sizingPeriod period of the adaptive sizing in milliseconds,
+     *        0 for none .
+     * */
+    DBPoolHousekeeper(final DBConnectionPool pool,
+        final long validationInterval, final long housekeepingPeriod,
+        final long leakCheckPeriod, final long sizingPeriod) {
+
+        this.scheduler = new ScheduledThreadPoolExecutor(1,
+            new DBPoolThreadFactory("dbpool-housekeeper"));
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        if (validationInterval > 0) {
+            this.scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    pool.validateIdleConnections();
+                }
+            }, validationInterval, validationInterval, TimeUnit.MILLISECONDS);
+        }
+        if (housekeepingPeriod > 0) {
+            this.scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    pool.evictIdleConnections();
+                }
+            }, housekeepingPeriod, housekeepingPeriod, TimeUnit.MILLISECONDS);
+        }
+        if (leakCheckPeriod > 0) {
+            this.scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    pool.detectLeaks();
+                }
+            }, leakCheckPeriod, leakCheckPeriod, TimeUnit.MILLISECONDS);
+        }
+        if (sizingPeriod > 0) {
+            this.scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    pool.adjustSize();
+                }
+            }, sizingPeriod, sizingPeriod, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Run a task once after a delay .
+     * @param task the task .
+     * @param delayNanos the delay in nanoseconds .
+     * @return the scheduled task, to cancel it .
+     * */
+    ScheduledFuture<?> schedule(final Runnable task, final long delayNanos) {
+        return scheduler.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stop the scheduled tasks .
+     * */
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
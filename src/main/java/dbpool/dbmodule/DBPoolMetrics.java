@@ -0,0 +1,199 @@
+package dbpool.dbmodule;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and duration histograms of a pool. Everything is recorded
+ * with striped counters on the borrow and return path, so recording
+ * allocates nothing and takes no lock .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBPoolMetrics {
+
+    /**
+     * LongAdder physical connections created .
+     */
+    private final LongAdder created;
+    /**
+     * LongAdder physical connections closed by the pool .
+     */
+    private final LongAdder destroyed;
+    /**
+     * LongAdder validations that found a broken connection .
+     */
+    private final LongAdder validationFailures;
+    /**
+     * LongAdder borrows that timed out .
+     */
+    private final LongAdder timeouts;
+    /**
+     * LongAdder connections reported as leaked .
+     */
+    private final LongAdder leaks;
+    /**
+     * LongAdder statements left open by borrowers and closed on return .
+     */
+    private final LongAdder autoClosedStatements;
+    /**
+     * DBPoolHistogram time spent in getConnection() .
+     */
+    private final DBPoolHistogram borrowWait;
+    /**
+     * DBPoolHistogram time a connection is held by the borrower .
+     */
+    private final DBPoolHistogram holdTime;
+    /**
+     * DBPoolHistogram time to open a physical connection .
+     */
+    private final DBPoolHistogram creationTime;
+
+    /**
+     * Constructor .
+     * */
+    DBPoolMetrics() {
+
+        this.created = new LongAdder();
+        this.destroyed = new LongAdder();
+        this.validationFailures = new LongAdder();
+        this.timeouts = new LongAdder();
+        this.leaks = new LongAdder();
+        this.autoClosedStatements = new LongAdder();
+        this.borrowWait = new DBPoolHistogram();
+        this.holdTime = new DBPoolHistogram();
+        this.creationTime = new DBPoolHistogram();
+    }
+
+    /**
+     * Record a successful borrow .
+     * @param waitNanos time spent in getConnection() .
+     * */
+    void recordBorrow(final long waitNanos) {
+        borrowWait.record(waitNanos);
+    }
+
+    /**
+     * Record a returned connection .
+     * @param heldNanos time the connection was held .
+     * */
+    void recordReturn(final long heldNanos) {
+        holdTime.record(heldNanos);
+    }
+
+    /**
+     * Record a created physical connection .
+     * @param elapsedNanos creation time .
+     * */
+    void recordCreation(final long elapsedNanos) {
+        created.increment();
+        creationTime.record(elapsedNanos);
+    }
+
+    /**
+     * Record a closed physical connection .
+     * */
+    void recordDestroy() {
+        destroyed.increment();
+    }
+
+    /**
+     * Record a failed validation .
+     * */
+    void recordValidationFailure() {
+        validationFailures.increment();
+    }
+
+    /**
+     * Record a timed out borrow .
+     * */
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    /**
+     * Record a leaked connection .
+     * */
+    void recordLeak() {
+        leaks.increment();
+    }
+
+    /**
+     * Record statements left open by a borrower and closed on return .
+     * @param count the number of statements .
+     * */
+    void recordAutoClosedStatements(final int count) {
+        autoClosedStatements.add(count);
+    }
+
+    /**
+     * Get the number of statements closed on return .
+     * @return auto closed statements .
+     * */
+    long getAutoClosedStatements() {
+        return autoClosedStatements.sum();
+    }
+
+    /**
+     * Get the number of connections reported as leaked .
+     * @return leaks .
+     * */
+    long getLeaks() {
+        return leaks.sum();
+    }
+
+    /**
+     * Get the number of physical connections created .
+     * @return created connections .
+     * */
+    long getCreated() {
+        return created.sum();
+    }
+
+    /**
+     * Get the number of physical connections closed by the pool .
+     * @return destroyed connections .
+     * */
+    long getDestroyed() {
+        return destroyed.sum();
+    }
+
+    /**
+     * Get the number of validations that found a broken connection .
+     * @return validation failures .
+     * */
+    long getValidationFailures() {
+        return validationFailures.sum();
+    }
+
+    /**
+     * Get the number of borrows that timed out .
+     * @return timeouts .
+     * */
+    long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Get the time spent in getConnection() .
+     * @return borrow wait histogram .
+     * */
+    DBPoolHistogram getBorrowWait() {
+        return borrowWait;
+    }
+
+    /**
+     * Get the time connections are held by borrowers .
+     * @return hold time histogram .
+     * */
+    DBPoolHistogram getHoldTime() {
+        return holdTime;
+    }
+
+    /**
+     * Get the time to open a physical connection .
+     * @return creation time histogram .
+     * */
+    DBPoolHistogram getCreationTime() {
+        return creationTime;
+    }
+}
@@ -0,0 +1,192 @@
+package dbpool.dbmodule;
+
+/**
+ * Point in time view of the gauges, counters and histograms of a pool,
+ * returned by DBConnectionPool.getMetrics(). The values are read one by
+ * one while the pool keeps running, so they may be slightly out of step
+ * with each other .
+ * @author cgcastro
+ * @version 1.0
+ */
+public final class DBPoolMetricsSnapshot {
+
+    /**
+     * int idle connections .
+     */
+    private final int idleConnections;
+    /**
+     * int borrowed connections .
+     */
+    private final int borrowedConnections;
+    /**
+     * int threads waiting for a connection .
+     */
+    private final int pendingThreads;
+    /**
+     * int physical connections of the pool .
+     */
+    private final int totalConnections;
+    /**
+     * long physical connections created .
+     */
+    private final long createdConnections;
+    /**
+     * long physical connections closed by the pool .
+     */
+    private final long destroyedConnections;
+    /**
+     * long validations that found a broken connection .
+     */
+    private final long validationFailures;
+    /**
+     * long borrows that timed out .
+     */
+    private final long timeouts;
+    /**
+     * long connections reported as leaked .
+     */
+    private final long leakedConnections;
+    /**
+     * long statements left open by borrowers and closed on return .
+     */
+    private final long autoClosedStatements;
+    /**
+     * DBPoolHistogramSnapshot time spent in getConnection() .
+     */
+    private final DBPoolHistogramSnapshot borrowWaitTime;
+    /**
+     * DBPoolHistogramSnapshot time connections are held .
+     */
+    private final DBPoolHistogramSnapshot holdTime;
+    /**
+     * DBPoolHistogramSnapshot time to open a physical connection .
+     */
+    private final DBPoolHistogramSnapshot creationTime;
+
+    /**
+     * Constructor .
+     * @param pool the pool .
+     * @param metrics the metrics of the pool .
+     * */
+    DBPoolMetricsSnapshot(final DBConnectionPool pool,
+        final DBPoolMetrics metrics) {
+
+        this.idleConnections = pool.getIdleConnections();
+        this.borrowedConnections = pool.getBorrowedConnections();
+        this.pendingThreads = pool.getPendingThreads();
+        this.totalConnections = pool.getTotalConnections();
+        this.createdConnections = metrics.getCreated();
+        this.destroyedConnections = metrics.getDestroyed();
+        this.validationFailures = metrics.getValidationFailures();
+        this.timeouts = metrics.getTimeouts();
+        this.leakedConnections = metrics.getLeaks();
+        this.autoClosedStatements = metrics.getAutoClosedStatements();
+        this.borrowWaitTime = metrics.getBorrowWait().snapshot();
+        this.holdTime = metrics.getHoldTime().snapshot();
+        this.creationTime = metrics.getCreationTime().snapshot();
+    }
+
+    /**
+     * Get the idle connections .
+     * @return idle connections .
+     * */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * Get the borrowed connections .
+     * @return borrowed connections .
+     * */
+    public int getBorrowedConnections() {
+        return borrowedConnections;
+    }
+
+    /**
+     * Get the threads waiting for a connection .
+     * @return pending threads .
+     * */
+    public int getPendingThreads() {
+        return pendingThreads;
+    }
+
+    /**
+     * Get the physical connections of the pool .
+     * @return total connections .
+     * */
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    /**
+     * Get the physical connections created .
+     * @return created connections .
+     * */
+    public long getCreatedConnections() {
+        return createdConnections;
+    }
+
+    /**
+     * Get the physical connections closed by the pool .
+     * @return destroyed connections .
+     * */
+    public long getDestroyedConnections() {
+        return destroyedConnections;
+    }
+
+    /**
+     * Get the validations that found a broken connection .
+     * @return validation failures .
+     * */
+    public long getValidationFailures() {
+        return validationFailures;
+    }
+
+    /**
+     * Get the borrows that timed out .
+     * @return timeouts .
+     * */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Get the connections reported as leaked .
+     * @return leaked connections .
+     * */
+    public long getLeakedConnections() {
+        return leakedConnections;
+    }
+
+    /**
+     * Get the statements left open by borrowers and closed on return .
+     * @return auto closed statements .
+     * */
+    public long getAutoClosedStatements() {
+        return autoClosedStatements;
+    }
+
+    /**
+     * Get the time spent in getConnection() .
+     * @return borrow wait histogram .
+     * */
+    public DBPoolHistogramSnapshot getBorrowWaitTime() {
+        return borrowWaitTime;
+    }
+
+    /**
+     * Get the time connections are held by borrowers .
+     * @return hold time histogram .
+     * */
+    public DBPoolHistogramSnapshot getHoldTime() {
+        return holdTime;
+    }
+
+    /**
+     * Get the time to open a physical connection .
+     * @return creation time histogram .
+     * */
+    public DBPoolHistogramSnapshot getCreationTime() {
+        return creationTime;
+    }
+}
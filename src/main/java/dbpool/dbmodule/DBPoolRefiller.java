@@ -0,0 +1,243 @@
+package dbpool.dbmodule;
+
+import java.sql.SQLException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background worker that creates connections in advance when the idle
+ * headroom of the pool falls below the low-water mark, so borrowers never
+ * pay for a connection handshake. Signals are coalesced into a single
+ * pending task. Every creation goes through the circuit breaker and the
+ * optional rate limit, so a database that is down gets no reconnect
+ * storm .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBPoolRefiller {
+
+    /**
+     * long seconds before the idle worker thread ends .
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    /**
+     * DBConnectionPool the refilled pool .
+     */
+    private final DBConnectionPool pool;
+
+    /**
+     * DBCircuitBreaker breaker around the creations .
+     */
+    private final DBCircuitBreaker circuitBreaker;
+
+    /**
+     * DBTokenBucket rate limit of the creations, null if unlimited .
+     */
+    private final DBTokenBucket creationThrottle;
+
+    /**
+     * ThreadPoolExecutor single worker thread .
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Runnable the refill task .
+     */
+    private final Runnable refillTask;
+
+    /**
+     * AtomicBoolean true while a refill task is queued .
+     */
+    private final AtomicBoolean scheduled;
+
+    /**
+     * AtomicInteger connections reserved and not created yet .
+     */
+    private final AtomicInteger pendingCreations;
+
+    /**
+     * AtomicLong number of connections created .
+     */
+    private final AtomicLong creationCount;
+
+    /**
+     * AtomicLong total creation time in nanoseconds .
+     */
+    private final AtomicLong creationNanos;
+
+    /**
+     * long creation time of the last connection in nanoseconds .
+     */
+    private volatile long lastCreationNanos;
+
+    /**
+     * SQLException last creation failure, cleared on success .
+     */
+    private volatile SQLException lastFailure;
+
+    /**
+     * Constructor .
+     * @param pool the refilled pool .
+     * @param circuitBreaker breaker around the creations .
+     * @param creationThrottle rate limit of the creations, null if
+     * unlimited .
+     * */
+    DBPoolRefiller(final DBConnectionPool pool,
+        final DBCircuitBreaker circuitBreaker,
+        final DBTokenBucket creationThrottle) {
+
+        this.pool = pool;
+        this.circuitBreaker = circuitBreaker;
+        this.creationThrottle = creationThrottle;
+        this.scheduled = new AtomicBoolean();
+        this.pendingCreations = new AtomicInteger();
+        this.creationCount = new AtomicLong();
+        this.creationNanos = new AtomicLong();
+        this.executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+            new DBPoolThreadFactory("dbpool-refill"));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.refillTask = new Runnable() {
+            @Override
+            public void run() {
+                refill();
+            }
+        };
+    }
+
+    /**
+     * Ask the worker to check the idle headroom of the pool, it costs a
+     * single read when a check is already queued .
+     * */
+    void signal() {
+
+        if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(refillTask);
+            } catch (RejectedExecutionException exception) {
+                // the pool was shut down, nothing left to refill
+            }
+        }
+    }
+
+    /**
+     * Create connections until the headroom is restored or the pool is
+     * full. A failure or an open breaker stops the run, the next signal
+     * retries .
+     * */
+    private void refill() {
+
+        scheduled.set(false);
+
+        int reserved;
+        while (!executor.isShutdown()
+            && (reserved = pool.reserveRefill()) > 0) {
+
+            pendingCreations.addAndGet(reserved);
+            for (int i = 0; i < reserved; i++) {
+                if (!acquireCreation()) {
+                    int notCreated = reserved - i;
+                    pool.releaseReservation(notCreated);
+                    pendingCreations.addAndGet(-notCreated);
+                    return;
+                }
+                long startTime = System.nanoTime();
+                try {
+                    pool.addReservedConnection();
+                } catch (SQLException exception) {
+                    int notCreated = reserved - i;
+                    pool.releaseReservation(notCreated - 1);
+                    pendingCreations.addAndGet(-notCreated);
+                    lastFailure = exception;
+                    circuitBreaker.recordFailure();
+                    return;
+                }
+                circuitBreaker.recordSuccess();
+                recordCreation(System.nanoTime() - startTime);
+                pendingCreations.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Wait for the breaker and the rate limit to allow one creation .
+     * @return false if the breaker is open or the worker was interrupted .
+     * */
+    private boolean acquireCreation() {
+
+        if (!circuitBreaker.allowCreation()) {
+            return false;
+        }
+        if (creationThrottle != null) {
+            try {
+                creationThrottle.acquire();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record the creation time of a connection .
+     * @param elapsedNanos the creation time in nanoseconds .
+     * */
+    private void recordCreation(final long elapsedNanos) {
+
+        lastCreationNanos = elapsedNanos;
+        creationNanos.addAndGet(elapsedNanos);
+        creationCount.incrementAndGet();
+        lastFailure = null;
+    }
+
+    /**
+     * Stop the worker, a running creation is allowed to finish .
+     * */
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Get the number of connections requested and not created yet .
+     * @return pending creations .
+     * */
+    int getQueueDepth() {
+        return pendingCreations.get();
+    }
+
+    /**
+     * Get the average creation time of a connection .
+     * @param unit the time unit .
+     * @return average creation time .
+     * */
+    long getAverageCreationTime(final TimeUnit unit) {
+
+        long count = creationCount.get();
+        return count == 0 ? 0
+            : unit.convert(creationNanos.get() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the creation time of the last connection .
+     * @param unit the time unit .
+     * @return last creation time .
+     * */
+    long getLastCreationTime(final TimeUnit unit) {
+        return unit.convert(lastCreationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the last creation failure, null after a successful creation .
+     * @return the last failure .
+     * */
+    SQLException getLastFailure() {
+        return lastFailure;
+    }
+}
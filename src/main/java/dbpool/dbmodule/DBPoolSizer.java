@@ -0,0 +1,199 @@
+package dbpool.dbmodule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Adaptive size limit of a pool, run periodically by the housekeeper.
+ * Each run measures the borrow rate, hold time and wait time since the
+ * previous run. By Little's law the rate times the hold and wait time is
+ * the mean number of borrowers holding or waiting for a connection, the
+ * target size is that demand plus its square root as headroom for bursts.
+ * The limit moves half the way up to the target on each run and a quarter
+ * of the way down, within the min cache and max pool size. Every change
+ * is logged and kept for auditing .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBPoolSizer {
+
+    /**
+     * int decisions kept for auditing .
+     */
+    private static final int MAX_DECISIONS = 64;
+
+    /**
+     * Logger the dbpool logger .
+     */
+    private static final Logger LOGGER = Logger.getLogger("dbpool");
+
+    /**
+     * DBConnectionPool the sized pool .
+     */
+    private final DBConnectionPool pool;
+
+    /**
+     * DBPoolMetrics metrics of the pool .
+     */
+    private final DBPoolMetrics metrics;
+
+    /**
+     * int lowest size limit .
+     */
+    private volatile int minSize;
+
+    /**
+     * int highest size limit .
+     */
+    private volatile int maxSize;
+
+    /**
+     * CopyOnWriteArrayList last decisions, oldest first .
+     */
+    private final CopyOnWriteArrayList<DBPoolSizingDecision> decisions;
+
+    /**
+     * long time of the previous run in nanoseconds .
+     */
+    private long lastNanos;
+
+    /**
+     * long borrows recorded at the previous run .
+     */
+    private long lastBorrows;
+
+    /**
+     * long borrow wait recorded at the previous run in nanoseconds .
+     */
+    private long lastWaitNanos;
+
+    /**
+     * long returns recorded at the previous run .
+     */
+    private long lastReturns;
+
+    /**
+     * long hold time recorded at the previous run in nanoseconds .
+     */
+    private long lastHoldNanos;
+
+    /**
+     * long timeouts recorded at the previous run .
+     */
+    private long lastTimeouts;
+
+    /**
+     * long mean hold time, kept across runs without returns .
+     */
+    private long meanHoldNanos;
+
+    /**
+     * Constructor .
+     * @param pool the sized pool .
+     * @param metrics metrics of the pool .
+     * @param minSize lowest size limit .
+     * @param maxSize highest size limit .
+     * */
+    DBPoolSizer(final DBConnectionPool pool, final DBPoolMetrics metrics,
+        final int minSize, final int maxSize) {
+
+        this.pool = pool;
+        this.metrics = metrics;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.decisions = new CopyOnWriteArrayList<DBPoolSizingDecision>();
+        this.lastNanos = System.nanoTime();
+    }
+
+    /**
+     * Change the bounds of the size limit when the pool is resized .
+     * @param lowest lowest size limit .
+     * @param highest highest size limit .
+     * */
+    void setBounds(final int lowest, final int highest) {
+
+        this.minSize = lowest;
+        this.maxSize = highest;
+    }
+
+    /**
+     * Measure the demand since the previous run and move the size limit
+     * of the pool towards it. Only the housekeeper thread calls it .
+     * */
+    void adjust() {
+
+        long now = System.nanoTime();
+        long borrows = metrics.getBorrowWait().getCount();
+        long waitNanos = metrics.getBorrowWait().getTotalNanos();
+        long returns = metrics.getHoldTime().getCount();
+        long holdNanos = metrics.getHoldTime().getTotalNanos();
+        long timeouts = metrics.getTimeouts();
+
+        long elapsed = now - lastNanos;
+        long newBorrows = borrows - lastBorrows;
+        long newReturns = returns - lastReturns;
+        long newTimeouts = timeouts - lastTimeouts;
+        if (newReturns > 0) {
+            meanHoldNanos = (holdNanos - lastHoldNanos) / newReturns;
+        }
+        long meanWaitNanos = newBorrows == 0 ? 0
+            : (waitNanos - lastWaitNanos) / newBorrows;
+
+        lastNanos = now;
+        lastBorrows = borrows;
+        lastWaitNanos = waitNanos;
+        lastReturns = returns;
+        lastHoldNanos = holdNanos;
+        lastTimeouts = timeouts;
+        if (elapsed <= 0) {
+            return;
+        }
+
+        // Little's law: L = lambda * W
+        double arrivalRate = (newBorrows + newTimeouts)
+            * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        double demand = arrivalRate * (meanHoldNanos + meanWaitNanos)
+            / TimeUnit.SECONDS.toNanos(1);
+        int targetSize = (int) Math.min(maxSize,
+            Math.max(minSize, Math.ceil(demand + Math.sqrt(demand))));
+
+        int previousSize = pool.getTargetSize();
+        int newSize = previousSize;
+        if (targetSize > previousSize) {
+            newSize = previousSize + (targetSize - previousSize + 1) / 2;
+        } else if (targetSize < previousSize) {
+            newSize = previousSize
+                - Math.max(1, (previousSize - targetSize) / 4);
+        }
+        if (newSize == previousSize) {
+            return;
+        }
+
+        DBPoolSizingDecision decision = new DBPoolSizingDecision(
+            System.currentTimeMillis(), arrivalRate, meanHoldNanos,
+            meanWaitNanos, demand, previousSize, targetSize, newSize);
+        if (decisions.size() == MAX_DECISIONS) {
+            decisions.remove(0);
+        }
+        decisions.add(decision);
+        if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.info(decision.toString());
+        }
+
+        pool.setTargetSize(newSize);
+    }
+
+    /**
+     * Get the last resize decisions .
+     * @return the decisions, oldest first .
+     * */
+    List<DBPoolSizingDecision> getDecisions() {
+        return Collections.unmodifiableList(
+            new ArrayList<DBPoolSizingDecision>(decisions));
+    }
+}
@@ -0,0 +1,152 @@
+package dbpool.dbmodule;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resize decision of the adaptive sizing of a pool, with the measures it
+ * was taken from .
+ * @author cgcastro
+ * @version 1.0
+ */
+public final class DBPoolSizingDecision {
+
+    /**
+     * long time of the decision in milliseconds since the epoch .
+     */
+    private final long timestamp;
+    /**
+     * double borrows per second, timed out ones included .
+     */
+    private final double arrivalRate;
+    /**
+     * long mean time a connection was held in nanoseconds .
+     */
+    private final long meanHoldNanos;
+    /**
+     * long mean time spent in getConnection() in nanoseconds .
+     */
+    private final long meanWaitNanos;
+    /**
+     * double mean borrowers holding or waiting for a connection .
+     */
+    private final double demand;
+    /**
+     * int size limit before the decision .
+     */
+    private final int previousSize;
+    /**
+     * int size the demand asks for, within the pool bounds .
+     */
+    private final int targetSize;
+    /**
+     * int size limit after the decision .
+     */
+    private final int newSize;
+
+    /**
+     * Constructor .
+     * @param timestamp time of the decision in milliseconds .
+     * @param arrivalRate borrows per second .
+     * @param meanHoldNanos mean hold time in nanoseconds .
+     * @param meanWaitNanos mean wait time in nanoseconds .
+     * @param demand mean borrowers holding or waiting .
+     * @param previousSize size limit before the decision .
+     * @param targetSize size the demand asks for .
+     * @param newSize size limit after the decision .
+     * */
+    DBPoolSizingDecision(final long timestamp, final double arrivalRate,
+        final long meanHoldNanos, final long meanWaitNanos,
+        final double demand, final int previousSize, final int targetSize,
+        final int newSize) {
+
+        this.timestamp = timestamp;
+        this.arrivalRate = arrivalRate;
+        this.meanHoldNanos = meanHoldNanos;
+        this.meanWaitNanos = meanWaitNanos;
+        this.demand = demand;
+        this.previousSize = previousSize;
+        this.targetSize = targetSize;
+        this.newSize = newSize;
+    }
+
+    /**
+     * Get the time of the decision .
+     * @return milliseconds since the epoch .
+     * */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Get the borrows per second, timed out ones included .
+     * @return arrival rate .
+     * */
+    public double getArrivalRate() {
+        return arrivalRate;
+    }
+
+    /**
+     * Get the mean time a connection was held .
+     * @param unit the time unit .
+     * @return mean hold time .
+     * */
+    public long getMeanHoldTime(final TimeUnit unit) {
+        return unit.convert(meanHoldNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the mean time spent in getConnection() .
+     * @param unit the time unit .
+     * @return mean wait time .
+     * */
+    public long getMeanWaitTime(final TimeUnit unit) {
+        return unit.convert(meanWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the mean borrowers holding or waiting for a connection, the
+     * arrival rate times the hold and wait time .
+     * @return demand .
+     * */
+    public double getDemand() {
+        return demand;
+    }
+
+    /**
+     * Get the size limit before the decision .
+     * @return previous size .
+     * */
+    public int getPreviousSize() {
+        return previousSize;
+    }
+
+    /**
+     * Get the size the demand asks for, within the pool bounds .
+     * @return target size .
+     * */
+    public int getTargetSize() {
+        return targetSize;
+    }
+
+    /**
+     * Get the size limit after the decision .
+     * @return new size .
+     * */
+    public int getNewSize() {
+        return newSize;
+    }
+
+    /**
+     * Describe the decision .
+     * @return the description .
+     * */
+    @Override
+    public String toString() {
+
+        return String.format("pool resized from %d to %d (target %d): "
+            + "%.1f borrows/s, hold %d us, wait %d us, demand %.1f",
+            previousSize, newSize, targetSize, arrivalRate,
+            TimeUnit.NANOSECONDS.toMicros(meanHoldNanos),
+            TimeUnit.NANOSECONDS.toMicros(meanWaitNanos), demand);
+    }
+}
@@ -0,0 +1,44 @@
+package dbpool.dbmodule;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory of the daemon threads used by the pool background tasks .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBPoolThreadFactory implements ThreadFactory {
+
+    /**
+     * AtomicInteger number of threads created by all the factories .
+     */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * String prefix of the thread names .
+     */
+    private final String prefix;
+
+    /**
+     * Constructor .
+     * @param prefix prefix of the thread names .
+     * */
+    DBPoolThreadFactory(final String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Create a daemon thread .
+     * @param runnable the task of the thread .
+     * @return the new thread .
+     * */
+    @Override
+    public Thread newThread(final Runnable runnable) {
+
+        Thread thread = new Thread(runnable,
+            prefix + "-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
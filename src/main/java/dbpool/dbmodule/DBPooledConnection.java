@@ -0,0 +1,388 @@
+package dbpool.dbmodule;
+
+import dbpool.utils.Constants.DBCPMessageException;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+import javax.sql.StatementEvent;
+import javax.sql.StatementEventListener;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * PooledConnection over a borrow of a DBConnectionPool, the borrowed
+ * connection stands for the physical connection and goes back to the pool
+ * when the pooled connection is closed. Every getConnection() returns a
+ * new logical connection: closing it raises connectionClosed and leaves
+ * the borrowed connection open, a fatal error raises
+ * connectionErrorOccurred. The prepared statements of a logical
+ * connection raise statementClosed and statementErrorOccurred. This path
+ * is only used by external pool managers, so the logical connection and
+ * its statements are dynamic proxies instead of full wrappers .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBPooledConnection implements PooledConnection {
+
+    /**
+     * String SQLState class of the connection exceptions .
+     */
+    private static final String CONNECTION_EXCEPTION_CLASS = "08";
+
+    /**
+     * Connection the borrowed connection .
+     */
+    private final Connection connection;
+
+    /**
+     * CopyOnWriteArrayList listeners notified when the connection is
+     * closed .
+     */
+    private final CopyOnWriteArrayList<ConnectionEventListener>
+        connectionListeners;
+
+    /**
+     * CopyOnWriteArrayList registered statement listeners .
+     */
+    private final CopyOnWriteArrayList<StatementEventListener>
+        statementListeners;
+
+    /**
+     * DBLogicalConnection the handler of the open logical connection, null
+     * if there is none .
+     */
+    private volatile DBLogicalConnection logicalConnection;
+
+    /**
+     * boolean true once the pooled connection is closed .
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructor .
+     * @param connection the borrowed connection .
+     * */
+    DBPooledConnection(final Connection connection) {
+
+        this.connection = connection;
+        this.connectionListeners =
+            new CopyOnWriteArrayList<ConnectionEventListener>();
+        this.statementListeners =
+            new CopyOnWriteArrayList<StatementEventListener>();
+    }
+
+    /**
+     * Get a new logical connection, the previous one is closed without
+     * raising connectionClosed .
+     * @throws SQLException if the pooled connection is closed .
+     * @return the logical connection .
+     * */
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        if (closed) {
+            throw new SQLException(
+                DBCPMessageException.MSG_POOLED_CONNECTION_CLOSED);
+        }
+        DBLogicalConnection previous = logicalConnection;
+        if (previous != null) {
+            previous.closed = true;
+        }
+        DBLogicalConnection handler = new DBLogicalConnection();
+        logicalConnection = handler;
+        return (Connection) Proxy.newProxyInstance(
+            DBPooledConnection.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, handler);
+    }
+
+    /**
+     * Give the connection back to the pool, the open logical connection
+     * is closed too .
+     * @throws SQLException sql exception .
+     * */
+    @Override
+    public void close() throws SQLException {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        DBLogicalConnection handler = logicalConnection;
+        if (handler != null) {
+            handler.closed = true;
+        }
+        if (!connection.isClosed()) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Add a connection listener .
+     * @param listener the listener .
+     * */
+    @Override
+    public void addConnectionEventListener(
+        final ConnectionEventListener listener) {
+        connectionListeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Remove a connection listener .
+     * @param listener the listener .
+     * */
+    @Override
+    public void removeConnectionEventListener(
+        final ConnectionEventListener listener) {
+        connectionListeners.remove(listener);
+    }
+
+    /**
+     * Add a statement listener .
+     * @param listener the listener .
+     * */
+    @Override
+    public void addStatementEventListener(
+        final StatementEventListener listener) {
+        statementListeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Remove a statement listener .
+     * @param listener the listener .
+     * */
+    @Override
+    public void removeStatementEventListener(
+        final StatementEventListener listener) {
+        statementListeners.remove(listener);
+    }
+
+    /**
+     * Check if an exception means the connection cannot be used anymore .
+     * @param exception the exception .
+     * @return true for connection exceptions or a borrow taken back by
+     *         the pool .
+     * */
+    private boolean isFatal(final SQLException exception) {
+
+        if (exception instanceof SQLNonTransientConnectionException) {
+            return true;
+        }
+        String sqlState = exception.getSQLState();
+        if (sqlState != null
+            && sqlState.startsWith(CONNECTION_EXCEPTION_CLASS)) {
+            return true;
+        }
+        try {
+            return connection.isClosed();
+        } catch (SQLException closedException) {
+            return true;
+        }
+    }
+
+    /**
+     * Notify the connection listeners of a fatal error .
+     * @param exception the exception .
+     * */
+    private void fireConnectionError(final SQLException exception) {
+
+        ConnectionEvent event = new ConnectionEvent(this, exception);
+        for (ConnectionEventListener listener : connectionListeners) {
+            listener.connectionErrorOccurred(event);
+        }
+    }
+
+    /**
+     * Call a method of a delegate, unwrapping the exception it throws .
+     * @param delegate the delegate .
+     * @param method the method .
+     * @param args the arguments .
+     * @throws Throwable the exception of the method .
+     * @return the result of the method .
+     * */
+    private static Object call(final Object delegate, final Method method,
+        final Object[] args) throws Throwable {
+
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Handler of a logical connection, the calls go to the borrowed
+     * connection until the logical connection is closed .
+     * @author cgcastro
+     * @version 1.0
+     */
+    private final class DBLogicalConnection implements InvocationHandler {
+
+        /**
+         * boolean true once the logical connection is closed .
+         */
+        private volatile boolean closed;
+
+        /**
+         * Handle a call on the logical connection .
+         * @param proxy the logical connection .
+         * @param method the method .
+         * @param args the arguments .
+         * @throws Throwable the exception of the method .
+         * @return the result of the method .
+         * */
+        @Override
+        public Object invoke(final Object proxy, final Method method,
+            final Object[] args) throws Throwable {
+
+            String name = method.getName();
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            if ("toString".equals(name)) {
+                return "Logical" + connection;
+            }
+            if ("isClosed".equals(name)) {
+                return closed;
+            }
+            if ("close".equals(name)) {
+                if (!closed) {
+                    closed = true;
+                    ConnectionEvent event =
+                        new ConnectionEvent(DBPooledConnection.this);
+                    for (ConnectionEventListener listener
+                        : connectionListeners) {
+                        listener.connectionClosed(event);
+                    }
+                }
+                return null;
+            }
+            if (closed) {
+                throw new SQLException(
+                    DBCPMessageException.MSG_CONNECTION_NO_LONGER_ACTIVE);
+            }
+
+            Object result;
+            try {
+                result = call(connection, method, args);
+            } catch (SQLException exception) {
+                if (isFatal(exception)) {
+                    fireConnectionError(exception);
+                }
+                throw exception;
+            }
+
+            if (result instanceof PreparedStatement) {
+                Class<?> type = result instanceof CallableStatement
+                    ? CallableStatement.class : PreparedStatement.class;
+                return Proxy.newProxyInstance(
+                    DBPooledConnection.class.getClassLoader(),
+                    new Class<?>[] {type},
+                    new DBLogicalStatement((PreparedStatement) result,
+                        (Connection) proxy));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Handler of a prepared statement of a logical connection, raises the
+     * statement events .
+     * @author cgcastro
+     * @version 1.0
+     */
+    private final class DBLogicalStatement implements InvocationHandler {
+
+        /**
+         * PreparedStatement the statement of the borrowed connection .
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * Connection the logical connection of the statement .
+         */
+        private final Connection logical;
+
+        /**
+         * boolean true once statementClosed was raised .
+         */
+        private boolean closed;
+
+        /**
+         * Constructor .
+         * @param statement the statement of the borrowed connection .
+         * @param logical the logical connection of the statement .
+         * */
+        private DBLogicalStatement(final PreparedStatement statement,
+            final Connection logical) {
+
+            this.statement = statement;
+            this.logical = logical;
+        }
+
+        /**
+         * Handle a call on the prepared statement .
+         * @param proxy the prepared statement .
+         * @param method the method .
+         * @param args the arguments .
+         * @throws Throwable the exception of the method .
+         * @return the result of the method .
+         * */
+        @Override
+        public Object invoke(final Object proxy, final Method method,
+            final Object[] args) throws Throwable {
+
+            String name = method.getName();
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            if ("toString".equals(name)) {
+                return "Logical" + statement;
+            }
+            if ("getConnection".equals(name)) {
+                return logical;
+            }
+
+            Object result;
+            try {
+                result = call(statement, method, args);
+            } catch (SQLException exception) {
+                StatementEvent event = new StatementEvent(
+                    DBPooledConnection.this, (PreparedStatement) proxy,
+                    exception);
+                for (StatementEventListener listener : statementListeners) {
+                    listener.statementErrorOccurred(event);
+                }
+                if (isFatal(exception)) {
+                    fireConnectionError(exception);
+                }
+                throw exception;
+            }
+
+            if ("close".equals(name) && !closed) {
+                closed = true;
+                StatementEvent event = new StatementEvent(
+                    DBPooledConnection.this, (PreparedStatement) proxy);
+                for (StatementEventListener listener : statementListeners) {
+                    listener.statementClosed(event);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package dbpool.dbmodule;
+
+import dbpool.utils.Constants.DBCPMessageException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-through cache of query results over a pool, for the queries the
+ * caller sends through it. Results are keyed by the SQL and its bound
+ * parameters and kept detached from the connection, so a hit neither
+ * borrows a connection nor reaches the database. A result expires after
+ * the time to live, the least recently used results are evicted when the
+ * estimated size goes over the limit, and the results tagged with a table
+ * are dropped when that table is invalidated. A result loaded while an
+ * invalidation happens is returned but not cached. Hits only read a
+ * concurrent map and stamp the entry, the lock is taken to store, evict
+ * and invalidate .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBResultCache {
+
+    /**
+     * DBConnectionPool the pool running the queries .
+     */
+    private final DBConnectionPool pool;
+    /**
+     * long time to live of a result in nanoseconds .
+     */
+    private final long ttlNanos;
+    /**
+     * long max estimated bytes of the cached results .
+     */
+    private final long maxBytes;
+    /**
+     * ConcurrentHashMap cached results, read without the lock .
+     */
+    private final ConcurrentHashMap<DBResultKey, DBCacheEntry> entries;
+    /**
+     * Map keys of the results tagged with each table, guarded by the
+     * lock .
+     */
+    private final Map<String, Set<DBResultKey>> keysByTable;
+    /**
+     * ReentrantLock guards the changes of the cached results, it parks
+     * instead of pinning the carrier of a virtual thread .
+     */
+    private final ReentrantLock lock;
+    /**
+     * LongAdder results found in the cache .
+     */
+    private final LongAdder hits;
+    /**
+     * LongAdder results loaded from the database .
+     */
+    private final LongAdder misses;
+    /**
+     * LongAdder results evicted to make room .
+     */
+    private final LongAdder evictions;
+    /**
+     * long estimated bytes of the cached results, written under the lock .
+     */
+    private volatile long sizeInBytes;
+    /**
+     * long number of invalidations, loads started before one are not
+     * cached, written under the lock .
+     */
+    private volatile long invalidations;
+
+    /**
+     * Constructor .
+     * @param pool the pool running the queries .
+     * @param ttl time to live of a result .
+     * @param unit the time unit of the time to live .
+     * @param maxBytes max estimated bytes of the cached results .
+     * */
+    public DBResultCache(final DBConnectionPool pool, final long ttl,
+        final TimeUnit unit, final long maxBytes) {
+
+        if (ttl <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException(
+                DBCPMessageException.MSG_INVALID_RESULT_CACHE_BOUNDS);
+        }
+        this.pool = pool;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.maxBytes = maxBytes;
+        this.entries = new ConcurrentHashMap<DBResultKey, DBCacheEntry>();
+        this.keysByTable = new HashMap<String, Set<DBResultKey>>();
+        this.lock = new ReentrantLock();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Get the result of a query from the cache, or run it on a pooled
+     * connection and cache it .
+     * @param sql the parameterized query .
+     * @param tables the tables the result depends on, for invalidation .
+     * @param parameters the parameters, bound with setObject .
+     * @throws SQLException sql exception .
+     * @return the detached result .
+     * */
+    public DBCachedResult query(final String sql,
+        final Collection<String> tables, final Object... parameters)
+        throws SQLException {
+
+        DBResultKey key = new DBResultKey(sql, parameters);
+        long invalidationCount = invalidations;
+        DBCacheEntry entry = entries.get(key);
+        if (entry != null) {
+            long now = System.nanoTime();
+            if (now - entry.expiresAtNanos < 0) {
+                entry.lastAccessNanos = now;
+                hits.increment();
+                return entry.result;
+            }
+            lock.lock();
+            try {
+                if (entries.remove(key, entry)) {
+                    unindex(key, entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        misses.increment();
+        DBCachedResult result = load(sql, parameters);
+        store(key, new DBCacheEntry(result, tables,
+            System.nanoTime() + ttlNanos), invalidationCount);
+        return result;
+    }
+
+    /**
+     * Run a query on a pooled connection .
+     * @param sql the parameterized query .
+     * @param parameters the parameters .
+     * @throws SQLException sql exception .
+     * @return the detached result .
+     * */
+    private DBCachedResult load(final String sql, final Object[] parameters)
+        throws SQLException {
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return DBCachedResult.read(resultSet);
+            }
+        }
+    }
+
+    /**
+     * Cache a loaded result and evict the least recently used ones over
+     * the size limit .
+     * @param key the result key .
+     * @param entry the new entry .
+     * @param invalidationCount invalidations seen when the load started .
+     * */
+    private void store(final DBResultKey key, final DBCacheEntry entry,
+        final long invalidationCount) {
+
+        if (!entry.result.isDetached()
+            || entry.result.getSizeInBytes() > maxBytes) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (invalidationCount != invalidations) {
+                return;
+            }
+
+            DBCacheEntry previous = entries.put(key, entry);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+            sizeInBytes += entry.result.getSizeInBytes();
+            for (String table : entry.tables) {
+                Set<DBResultKey> keys = keysByTable.get(table);
+                if (keys == null) {
+                    keys = new HashSet<DBResultKey>();
+                    keysByTable.put(table, keys);
+                }
+                keys.add(key);
+            }
+
+            if (sizeInBytes > maxBytes) {
+                evictLeastRecentlyUsed();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evict the least recently used results until the size is under the
+     * limit, the lock is held by the caller. Usually a single result is
+     * evicted, so the eldest is found with a scan instead of keeping the
+     * entries ordered on every hit .
+     * */
+    private void evictLeastRecentlyUsed() {
+
+        while (sizeInBytes > maxBytes) {
+            DBResultKey eldestKey = null;
+            DBCacheEntry eldest = null;
+            for (Map.Entry<DBResultKey, DBCacheEntry> candidate
+                : entries.entrySet()) {
+                DBCacheEntry entry = candidate.getValue();
+                if (eldest == null
+                    || entry.lastAccessNanos - eldest.lastAccessNanos < 0) {
+                    eldestKey = candidate.getKey();
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            entries.remove(eldestKey, eldest);
+            unindex(eldestKey, eldest);
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Drop the size and table index of a removed entry, the lock is held
+     * by the caller .
+     * @param key the result key .
+     * @param entry the entry .
+     * */
+    private void unindex(final DBResultKey key, final DBCacheEntry entry) {
+
+        sizeInBytes -= entry.result.getSizeInBytes();
+        for (String table : entry.tables) {
+            Set<DBResultKey> keys = keysByTable.get(table);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByTable.remove(table);
+            }
+        }
+    }
+
+    /**
+     * Drop the results tagged with a table, ignoring case .
+     * @param table the table .
+     * */
+    public void invalidate(final String table) {
+
+        lock.lock();
+        try {
+            invalidations++;
+            Set<DBResultKey> keys =
+                keysByTable.remove(table.toLowerCase(Locale.ROOT));
+            if (keys == null) {
+                return;
+            }
+            for (DBResultKey key : keys) {
+                DBCacheEntry entry = entries.remove(key);
+                if (entry != null) {
+                    unindex(key, entry);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop every cached result .
+     * */
+    public void invalidateAll() {
+
+        lock.lock();
+        try {
+            invalidations++;
+            entries.clear();
+            keysByTable.clear();
+            sizeInBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of results found in the cache .
+     * @return hits .
+     * */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of results loaded from the database .
+     * @return misses .
+     * */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of results evicted to make room .
+     * @return evictions .
+     * */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Get the estimated bytes of the cached results .
+     * @return size in bytes .
+     * */
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * Cached result with its expiry and tables .
+     * @author cgcastro
+     * @version 1.0
+     */
+    private static final class DBCacheEntry {
+
+        /**
+         * DBCachedResult the result .
+         */
+        private final DBCachedResult result;
+        /**
+         * String[] the tables in lower case .
+         */
+        private final String[] tables;
+        /**
+         * long time the result expires in nanoseconds .
+         */
+        private final long expiresAtNanos;
+        /**
+         * long time of the last hit in nanoseconds, for eviction .
+         */
+        private volatile long lastAccessNanos;
+
+        /**
+         * Constructor .
+         * @param result the result .
+         * @param tables the tables the result depends on .
+         * @param expiresAtNanos time the result expires in nanoseconds .
+         * */
+        DBCacheEntry(final DBCachedResult result,
+            final Collection<String> tables, final long expiresAtNanos) {
+
+            this.result = result;
+            this.expiresAtNanos = expiresAtNanos;
+            this.lastAccessNanos = System.nanoTime();
+            this.tables = new String[tables.size()];
+            int i = 0;
+            for (String table : tables) {
+                this.tables[i++] = table.toLowerCase(Locale.ROOT);
+            }
+        }
+    }
+}
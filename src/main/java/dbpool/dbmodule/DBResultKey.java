@@ -0,0 +1,65 @@
+package dbpool.dbmodule;
+
+import java.util.Arrays;
+
+/**
+ * Key of a cached query result: the SQL text plus the bound parameters,
+ * compared by value and array contents .
+ * @author cgcastro
+ * @version 1.0
+ */
+final class DBResultKey {
+
+    /**
+     * String the SQL text .
+     */
+    private final String sql;
+    /**
+     * Object[] the bound parameters .
+     */
+    private final Object[] parameters;
+    /**
+     * int hash code computed once .
+     */
+    private final int hash;
+
+    /**
+     * Constructor .
+     * @param sql the SQL text .
+     * @param parameters the bound parameters .
+     * */
+    DBResultKey(final String sql, final Object[] parameters) {
+
+        this.sql = sql;
+        this.parameters = parameters.clone();
+        this.hash = 31 * sql.hashCode() + Arrays.deepHashCode(parameters);
+    }
+
+    /**
+     * Compare two keys .
+     * @param other the other key .
+     * @return true if both have the same SQL and parameters .
+     * */
+    @Override
+    public boolean equals(final Object other) {
+
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof DBResultKey)) {
+            return false;
+        }
+        DBResultKey key = (DBResultKey) other;
+        return hash == key.hash && sql.equals(key.sql)
+            && Arrays.deepEquals(parameters, key.parameters);
+    }
+
+    /**
+     * Get the hash code .
+     * @return hash code .
+     * */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
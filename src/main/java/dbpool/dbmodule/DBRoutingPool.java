@@ -0,0 +1,282 @@
+package dbpool.dbmodule;
+
+import dbpool.utils.Constants.DBCPMessageException;
+import dbpool.utils.DBPoolTimeoutException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes borrows between a primary pool and its read replica pools.
+ * Writes and reads that must see the latest data go to the primary, read
+ * only borrows go to the replica with the least outstanding borrows. A
+ * read waits a short time on each replica, then tries the next one and
+ * finally the primary with its own timeout. A replica that fails to lend
+ * a connection is ejected for a while and then tried again, while every
+ * replica is ejected reads go to the primary. A replica that only timed
+ * out because all its connections were busy is not ejected .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBRoutingPool {
+
+    /**
+     * long default ejection time in milliseconds .
+     */
+    private static final long DEFAULT_EJECTION_TIME = 30000;
+
+    /**
+     * long default time a read waits on each replica in milliseconds .
+     */
+    private static final long DEFAULT_REPLICA_TIMEOUT = 250;
+
+    /**
+     * DBConnectionPool the primary pool .
+     */
+    private final DBConnectionPool primary;
+
+    /**
+     * DBReplica[] the replica pools .
+     */
+    private final DBReplica[] replicas;
+
+    /**
+     * long time a failing replica is left out in nanoseconds .
+     */
+    private final long ejectionNanos;
+
+    /**
+     * long time a read waits on each replica in nanoseconds .
+     */
+    private final long replicaTimeoutNanos;
+
+    /**
+     * Constructor, failing replicas are left out for 30 seconds and a read
+     * waits 250 milliseconds on each replica .
+     * @param primary the primary pool .
+     * @param replicas the replica pools .
+     * */
+    public DBRoutingPool(final DBConnectionPool primary,
+        final List<DBConnectionPool> replicas) {
+
+        this(primary, replicas, DEFAULT_EJECTION_TIME, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructor, a read waits 250 milliseconds on each replica .
+     * @param primary the primary pool .
+     * @param replicas the replica pools .
+     * @param ejectionTime time a failing replica is left out .
+     * @param unit the time unit of the ejection time .
+     * */
+    public DBRoutingPool(final DBConnectionPool primary,
+        final List<DBConnectionPool> replicas, final long ejectionTime,
+        final TimeUnit unit) {
+
+        this(primary, replicas, unit.toNanos(ejectionTime),
+            TimeUnit.MILLISECONDS.toNanos(DEFAULT_REPLICA_TIMEOUT),
+            TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Constructor .
+     * @param primary the primary pool .
+     * @param replicas the replica pools .
+     * @param ejectionTime time a failing replica is left out .
+     * @param replicaTimeout time a read waits on each replica before the
+     *        next one is tried .
+     * @param unit the time unit of both times .
+     * */
+    public DBRoutingPool(final DBConnectionPool primary,
+        final List<DBConnectionPool> replicas, final long ejectionTime,
+        final long replicaTimeout, final TimeUnit unit) {
+
+        if (ejectionTime < 0 || replicaTimeout < 0) {
+            throw new IllegalArgumentException(
+                DBCPMessageException.MSG_INVALID_ROUTING_TIMES);
+        }
+        this.primary = primary;
+        this.ejectionNanos = unit.toNanos(ejectionTime);
+        this.replicaTimeoutNanos = unit.toNanos(replicaTimeout);
+        this.replicas = new DBReplica[replicas.size()];
+        for (int i = 0; i < this.replicas.length; i++) {
+            this.replicas[i] = new DBReplica(replicas.get(i));
+        }
+    }
+
+    /**
+     * Borrow a connection of the primary pool .
+     * @throws SQLException sql exception .
+     * @return wrapped connection .
+     * */
+    public Connection getConnection() throws SQLException {
+        return primary.getConnection();
+    }
+
+    /**
+     * Borrow a connection of the primary pool, or of a replica for a read
+     * only borrow .
+     * @param readOnly true if the borrower only reads .
+     * @throws SQLException sql exception .
+     * @return wrapped connection .
+     * */
+    public Connection getConnection(final boolean readOnly)
+        throws SQLException {
+
+        return readOnly ? getReadOnlyConnection() : primary.getConnection();
+    }
+
+    /**
+     * Borrow a connection of the healthy replica with the least
+     * outstanding borrows. A replica that fails is ejected and a replica
+     * that stays busy for the replica timeout is skipped, the next one is
+     * tried and the primary is used once no replica is left .
+     * @throws SQLException sql exception .
+     * @return wrapped connection .
+     * */
+    public Connection getReadOnlyConnection() throws SQLException {
+
+        long now = System.nanoTime();
+        boolean[] tried = new boolean[replicas.length];
+        for (;;) {
+            int index = selectReplica(now, tried);
+            if (index < 0) {
+                return primary.getConnection();
+            }
+
+            DBReplica replica = replicas[index];
+            try {
+                Connection connection = replica.pool.getConnection(
+                    replicaTimeoutNanos, TimeUnit.NANOSECONDS);
+                replica.ejectedUntilNanos = 0;
+                return connection;
+            } catch (DBPoolTimeoutException exception) {
+                if (exception.getCause() != null) {
+                    replica.eject(System.nanoTime() + ejectionNanos);
+                }
+                // a busy replica is not broken, it is only skipped
+            } catch (SQLException exception) {
+                replica.eject(System.nanoTime() + ejectionNanos);
+            }
+            tried[index] = true;
+            now = System.nanoTime();
+        }
+    }
+
+    /**
+     * Pick the healthy replica with the least outstanding borrows, ties
+     * are broken from a random start so they share the load .
+     * @param now the current time in nanoseconds .
+     * @param tried the replicas already tried, by index .
+     * @return the replica index or -1 if none is left .
+     * */
+    private int selectReplica(final long now, final boolean[] tried) {
+
+        int count = replicas.length;
+        if (count == 0) {
+            return -1;
+        }
+
+        int start = ThreadLocalRandom.current().nextInt(count);
+        int selected = -1;
+        int leastOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % count;
+            DBReplica replica = replicas[index];
+            if (tried[index] || !replica.isHealthy(now)) {
+                continue;
+            }
+            int outstanding = replica.pool.getBorrowedConnections()
+                + replica.pool.getPendingThreads();
+            if (outstanding < leastOutstanding) {
+                leastOutstanding = outstanding;
+                selected = index;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Get the primary pool .
+     * @return the primary pool .
+     * */
+    public DBConnectionPool getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Get the number of replicas not ejected .
+     * @return healthy replicas .
+     * */
+    public int getHealthyReplicas() {
+
+        long now = System.nanoTime();
+        int healthy = 0;
+        for (DBReplica replica : replicas) {
+            if (replica.isHealthy(now)) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * Shut down the primary and every replica pool .
+     * */
+    public void shutdown() {
+
+        primary.shutdown();
+        for (DBReplica replica : replicas) {
+            replica.pool.shutdown();
+        }
+    }
+
+    /**
+     * Replica pool with its ejection state .
+     * @author cgcastro
+     * @version 1.0
+     */
+    private static final class DBReplica {
+
+        /**
+         * DBConnectionPool the replica pool .
+         */
+        private final DBConnectionPool pool;
+
+        /**
+         * long time the ejection ends in nanoseconds, 0 if healthy .
+         */
+        private volatile long ejectedUntilNanos;
+
+        /**
+         * Constructor .
+         * @param pool the replica pool .
+         * */
+        DBReplica(final DBConnectionPool pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * Leave the replica out until the given time .
+         * @param until the time the ejection ends in nanoseconds .
+         * */
+        void eject(final long until) {
+            // 0 is reserved for a healthy replica
+            ejectedUntilNanos = until == 0 ? 1 : until;
+        }
+
+        /**
+         * Check if the replica can take borrows .
+         * @param now the current time in nanoseconds .
+         * @return true if it is not ejected .
+         * */
+        boolean isHealthy(final long now) {
+
+            long until = ejectedUntilNanos;
+            return until == 0 || now - until >= 0;
+        }
+    }
+}
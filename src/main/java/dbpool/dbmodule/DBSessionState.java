@@ -0,0 +1,320 @@
+package dbpool.dbmodule;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Objects;
+
+/**
+ * Session state of one physical connection kept on the client side. The
+ * getters are answered without a round trip and a setter only reaches the
+ * driver when the value changes. A field that no longer matches the
+ * configured default is marked dirty, and on return only the dirty fields
+ * are set back. State changed with plain SQL instead of the Connection
+ * methods is not seen .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBSessionState {
+
+    /**
+     * int dirty bit of the auto-commit mode .
+     */
+    private static final int DIRTY_AUTO_COMMIT = 1;
+    /**
+     * int dirty bit of the transaction isolation .
+     */
+    private static final int DIRTY_TRANSACTION_ISOLATION = 2;
+    /**
+     * int dirty bit of the read-only mode .
+     */
+    private static final int DIRTY_READ_ONLY = 4;
+    /**
+     * int dirty bit of the catalog .
+     */
+    private static final int DIRTY_CATALOG = 8;
+    /**
+     * int dirty bit of the schema .
+     */
+    private static final int DIRTY_SCHEMA = 16;
+
+    /**
+     * Connection the physical connection .
+     */
+    private final Connection connection;
+    /**
+     * boolean auto-commit mode set back on return .
+     */
+    private final boolean defaultAutoCommit;
+    /**
+     * int transaction isolation set back on return .
+     */
+    private final int defaultTransactionIsolation;
+    /**
+     * boolean read-only mode set back on return .
+     */
+    private final boolean defaultReadOnly;
+    /**
+     * String catalog set back on return .
+     */
+    private final String defaultCatalog;
+    /**
+     * String schema set back on return .
+     */
+    private final String defaultSchema;
+    /**
+     * boolean current auto-commit mode .
+     */
+    private boolean autoCommit;
+    /**
+     * int current transaction isolation .
+     */
+    private int transactionIsolation;
+    /**
+     * boolean current read-only mode .
+     */
+    private boolean readOnly;
+    /**
+     * String current catalog .
+     */
+    private String catalog;
+    /**
+     * String current schema .
+     */
+    private String schema;
+    /**
+     * int fields that differ from their default .
+     */
+    private int dirtyBits;
+
+    /**
+     * Constructor, applies the configured defaults to a new connection and
+     * reads the ones left to the driver .
+     * @param connection the physical connection .
+     * @param configuration the pool configuration .
+     * @throws SQLException if the connection rejects a default .
+     * */
+    DBSessionState(final Connection connection,
+        final DBPoolConfiguration configuration) throws SQLException {
+
+        this.connection = connection;
+
+        this.defaultAutoCommit = configuration.isAutoCommit();
+        if (connection.getAutoCommit() != defaultAutoCommit) {
+            connection.setAutoCommit(defaultAutoCommit);
+        }
+
+        this.defaultReadOnly = configuration.isReadOnly();
+        if (connection.isReadOnly() != defaultReadOnly) {
+            connection.setReadOnly(defaultReadOnly);
+        }
+
+        if (configuration.getTransactionIsolation() == -1) {
+            this.defaultTransactionIsolation =
+                connection.getTransactionIsolation();
+        } else {
+            this.defaultTransactionIsolation =
+                configuration.getTransactionIsolation();
+            connection.setTransactionIsolation(defaultTransactionIsolation);
+        }
+
+        if (configuration.getCatalog() == null) {
+            this.defaultCatalog = connection.getCatalog();
+        } else {
+            this.defaultCatalog = configuration.getCatalog();
+            connection.setCatalog(defaultCatalog);
+        }
+
+        if (configuration.getSchema() == null) {
+            this.defaultSchema = readSchema(connection);
+        } else {
+            this.defaultSchema = configuration.getSchema();
+            connection.setSchema(defaultSchema);
+        }
+
+        this.autoCommit = defaultAutoCommit;
+        this.transactionIsolation = defaultTransactionIsolation;
+        this.readOnly = defaultReadOnly;
+        this.catalog = defaultCatalog;
+        this.schema = defaultSchema;
+    }
+
+    /**
+     * Read the schema of a connection, drivers without schemas have none .
+     * @param connection the physical connection .
+     * @throws SQLException sql exception .
+     * @return the schema or null .
+     * */
+    private static String readSchema(final Connection connection)
+        throws SQLException {
+
+        try {
+            return connection.getSchema();
+        } catch (SQLFeatureNotSupportedException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Mark a field dirty or clean after a change .
+     * @param bit the dirty bit of the field .
+     * @param isDefault true if the field is back to its default .
+     * */
+    private void markDirty(final int bit, final boolean isDefault) {
+
+        if (isDefault) {
+            dirtyBits &= ~bit;
+        } else {
+            dirtyBits |= bit;
+        }
+    }
+
+    /**
+     * Get the auto-commit mode .
+     * @return the auto-commit mode .
+     * */
+    boolean getAutoCommit() {
+        return autoCommit;
+    }
+
+    /**
+     * Set the auto-commit mode .
+     * @param value the auto-commit mode .
+     * @throws SQLException sql exception .
+     * */
+    void setAutoCommit(final boolean value) throws SQLException {
+
+        if (value != autoCommit) {
+            connection.setAutoCommit(value);
+            autoCommit = value;
+            markDirty(DIRTY_AUTO_COMMIT, value == defaultAutoCommit);
+        }
+    }
+
+    /**
+     * Get the transaction isolation .
+     * @return the transaction isolation .
+     * */
+    int getTransactionIsolation() {
+        return transactionIsolation;
+    }
+
+    /**
+     * Set the transaction isolation .
+     * @param value the transaction isolation .
+     * @throws SQLException sql exception .
+     * */
+    void setTransactionIsolation(final int value) throws SQLException {
+
+        if (value != transactionIsolation) {
+            connection.setTransactionIsolation(value);
+            transactionIsolation = value;
+            markDirty(DIRTY_TRANSACTION_ISOLATION,
+                value == defaultTransactionIsolation);
+        }
+    }
+
+    /**
+     * Get the read-only mode .
+     * @return the read-only mode .
+     * */
+    boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Set the read-only mode .
+     * @param value the read-only mode .
+     * @throws SQLException sql exception .
+     * */
+    void setReadOnly(final boolean value) throws SQLException {
+
+        if (value != readOnly) {
+            connection.setReadOnly(value);
+            readOnly = value;
+            markDirty(DIRTY_READ_ONLY, value == defaultReadOnly);
+        }
+    }
+
+    /**
+     * Get the catalog .
+     * @return the catalog .
+     * */
+    String getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Set the catalog .
+     * @param value the catalog .
+     * @throws SQLException sql exception .
+     * */
+    void setCatalog(final String value) throws SQLException {
+
+        if (!Objects.equals(value, catalog)) {
+            connection.setCatalog(value);
+            catalog = value;
+            markDirty(DIRTY_CATALOG, Objects.equals(value, defaultCatalog));
+        }
+    }
+
+    /**
+     * Get the schema .
+     * @return the schema .
+     * */
+    String getSchema() {
+        return schema;
+    }
+
+    /**
+     * Set the schema .
+     * @param value the schema .
+     * @throws SQLException sql exception .
+     * */
+    void setSchema(final String value) throws SQLException {
+
+        if (!Objects.equals(value, schema)) {
+            connection.setSchema(value);
+            schema = value;
+            markDirty(DIRTY_SCHEMA, Objects.equals(value, defaultSchema));
+        }
+    }
+
+    /**
+     * Prepare the connection for the next borrower: an open transaction is
+     * rolled back and only the dirty fields are set back to their
+     * default .
+     * @throws SQLException if the connection could not be reset .
+     * */
+    void reset() throws SQLException {
+
+        if (!autoCommit) {
+            connection.rollback();
+        }
+        if (dirtyBits == 0) {
+            return;
+        }
+
+        if ((dirtyBits & DIRTY_AUTO_COMMIT) != 0) {
+            connection.setAutoCommit(defaultAutoCommit);
+            autoCommit = defaultAutoCommit;
+        }
+        if ((dirtyBits & DIRTY_TRANSACTION_ISOLATION) != 0) {
+            connection.setTransactionIsolation(defaultTransactionIsolation);
+            transactionIsolation = defaultTransactionIsolation;
+        }
+        if ((dirtyBits & DIRTY_READ_ONLY) != 0) {
+            connection.setReadOnly(defaultReadOnly);
+            readOnly = defaultReadOnly;
+        }
+        if ((dirtyBits & DIRTY_CATALOG) != 0) {
+            connection.setCatalog(defaultCatalog);
+            catalog = defaultCatalog;
+        }
+        if ((dirtyBits & DIRTY_SCHEMA) != 0) {
+            connection.setSchema(defaultSchema);
+            schema = defaultSchema;
+        }
+        dirtyBits = 0;
+    }
+}
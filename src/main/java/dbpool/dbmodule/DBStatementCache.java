@@ -0,0 +1,189 @@
+package dbpool.dbmodule;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of the idle prepared statements of one physical connection. A
+ * statement is taken out of the cache while it is in use and put back by
+ * its logical close, so it is never shared. When the cache is full the
+ * least recently used statement is closed. Physical statements are always
+ * closed outside the lock .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBStatementCache {
+
+    /**
+     * int max idle statements kept .
+     */
+    private final int maxSize;
+    /**
+     * LinkedHashMap idle statements, least recently used first .
+     */
+    private final LinkedHashMap<DBStatementKey, PreparedStatement> statements;
+    /**
+     * LongAdder statements found in the cache, shared by the pool .
+     */
+    private final LongAdder hits;
+    /**
+     * LongAdder statements not found in the cache, shared by the pool .
+     */
+    private final LongAdder misses;
+    /**
+     * LongAdder statements closed to make room, shared by the pool .
+     */
+    private final LongAdder evictions;
+    /**
+     * boolean true once the physical connection is closed .
+     */
+    private boolean closed;
+    /**
+     * ReentrantLock guards the idle statements, it parks instead of
+     * pinning the carrier of a virtual thread .
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * Constructor .
+     * @param maxSize max idle statements kept .
+     * @param hits counter of statements found in the cache .
+     * @param misses counter of statements not found in the cache .
+     * @param evictions counter of statements closed to make room .
+     * */
+    DBStatementCache(final int maxSize, final LongAdder hits,
+        final LongAdder misses, final LongAdder evictions) {
+
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.statements =
+            new LinkedHashMap<DBStatementKey, PreparedStatement>();
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * Take an idle statement out of the cache .
+     * @param key the statement key .
+     * @return the statement or null if the caller has to prepare it .
+     * */
+    PreparedStatement take(final DBStatementKey key) {
+
+        PreparedStatement statement;
+        lock.lock();
+        try {
+            statement = statements.remove(key);
+        } finally {
+            lock.unlock();
+        }
+
+        if (statement == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return statement;
+    }
+
+    /**
+     * Put a statement back in the cache once its parameters and batch are
+     * cleared, it is closed instead if it cannot be reset or the
+     * connection is closed .
+     * @param key the statement key .
+     * @param statement the physical statement .
+     * */
+    void release(final DBStatementKey key,
+        final PreparedStatement statement) {
+
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+        } catch (SQLException exception) {
+            closeStatement(statement);
+            return;
+        }
+
+        PreparedStatement displaced;
+        PreparedStatement evicted = null;
+        lock.lock();
+        try {
+            if (closed) {
+                displaced = statement;
+            } else {
+                // a second statement with the same key replaces the first
+                displaced = statements.put(key, statement);
+                if (statements.size() > maxSize) {
+                    Iterator<Map.Entry<DBStatementKey, PreparedStatement>>
+                        eldest = statements.entrySet().iterator();
+                    evicted = eldest.next().getValue();
+                    eldest.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (displaced != null) {
+            closeStatement(displaced);
+        }
+        if (evicted != null) {
+            evictions.increment();
+            closeStatement(evicted);
+        }
+    }
+
+    /**
+     * Close every idle statement, statements in use are closed when
+     * released .
+     * */
+    void close() {
+
+        PreparedStatement[] idle;
+        lock.lock();
+        try {
+            closed = true;
+            idle = statements.values().toArray(
+                new PreparedStatement[statements.size()]);
+            statements.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        for (PreparedStatement statement : idle) {
+            closeStatement(statement);
+        }
+    }
+
+    /**
+     * Get the number of idle statements .
+     * @return idle statements .
+     * */
+    int size() {
+
+        lock.lock();
+        try {
+            return statements.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Close a physical statement ignoring failures .
+     * @param statement the physical statement .
+     * */
+    private static void closeStatement(final PreparedStatement statement) {
+
+        try {
+            statement.close();
+        } catch (SQLException exception) {
+            // the statement is discarded anyway
+        }
+    }
+}
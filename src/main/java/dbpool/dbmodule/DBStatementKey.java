@@ -0,0 +1,154 @@
+package dbpool.dbmodule;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Key of a cached prepared statement: the SQL text plus every option
+ * given to Connection.prepareStatement, two keys are equal only if the
+ * driver would prepare the same statement for both .
+ * @author cgcastro
+ * @version 1.0
+ */
+final class DBStatementKey {
+
+    /**
+     * int value of an option not given to prepareStatement .
+     */
+    static final int UNSET = -1;
+
+    /**
+     * String the SQL text .
+     */
+    private final String sql;
+    /**
+     * int result set type .
+     */
+    private final int resultSetType;
+    /**
+     * int result set concurrency .
+     */
+    private final int resultSetConcurrency;
+    /**
+     * int result set holdability or UNSET .
+     */
+    private final int resultSetHoldability;
+    /**
+     * int auto generated keys flag or UNSET .
+     */
+    private final int autoGeneratedKeys;
+    /**
+     * int[] generated key column indexes or null .
+     */
+    private final int[] columnIndexes;
+    /**
+     * String[] generated key column names or null .
+     */
+    private final String[] columnNames;
+    /**
+     * int hash code computed once .
+     */
+    private final int hash;
+
+    /**
+     * Constructor for a plain prepared statement .
+     * @param sql the SQL text .
+     * */
+    DBStatementKey(final String sql) {
+        this(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY,
+            UNSET, UNSET, null, null);
+    }
+
+    /**
+     * Constructor .
+     * @param sql the SQL text .
+     * @param resultSetType result set type .
+     * @param resultSetConcurrency result set concurrency .
+     * @param resultSetHoldability result set holdability or UNSET .
+     * @param autoGeneratedKeys auto generated keys flag or UNSET .
+     * @param columnIndexes generated key column indexes or null .
+     * @param columnNames generated key column names or null .
+     * */
+    DBStatementKey(final String sql, final int resultSetType,
+        final int resultSetConcurrency, final int resultSetHoldability,
+        final int autoGeneratedKeys, final int[] columnIndexes,
+        final String[] columnNames) {
+
+        this.sql = sql;
+        this.resultSetType = resultSetType;
+        this.resultSetConcurrency = resultSetConcurrency;
+        this.resultSetHoldability = resultSetHoldability;
+        this.autoGeneratedKeys = autoGeneratedKeys;
+        this.columnIndexes =
+            columnIndexes == null ? null : columnIndexes.clone();
+        this.columnNames = columnNames == null ? null : columnNames.clone();
+
+        int result = sql == null ? 0 : sql.hashCode();
+        result = 31 * result + resultSetType;
+        result = 31 * result + resultSetConcurrency;
+        result = 31 * result + resultSetHoldability;
+        result = 31 * result + autoGeneratedKeys;
+        result = 31 * result + Arrays.hashCode(columnIndexes);
+        result = 31 * result + Arrays.hashCode(columnNames);
+        this.hash = result;
+    }
+
+    /**
+     * Prepare a new physical statement with the options of the key .
+     * @param connection the physical connection .
+     * @throws SQLException sql exception .
+     * @return the prepared statement .
+     * */
+    PreparedStatement prepare(final Connection connection)
+        throws SQLException {
+
+        if (columnIndexes != null) {
+            return connection.prepareStatement(sql, columnIndexes);
+        }
+        if (columnNames != null) {
+            return connection.prepareStatement(sql, columnNames);
+        }
+        if (autoGeneratedKeys != UNSET) {
+            return connection.prepareStatement(sql, autoGeneratedKeys);
+        }
+        if (resultSetHoldability != UNSET) {
+            return connection.prepareStatement(sql, resultSetType,
+                resultSetConcurrency, resultSetHoldability);
+        }
+        if (resultSetType != ResultSet.TYPE_FORWARD_ONLY
+            || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
+            return connection.prepareStatement(sql, resultSetType,
+                resultSetConcurrency);
+        }
+        return connection.prepareStatement(sql);
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof DBStatementKey)) {
+            return false;
+        }
+
+        DBStatementKey other = (DBStatementKey) object;
+        return hash == other.hash
+            && resultSetType == other.resultSetType
+            && resultSetConcurrency == other.resultSetConcurrency
+            && resultSetHoldability == other.resultSetHoldability
+            && autoGeneratedKeys == other.autoGeneratedKeys
+            && (sql == null ? other.sql == null : sql.equals(other.sql))
+            && Arrays.equals(columnIndexes, other.columnIndexes)
+            && Arrays.equals(columnNames, other.columnNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
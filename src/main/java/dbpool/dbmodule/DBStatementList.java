@@ -0,0 +1,123 @@
+package dbpool.dbmodule;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Statements opened during the borrow of a pooled connection. Only the
+ * borrowing thread touches the list, so it is a plain growable array with
+ * no lock. Statements are usually closed in the reverse order they were
+ * opened, so removal scans from the tail and is constant time in the
+ * common case .
+ * @author cgcastro
+ * @version 1.0
+ */
+final class DBStatementList {
+
+    /**
+     * int initial capacity of the array .
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Statement[] the open statements, oldest first .
+     */
+    private Statement[] statements;
+    /**
+     * int number of statements in the array .
+     */
+    private int size;
+
+    /**
+     * Constructor .
+     * */
+    DBStatementList() {
+        this.statements = new Statement[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Add an opened statement. When the array is full the statements
+     * already closed are dropped before it grows, so the driver statements
+     * that cannot report their close do not pile up .
+     * @param statement the statement .
+     * */
+    void add(final Statement statement) {
+
+        if (size == statements.length) {
+            compact();
+            if (size == statements.length) {
+                Statement[] grown = new Statement[size << 1];
+                System.arraycopy(statements, 0, grown, 0, size);
+                statements = grown;
+            }
+        }
+        statements[size++] = statement;
+    }
+
+    /**
+     * Remove a statement closed by the borrower .
+     * @param statement the statement .
+     * */
+    void remove(final Statement statement) {
+
+        for (int i = size - 1; i >= 0; i--) {
+            if (statements[i] == statement) {
+                int moved = size - i - 1;
+                if (moved > 0) {
+                    System.arraycopy(statements, i + 1, statements, i, moved);
+                }
+                statements[--size] = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Close every statement left open by the borrower, newest first, and
+     * empty the list .
+     * @return the number of statements that were still open .
+     * */
+    int closeAll() {
+
+        int closed = 0;
+        while (size > 0) {
+            Statement statement = statements[--size];
+            statements[size] = null;
+            try {
+                if (!statement.isClosed()) {
+                    statement.close();
+                    closed++;
+                }
+            } catch (SQLException exception) {
+                // the statement is dropped, the connection reset decides
+                // whether the connection is still usable
+                closed++;
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * Drop the statements already closed .
+     * */
+    private void compact() {
+
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            Statement statement = statements[i];
+            boolean isClosed;
+            try {
+                isClosed = statement.isClosed();
+            } catch (SQLException exception) {
+                isClosed = false;
+            }
+            if (!isClosed) {
+                statements[kept++] = statement;
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            statements[i] = null;
+        }
+        size = kept;
+    }
+}
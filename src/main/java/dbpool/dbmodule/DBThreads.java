@@ -0,0 +1,26 @@
+package dbpool.dbmodule;
+
+/**
+ * Thread checks that depend on the running Java version. This class is
+ * the Java 8 version, the multi-release jar holds a Java 21 version under
+ * META-INF/versions/21 that recognises virtual threads .
+ * @author cgcastro
+ * @version 1.0
+ */
+final class DBThreads {
+
+    /**
+     * Private constructor .
+     * */
+    private DBThreads() {
+    }
+
+    /**
+     * Check if a thread is a virtual thread .
+     * @param thread the thread .
+     * @return always false before Java 21 .
+     * */
+    static boolean isVirtual(final Thread thread) {
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package dbpool.dbmodule;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting the rate of connection creations, so a database
+ * coming back is not hit by every missing connection at once. The bucket
+ * holds one second of tokens, which allows a burst of that size after a
+ * quiet period. It is used by the refill worker only and needs no lock .
+ * @author cgcastro
+ * @version 1.0
+ */
+final class DBTokenBucket {
+
+    /**
+     * double tokens added per nanosecond .
+     */
+    private final double tokensPerNano;
+    /**
+     * double max tokens held .
+     */
+    private final double capacity;
+    /**
+     * double tokens available .
+     */
+    private double tokens;
+    /**
+     * long time of the last refill in nanoseconds .
+     */
+    private long refillNanos;
+
+    /**
+     * Constructor, the bucket starts full .
+     * @param permitsPerSecond creations allowed per second .
+     * */
+    DBTokenBucket(final int permitsPerSecond) {
+
+        this.tokensPerNano =
+            permitsPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+        this.capacity = permitsPerSecond;
+        this.tokens = capacity;
+        this.refillNanos = System.nanoTime();
+    }
+
+    /**
+     * Take a token, sleeping until one is available .
+     * @throws InterruptedException if interrupted while sleeping .
+     * */
+    void acquire() throws InterruptedException {
+
+        long now = System.nanoTime();
+        tokens = Math.min(capacity,
+            tokens + (now - refillNanos) * tokensPerNano);
+        refillNanos = now;
+        if (tokens < 1) {
+            long waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            tokens += waitNanos * tokensPerNano;
+            refillNanos = now + waitNanos;
+        }
+        tokens -= 1;
+    }
+}
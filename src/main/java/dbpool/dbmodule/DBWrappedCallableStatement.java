@@ -0,0 +1,1507 @@
+package dbpool.dbmodule;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * This class is for Wrapping SQL CallableStatement, callable statements
+ * are not cached so a close always closes the SQL CallableStatement .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBWrappedCallableStatement extends DBWrappedPreparedStatement
+    implements CallableStatement {
+
+    /**
+     * CallableStatement the SQL CallableStatement .
+     */
+    private final CallableStatement callableStatement;
+
+    /**
+     * Constructor .
+     * @param connection the wrapped connection .
+     * @param callableStatement SQL CallableStatement .
+     * @param openStatements open statements of the borrow .
+     * */
+    DBWrappedCallableStatement(final Connection connection,
+        final CallableStatement callableStatement,
+        final DBStatementList openStatements) {
+
+        super(connection, callableStatement, null, null, openStatements);
+        this.callableStatement = callableStatement;
+
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param sqlType the sql type .
+     * */
+    @Override
+    public void registerOutParameter(final int parameterIndex,
+        final int sqlType) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterIndex, sqlType);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param sqlType the sql type .
+     * @param scale the scale .
+     * */
+    @Override
+    public void registerOutParameter(final int parameterIndex,
+        final int sqlType, final int scale) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterIndex, sqlType, scale);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @return was null .
+     * */
+    @Override
+    public boolean wasNull() throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.wasNull();
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return string .
+     * */
+    @Override
+    public String getString(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getString(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return boolean .
+     * */
+    @Override
+    public boolean getBoolean(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getBoolean(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return byte .
+     * */
+    @Override
+    public byte getByte(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getByte(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return short .
+     * */
+    @Override
+    public short getShort(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getShort(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return int .
+     * */
+    @Override
+    public int getInt(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getInt(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return long .
+     * */
+    @Override
+    public long getLong(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getLong(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return float .
+     * */
+    @Override
+    public float getFloat(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getFloat(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return double .
+     * */
+    @Override
+    public double getDouble(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getDouble(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param scale the scale .
+     * @return big decimal .
+     * */
+    @Override
+    public BigDecimal getBigDecimal(final int parameterIndex, final int scale)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getBigDecimal(parameterIndex, scale);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return bytes .
+     * */
+    @Override
+    public byte[] getBytes(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getBytes(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return date .
+     * */
+    @Override
+    public Date getDate(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getDate(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return time .
+     * */
+    @Override
+    public Time getTime(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getTime(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return timestamp .
+     * */
+    @Override
+    public Timestamp getTimestamp(final int parameterIndex)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getTimestamp(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return object .
+     * */
+    @Override
+    public Object getObject(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getObject(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return big decimal .
+     * */
+    @Override
+    public BigDecimal getBigDecimal(final int parameterIndex)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getBigDecimal(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param map the map .
+     * @return object .
+     * */
+    @Override
+    public Object getObject(final int parameterIndex,
+        final Map<String, Class<?>> map) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getObject(parameterIndex, map);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return ref .
+     * */
+    @Override
+    public Ref getRef(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getRef(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return blob .
+     * */
+    @Override
+    public Blob getBlob(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getBlob(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return clob .
+     * */
+    @Override
+    public Clob getClob(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getClob(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return array .
+     * */
+    @Override
+    public Array getArray(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getArray(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param cal the cal .
+     * @return date .
+     * */
+    @Override
+    public Date getDate(final int parameterIndex, final Calendar cal)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getDate(parameterIndex, cal);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param cal the cal .
+     * @return time .
+     * */
+    @Override
+    public Time getTime(final int parameterIndex, final Calendar cal)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getTime(parameterIndex, cal);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param cal the cal .
+     * @return timestamp .
+     * */
+    @Override
+    public Timestamp getTimestamp(final int parameterIndex, final Calendar cal)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getTimestamp(parameterIndex, cal);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param sqlType the sql type .
+     * @param typeName the type name .
+     * */
+    @Override
+    public void registerOutParameter(final int parameterIndex,
+        final int sqlType, final String typeName) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterIndex, sqlType,
+            typeName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param sqlType the sql type .
+     * */
+    @Override
+    public void registerOutParameter(final String parameterName,
+        final int sqlType) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterName, sqlType);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param sqlType the sql type .
+     * @param scale the scale .
+     * */
+    @Override
+    public void registerOutParameter(final String parameterName,
+        final int sqlType, final int scale) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterName, sqlType, scale);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param sqlType the sql type .
+     * @param typeName the type name .
+     * */
+    @Override
+    public void registerOutParameter(final String parameterName,
+        final int sqlType, final String typeName) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterName, sqlType,
+            typeName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return u r l .
+     * */
+    @Override
+    public URL getURL(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getURL(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param val the val .
+     * */
+    @Override
+    public void setURL(final String parameterName, final URL val)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setURL(parameterName, val);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param sqlType the sql type .
+     * */
+    @Override
+    public void setNull(final String parameterName, final int sqlType)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setNull(parameterName, sqlType);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setBoolean(final String parameterName, final boolean x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setBoolean(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setByte(final String parameterName, final byte x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setByte(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setShort(final String parameterName, final short x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setShort(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setInt(final String parameterName, final int x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setInt(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setLong(final String parameterName, final long x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setLong(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setFloat(final String parameterName, final float x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setFloat(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setDouble(final String parameterName, final double x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setDouble(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setBigDecimal(final String parameterName, final BigDecimal x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setBigDecimal(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setString(final String parameterName, final String x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setString(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setBytes(final String parameterName, final byte[] x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setBytes(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setDate(final String parameterName, final Date x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setDate(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setTime(final String parameterName, final Time x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setTime(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setTimestamp(final String parameterName, final Timestamp x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setTimestamp(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void setAsciiStream(final String parameterName, final InputStream x,
+        final int length) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setAsciiStream(parameterName, x, length);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void setBinaryStream(final String parameterName,
+        final InputStream x, final int length) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setBinaryStream(parameterName, x, length);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * @param scale the scale .
+     * */
+    @Override
+    public void setObject(final String parameterName, final Object x,
+        final int targetSqlType, final int scale) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setObject(parameterName, x, targetSqlType, scale);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * */
+    @Override
+    public void setObject(final String parameterName, final Object x,
+        final int targetSqlType) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setObject(parameterName, x, targetSqlType);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setObject(final String parameterName, final Object x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setObject(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void setCharacterStream(final String parameterName,
+        final Reader reader, final int length) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setCharacterStream(parameterName, reader, length);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param cal the cal .
+     * */
+    @Override
+    public void setDate(final String parameterName, final Date x,
+        final Calendar cal) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setDate(parameterName, x, cal);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param cal the cal .
+     * */
+    @Override
+    public void setTime(final String parameterName, final Time x,
+        final Calendar cal) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setTime(parameterName, x, cal);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param cal the cal .
+     * */
+    @Override
+    public void setTimestamp(final String parameterName, final Timestamp x,
+        final Calendar cal) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setTimestamp(parameterName, x, cal);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param sqlType the sql type .
+     * @param typeName the type name .
+     * */
+    @Override
+    public void setNull(final String parameterName, final int sqlType,
+        final String typeName) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setNull(parameterName, sqlType, typeName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return string .
+     * */
+    @Override
+    public String getString(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getString(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return boolean .
+     * */
+    @Override
+    public boolean getBoolean(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getBoolean(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return byte .
+     * */
+    @Override
+    public byte getByte(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getByte(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return short .
+     * */
+    @Override
+    public short getShort(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getShort(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return int .
+     * */
+    @Override
+    public int getInt(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getInt(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return long .
+     * */
+    @Override
+    public long getLong(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getLong(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return float .
+     * */
+    @Override
+    public float getFloat(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getFloat(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return double .
+     * */
+    @Override
+    public double getDouble(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getDouble(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return bytes .
+     * */
+    @Override
+    public byte[] getBytes(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getBytes(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return date .
+     * */
+    @Override
+    public Date getDate(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getDate(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return time .
+     * */
+    @Override
+    public Time getTime(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getTime(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return timestamp .
+     * */
+    @Override
+    public Timestamp getTimestamp(final String parameterName)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getTimestamp(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return object .
+     * */
+    @Override
+    public Object getObject(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getObject(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return big decimal .
+     * */
+    @Override
+    public BigDecimal getBigDecimal(final String parameterName)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getBigDecimal(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param map the map .
+     * @return object .
+     * */
+    @Override
+    public Object getObject(final String parameterName,
+        final Map<String, Class<?>> map) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getObject(parameterName, map);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return ref .
+     * */
+    @Override
+    public Ref getRef(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getRef(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return blob .
+     * */
+    @Override
+    public Blob getBlob(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getBlob(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return clob .
+     * */
+    @Override
+    public Clob getClob(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getClob(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return array .
+     * */
+    @Override
+    public Array getArray(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getArray(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param cal the cal .
+     * @return date .
+     * */
+    @Override
+    public Date getDate(final String parameterName, final Calendar cal)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getDate(parameterName, cal);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param cal the cal .
+     * @return time .
+     * */
+    @Override
+    public Time getTime(final String parameterName, final Calendar cal)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getTime(parameterName, cal);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param cal the cal .
+     * @return timestamp .
+     * */
+    @Override
+    public Timestamp getTimestamp(final String parameterName,
+        final Calendar cal) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getTimestamp(parameterName, cal);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return u r l .
+     * */
+    @Override
+    public URL getURL(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getURL(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return row id .
+     * */
+    @Override
+    public RowId getRowId(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getRowId(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return row id .
+     * */
+    @Override
+    public RowId getRowId(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getRowId(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setRowId(final String parameterName, final RowId x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setRowId(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param value the value .
+     * */
+    @Override
+    public void setNString(final String parameterName, final String value)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setNString(parameterName, value);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param value the value .
+     * @param length the length .
+     * */
+    @Override
+    public void setNCharacterStream(final String parameterName,
+        final Reader value, final long length) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setNCharacterStream(parameterName, value, length);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param value the value .
+     * */
+    @Override
+    public void setNClob(final String parameterName, final NClob value)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setNClob(parameterName, value);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void setClob(final String parameterName, final Reader reader,
+        final long length) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setClob(parameterName, reader, length);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param inputStream the input stream .
+     * @param length the length .
+     * */
+    @Override
+    public void setBlob(final String parameterName,
+        final InputStream inputStream, final long length) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setBlob(parameterName, inputStream, length);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void setNClob(final String parameterName, final Reader reader,
+        final long length) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setNClob(parameterName, reader, length);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return n clob .
+     * */
+    @Override
+    public NClob getNClob(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getNClob(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return n clob .
+     * */
+    @Override
+    public NClob getNClob(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getNClob(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param xmlObject the xml object .
+     * */
+    @Override
+    public void setSQLXML(final String parameterName, final SQLXML xmlObject)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setSQLXML(parameterName, xmlObject);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return s q l x m l .
+     * */
+    @Override
+    public SQLXML getSQLXML(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getSQLXML(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return s q l x m l .
+     * */
+    @Override
+    public SQLXML getSQLXML(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getSQLXML(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return n string .
+     * */
+    @Override
+    public String getNString(final int parameterIndex) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getNString(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return n string .
+     * */
+    @Override
+    public String getNString(final String parameterName) throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getNString(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return n character stream .
+     * */
+    @Override
+    public Reader getNCharacterStream(final int parameterIndex)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getNCharacterStream(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return n character stream .
+     * */
+    @Override
+    public Reader getNCharacterStream(final String parameterName)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getNCharacterStream(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @return character stream .
+     * */
+    @Override
+    public Reader getCharacterStream(final int parameterIndex)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getCharacterStream(parameterIndex);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @return character stream .
+     * */
+    @Override
+    public Reader getCharacterStream(final String parameterName)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getCharacterStream(parameterName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setBlob(final String parameterName, final Blob x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setBlob(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setClob(final String parameterName, final Clob x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setClob(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void setAsciiStream(final String parameterName, final InputStream x,
+        final long length) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setAsciiStream(parameterName, x, length);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void setBinaryStream(final String parameterName,
+        final InputStream x, final long length) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setBinaryStream(parameterName, x, length);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void setCharacterStream(final String parameterName,
+        final Reader reader, final long length) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setCharacterStream(parameterName, reader, length);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setAsciiStream(final String parameterName, final InputStream x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setAsciiStream(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * */
+    @Override
+    public void setBinaryStream(final String parameterName, final InputStream x)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setBinaryStream(parameterName, x);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param reader the reader .
+     * */
+    @Override
+    public void setCharacterStream(final String parameterName,
+        final Reader reader) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setCharacterStream(parameterName, reader);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param value the value .
+     * */
+    @Override
+    public void setNCharacterStream(final String parameterName,
+        final Reader value) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setNCharacterStream(parameterName, value);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param reader the reader .
+     * */
+    @Override
+    public void setClob(final String parameterName, final Reader reader)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setClob(parameterName, reader);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param inputStream the input stream .
+     * */
+    @Override
+    public void setBlob(final String parameterName,
+        final InputStream inputStream) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setBlob(parameterName, inputStream);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param reader the reader .
+     * */
+    @Override
+    public void setNClob(final String parameterName, final Reader reader)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setNClob(parameterName, reader);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param <T> the type .
+     * @param parameterIndex the parameter index .
+     * @param type the type .
+     * @return object .
+     * */
+    @Override
+    public <T> T getObject(final int parameterIndex, final Class<T> type)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getObject(parameterIndex, type);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param <T> the type .
+     * @param parameterName the parameter name .
+     * @param type the type .
+     * @return object .
+     * */
+    @Override
+    public <T> T getObject(final String parameterName, final Class<T> type)
+        throws SQLException {
+        checkIfIsOpen();
+        return callableStatement.getObject(parameterName, type);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * @param scaleOrLength the scale or length .
+     * */
+    @Override
+    public void setObject(final String parameterName, final Object x,
+        final SQLType targetSqlType, final int scaleOrLength)
+        throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setObject(parameterName, x, targetSqlType,
+            scaleOrLength);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * */
+    @Override
+    public void setObject(final String parameterName, final Object x,
+        final SQLType targetSqlType) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.setObject(parameterName, x, targetSqlType);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param sqlType the sql type .
+     * */
+    @Override
+    public void registerOutParameter(final int parameterIndex,
+        final SQLType sqlType) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterIndex, sqlType);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param sqlType the sql type .
+     * @param scale the scale .
+     * */
+    @Override
+    public void registerOutParameter(final int parameterIndex,
+        final SQLType sqlType, final int scale) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterIndex, sqlType, scale);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterIndex the parameter index .
+     * @param sqlType the sql type .
+     * @param typeName the type name .
+     * */
+    @Override
+    public void registerOutParameter(final int parameterIndex,
+        final SQLType sqlType, final String typeName) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterIndex, sqlType,
+            typeName);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param sqlType the sql type .
+     * */
+    @Override
+    public void registerOutParameter(final String parameterName,
+        final SQLType sqlType) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterName, sqlType);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param sqlType the sql type .
+     * @param scale the scale .
+     * */
+    @Override
+    public void registerOutParameter(final String parameterName,
+        final SQLType sqlType, final int scale) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterName, sqlType, scale);
+    }
+
+    /**
+     * Call for original CallableStatement method.
+     * @param parameterName the parameter name .
+     * @param sqlType the sql type .
+     * @param typeName the type name .
+     * */
+    @Override
+    public void registerOutParameter(final String parameterName,
+        final SQLType sqlType, final String typeName) throws SQLException {
+        checkIfIsOpen();
+        callableStatement.registerOutParameter(parameterName, sqlType,
+            typeName);
+    }
+}
@@ -0,0 +1,791 @@
+package dbpool.dbmodule;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.util.Calendar;
+
+/**
+ * This class is for Wrapping SQL PreparedStatement, a logical close of a
+ * cached statement returns it to the statement cache of the connection .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBWrappedPreparedStatement extends DBWrappedStatement
+    implements PreparedStatement {
+
+    /**
+     * PreparedStatement the SQL PreparedStatement .
+     */
+    private final PreparedStatement preparedStatement;
+    /**
+     * DBStatementKey key of the statement in the cache .
+     */
+    private final DBStatementKey statementKey;
+    /**
+     * DBStatementCache cache of the connection, null if not cached .
+     */
+    private final DBStatementCache statementCache;
+
+    /**
+     * Constructor .
+     * @param connection the wrapped connection .
+     * @param preparedStatement SQL PreparedStatement .
+     * @param statementKey key of the statement in the cache .
+     * @param statementCache cache of the connection, null if not cached .
+     * @param openStatements open statements of the borrow .
+     * */
+    DBWrappedPreparedStatement(final Connection connection,
+        final PreparedStatement preparedStatement,
+        final DBStatementKey statementKey,
+        final DBStatementCache statementCache,
+        final DBStatementList openStatements) {
+
+        super(connection, preparedStatement, openStatements);
+        this.preparedStatement = preparedStatement;
+        this.statementKey = statementKey;
+        this.statementCache = statementCache;
+
+    }
+
+    /**
+     * return the SQL PreparedStatement to the cache instead of closing it,
+     * its open result sets are closed and its settings set back first. A
+     * statement the borrower asked not to pool, or with close on
+     * completion or a cursor name, is closed instead .
+     * @throws SQLException the sql exception
+     * */
+    @Override
+    void closeStatement() throws SQLException {
+
+        if (statementCache == null || !isReusable()) {
+            preparedStatement.close();
+            return;
+        }
+        try {
+            closeResultSets();
+            restoreSettings();
+        } catch (SQLException exception) {
+            // a statement that cannot be reset is not cached again
+            preparedStatement.close();
+            return;
+        }
+        statementCache.release(statementKey, preparedStatement);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @return the result set .
+     * */
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        checkIfIsOpen();
+        return track(preparedStatement.executeQuery());
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @return execute update .
+     * */
+    @Override
+    public int executeUpdate() throws SQLException {
+        checkIfIsOpen();
+        return preparedStatement.executeUpdate();
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param sqlType the sql type .
+     * */
+    @Override
+    public void setNull(final int parameterIndex, final int sqlType)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setNull(parameterIndex, sqlType);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setBoolean(final int parameterIndex, final boolean x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setBoolean(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setByte(final int parameterIndex, final byte x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setByte(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setShort(final int parameterIndex, final short x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setShort(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setInt(final int parameterIndex, final int x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setInt(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setLong(final int parameterIndex, final long x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setLong(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setFloat(final int parameterIndex, final float x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setFloat(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setDouble(final int parameterIndex, final double x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setDouble(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setBigDecimal(final int parameterIndex, final BigDecimal x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setBigDecimal(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setString(final int parameterIndex, final String x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setString(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setBytes(final int parameterIndex, final byte[] x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setBytes(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setDate(final int parameterIndex, final java.sql.Date x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setDate(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setTime(final int parameterIndex, final java.sql.Time x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setTime(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setTimestamp(final int parameterIndex,
+        final java.sql.Timestamp x) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setTimestamp(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void setAsciiStream(final int parameterIndex,
+        final java.io.InputStream x, final int length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setAsciiStream(parameterIndex, x, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void setUnicodeStream(final int parameterIndex,
+        final java.io.InputStream x, final int length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setUnicodeStream(parameterIndex, x, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void setBinaryStream(final int parameterIndex,
+        final java.io.InputStream x, final int length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setBinaryStream(parameterIndex, x, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * */
+    @Override
+    public void clearParameters() throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.clearParameters();
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * */
+    @Override
+    public void setObject(final int parameterIndex, final Object x,
+        final int targetSqlType) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setObject(parameterIndex, x, targetSqlType);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setObject(final int parameterIndex, final Object x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setObject(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @return execute .
+     * */
+    @Override
+    public boolean execute() throws SQLException {
+        checkIfIsOpen();
+        return preparedStatement.execute();
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * */
+    @Override
+    public void addBatch() throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.addBatch();
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void setCharacterStream(final int parameterIndex,
+        final java.io.Reader reader, final int length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setCharacterStream(parameterIndex, reader, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setRef(final int parameterIndex, final Ref x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setRef(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setBlob(final int parameterIndex, final Blob x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setBlob(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setClob(final int parameterIndex, final Clob x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setClob(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setArray(final int parameterIndex, final Array x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setArray(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @return the result set meta data .
+     * */
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        checkIfIsOpen();
+        return preparedStatement.getMetaData();
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param cal the cal .
+     * */
+    @Override
+    public void setDate(final int parameterIndex, final java.sql.Date x,
+        final Calendar cal) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setDate(parameterIndex, x, cal);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param cal the cal .
+     * */
+    @Override
+    public void setTime(final int parameterIndex, final java.sql.Time x,
+        final Calendar cal) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setTime(parameterIndex, x, cal);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param cal the cal .
+     * */
+    @Override
+    public void setTimestamp(final int parameterIndex,
+        final java.sql.Timestamp x, final Calendar cal) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setTimestamp(parameterIndex, x, cal);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param sqlType the sql type .
+     * @param typeName the type name .
+     * */
+    @Override
+    public void setNull(final int parameterIndex, final int sqlType,
+        final String typeName) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setNull(parameterIndex, sqlType, typeName);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setURL(final int parameterIndex, final java.net.URL x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setURL(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @return the parameter meta data .
+     * */
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        checkIfIsOpen();
+        return preparedStatement.getParameterMetaData();
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setRowId(final int parameterIndex, final RowId x)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setRowId(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param value the value .
+     * */
+    @Override
+    public void setNString(final int parameterIndex, final String value)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setNString(parameterIndex, value);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param value the value .
+     * @param length the length .
+     * */
+    @Override
+    public void setNCharacterStream(final int parameterIndex,
+        final Reader value, final long length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setNCharacterStream(parameterIndex, value, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param value the value .
+     * */
+    @Override
+    public void setNClob(final int parameterIndex, final NClob value)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setNClob(parameterIndex, value);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void setClob(final int parameterIndex, final Reader reader,
+        final long length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setClob(parameterIndex, reader, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param inputStream the input stream .
+     * @param length the length .
+     * */
+    @Override
+    public void setBlob(final int parameterIndex, final InputStream inputStream,
+        final long length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setBlob(parameterIndex, inputStream, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void setNClob(final int parameterIndex, final Reader reader,
+        final long length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setNClob(parameterIndex, reader, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param xmlObject the xml object .
+     * */
+    @Override
+    public void setSQLXML(final int parameterIndex, final SQLXML xmlObject)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setSQLXML(parameterIndex, xmlObject);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * @param scaleOrLength the scale or length .
+     * */
+    @Override
+    public void setObject(final int parameterIndex, final Object x,
+        final int targetSqlType, final int scaleOrLength) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setObject(parameterIndex, x, targetSqlType,
+            scaleOrLength);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void setAsciiStream(final int parameterIndex,
+        final java.io.InputStream x, final long length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setAsciiStream(parameterIndex, x, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void setBinaryStream(final int parameterIndex,
+        final java.io.InputStream x, final long length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setBinaryStream(parameterIndex, x, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void setCharacterStream(final int parameterIndex,
+        final java.io.Reader reader, final long length) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setCharacterStream(parameterIndex, reader, length);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setAsciiStream(final int parameterIndex,
+        final java.io.InputStream x) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setAsciiStream(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * */
+    @Override
+    public void setBinaryStream(final int parameterIndex,
+        final java.io.InputStream x) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setBinaryStream(parameterIndex, x);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param reader the reader .
+     * */
+    @Override
+    public void setCharacterStream(final int parameterIndex,
+        final java.io.Reader reader) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setCharacterStream(parameterIndex, reader);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param value the value .
+     * */
+    @Override
+    public void setNCharacterStream(final int parameterIndex,
+        final Reader value) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setNCharacterStream(parameterIndex, value);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param reader the reader .
+     * */
+    @Override
+    public void setClob(final int parameterIndex, final Reader reader)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setClob(parameterIndex, reader);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param inputStream the input stream .
+     * */
+    @Override
+    public void setBlob(final int parameterIndex, final InputStream inputStream)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setBlob(parameterIndex, inputStream);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param reader the reader .
+     * */
+    @Override
+    public void setNClob(final int parameterIndex, final Reader reader)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setNClob(parameterIndex, reader);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * @param scaleOrLength the scale or length .
+     * */
+    @Override
+    public void setObject(final int parameterIndex, final Object x,
+        final SQLType targetSqlType, final int scaleOrLength)
+        throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setObject(parameterIndex, x, targetSqlType,
+            scaleOrLength);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @param parameterIndex the parameter index .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * */
+    @Override
+    public void setObject(final int parameterIndex, final Object x,
+        final SQLType targetSqlType) throws SQLException {
+        checkIfIsOpen();
+        preparedStatement.setObject(parameterIndex, x, targetSqlType);
+    }
+
+    /**
+     * Call for original PreparedStatement method.
+     * @return execute large update .
+     * */
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        checkIfIsOpen();
+        return preparedStatement.executeLargeUpdate();
+    }
+}
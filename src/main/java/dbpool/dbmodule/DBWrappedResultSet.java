@@ -0,0 +1,2110 @@
+package dbpool.dbmodule;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * This class is for Wrapping SQL ResultSet, it only hides the SQL
+ * statement behind the wrapped statement. The wrapped statement keeps the
+ * SQL ResultSet to close it, so the calls go straight to it .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBWrappedResultSet implements ResultSet {
+
+    /**
+     * ResultSet the SQL ResultSet .
+     */
+    private final ResultSet resultSet;
+    /**
+     * Statement the wrapped statement of the result set .
+     */
+    private final Statement statement;
+
+    /**
+     * Constructor .
+     * @param statement the wrapped statement .
+     * @param resultSet SQL ResultSet .
+     * */
+    DBWrappedResultSet(final Statement statement,
+        final ResultSet resultSet) {
+
+        this.statement = statement;
+        this.resultSet = resultSet;
+
+    }
+
+    /**
+     * Get the wrapped statement that produced the result set .
+     * @return the wrapped statement .
+     * */
+    @Override
+    public Statement getStatement() throws SQLException {
+        return statement;
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return next .
+     * */
+    @Override
+    public boolean next() throws SQLException {
+        return resultSet.next();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void close() throws SQLException {
+        resultSet.close();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return was null .
+     * */
+    @Override
+    public boolean wasNull() throws SQLException {
+        return resultSet.wasNull();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return string .
+     * */
+    @Override
+    public String getString(final int columnIndex) throws SQLException {
+        return resultSet.getString(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return boolean .
+     * */
+    @Override
+    public boolean getBoolean(final int columnIndex) throws SQLException {
+        return resultSet.getBoolean(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return byte .
+     * */
+    @Override
+    public byte getByte(final int columnIndex) throws SQLException {
+        return resultSet.getByte(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return short .
+     * */
+    @Override
+    public short getShort(final int columnIndex) throws SQLException {
+        return resultSet.getShort(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return int .
+     * */
+    @Override
+    public int getInt(final int columnIndex) throws SQLException {
+        return resultSet.getInt(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return long .
+     * */
+    @Override
+    public long getLong(final int columnIndex) throws SQLException {
+        return resultSet.getLong(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return float .
+     * */
+    @Override
+    public float getFloat(final int columnIndex) throws SQLException {
+        return resultSet.getFloat(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return double .
+     * */
+    @Override
+    public double getDouble(final int columnIndex) throws SQLException {
+        return resultSet.getDouble(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param scale the scale .
+     * @return big decimal .
+     * */
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex, final int scale)
+        throws SQLException {
+        return resultSet.getBigDecimal(columnIndex, scale);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return bytes .
+     * */
+    @Override
+    public byte[] getBytes(final int columnIndex) throws SQLException {
+        return resultSet.getBytes(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return date .
+     * */
+    @Override
+    public Date getDate(final int columnIndex) throws SQLException {
+        return resultSet.getDate(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return time .
+     * */
+    @Override
+    public Time getTime(final int columnIndex) throws SQLException {
+        return resultSet.getTime(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return timestamp .
+     * */
+    @Override
+    public Timestamp getTimestamp(final int columnIndex) throws SQLException {
+        return resultSet.getTimestamp(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return ascii stream .
+     * */
+    @Override
+    public InputStream getAsciiStream(final int columnIndex)
+        throws SQLException {
+        return resultSet.getAsciiStream(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return unicode stream .
+     * */
+    @Override
+    public InputStream getUnicodeStream(final int columnIndex)
+        throws SQLException {
+        return resultSet.getUnicodeStream(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return binary stream .
+     * */
+    @Override
+    public InputStream getBinaryStream(final int columnIndex)
+        throws SQLException {
+        return resultSet.getBinaryStream(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return string .
+     * */
+    @Override
+    public String getString(final String columnLabel) throws SQLException {
+        return resultSet.getString(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return boolean .
+     * */
+    @Override
+    public boolean getBoolean(final String columnLabel) throws SQLException {
+        return resultSet.getBoolean(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return byte .
+     * */
+    @Override
+    public byte getByte(final String columnLabel) throws SQLException {
+        return resultSet.getByte(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return short .
+     * */
+    @Override
+    public short getShort(final String columnLabel) throws SQLException {
+        return resultSet.getShort(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return int .
+     * */
+    @Override
+    public int getInt(final String columnLabel) throws SQLException {
+        return resultSet.getInt(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return long .
+     * */
+    @Override
+    public long getLong(final String columnLabel) throws SQLException {
+        return resultSet.getLong(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return float .
+     * */
+    @Override
+    public float getFloat(final String columnLabel) throws SQLException {
+        return resultSet.getFloat(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return double .
+     * */
+    @Override
+    public double getDouble(final String columnLabel) throws SQLException {
+        return resultSet.getDouble(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param scale the scale .
+     * @return big decimal .
+     * */
+    @Override
+    public BigDecimal getBigDecimal(final String columnLabel, final int scale)
+        throws SQLException {
+        return resultSet.getBigDecimal(columnLabel, scale);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return bytes .
+     * */
+    @Override
+    public byte[] getBytes(final String columnLabel) throws SQLException {
+        return resultSet.getBytes(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return date .
+     * */
+    @Override
+    public Date getDate(final String columnLabel) throws SQLException {
+        return resultSet.getDate(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return time .
+     * */
+    @Override
+    public Time getTime(final String columnLabel) throws SQLException {
+        return resultSet.getTime(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return timestamp .
+     * */
+    @Override
+    public Timestamp getTimestamp(final String columnLabel)
+        throws SQLException {
+        return resultSet.getTimestamp(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return ascii stream .
+     * */
+    @Override
+    public InputStream getAsciiStream(final String columnLabel)
+        throws SQLException {
+        return resultSet.getAsciiStream(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return unicode stream .
+     * */
+    @Override
+    public InputStream getUnicodeStream(final String columnLabel)
+        throws SQLException {
+        return resultSet.getUnicodeStream(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return binary stream .
+     * */
+    @Override
+    public InputStream getBinaryStream(final String columnLabel)
+        throws SQLException {
+        return resultSet.getBinaryStream(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return warnings .
+     * */
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return resultSet.getWarnings();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void clearWarnings() throws SQLException {
+        resultSet.clearWarnings();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return cursor name .
+     * */
+    @Override
+    public String getCursorName() throws SQLException {
+        return resultSet.getCursorName();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return meta data .
+     * */
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return resultSet.getMetaData();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return object .
+     * */
+    @Override
+    public Object getObject(final int columnIndex) throws SQLException {
+        return resultSet.getObject(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return object .
+     * */
+    @Override
+    public Object getObject(final String columnLabel) throws SQLException {
+        return resultSet.getObject(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return find column .
+     * */
+    @Override
+    public int findColumn(final String columnLabel) throws SQLException {
+        return resultSet.findColumn(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return character stream .
+     * */
+    @Override
+    public Reader getCharacterStream(final int columnIndex)
+        throws SQLException {
+        return resultSet.getCharacterStream(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return character stream .
+     * */
+    @Override
+    public Reader getCharacterStream(final String columnLabel)
+        throws SQLException {
+        return resultSet.getCharacterStream(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return big decimal .
+     * */
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex) throws SQLException {
+        return resultSet.getBigDecimal(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return big decimal .
+     * */
+    @Override
+    public BigDecimal getBigDecimal(final String columnLabel)
+        throws SQLException {
+        return resultSet.getBigDecimal(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return before first .
+     * */
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        return resultSet.isBeforeFirst();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return after last .
+     * */
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        return resultSet.isAfterLast();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return first .
+     * */
+    @Override
+    public boolean isFirst() throws SQLException {
+        return resultSet.isFirst();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return last .
+     * */
+    @Override
+    public boolean isLast() throws SQLException {
+        return resultSet.isLast();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void beforeFirst() throws SQLException {
+        resultSet.beforeFirst();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void afterLast() throws SQLException {
+        resultSet.afterLast();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return first .
+     * */
+    @Override
+    public boolean first() throws SQLException {
+        return resultSet.first();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return last .
+     * */
+    @Override
+    public boolean last() throws SQLException {
+        return resultSet.last();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return row .
+     * */
+    @Override
+    public int getRow() throws SQLException {
+        return resultSet.getRow();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param row the row .
+     * @return absolute .
+     * */
+    @Override
+    public boolean absolute(final int row) throws SQLException {
+        return resultSet.absolute(row);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param rows the rows .
+     * @return relative .
+     * */
+    @Override
+    public boolean relative(final int rows) throws SQLException {
+        return resultSet.relative(rows);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return previous .
+     * */
+    @Override
+    public boolean previous() throws SQLException {
+        return resultSet.previous();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param direction the direction .
+     * */
+    @Override
+    public void setFetchDirection(final int direction) throws SQLException {
+        resultSet.setFetchDirection(direction);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return fetch direction .
+     * */
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return resultSet.getFetchDirection();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param rows the rows .
+     * */
+    @Override
+    public void setFetchSize(final int rows) throws SQLException {
+        resultSet.setFetchSize(rows);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return fetch size .
+     * */
+    @Override
+    public int getFetchSize() throws SQLException {
+        return resultSet.getFetchSize();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return type .
+     * */
+    @Override
+    public int getType() throws SQLException {
+        return resultSet.getType();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return concurrency .
+     * */
+    @Override
+    public int getConcurrency() throws SQLException {
+        return resultSet.getConcurrency();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return row updated .
+     * */
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        return resultSet.rowUpdated();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return row inserted .
+     * */
+    @Override
+    public boolean rowInserted() throws SQLException {
+        return resultSet.rowInserted();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return row deleted .
+     * */
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        return resultSet.rowDeleted();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * */
+    @Override
+    public void updateNull(final int columnIndex) throws SQLException {
+        resultSet.updateNull(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateBoolean(final int columnIndex, final boolean x)
+        throws SQLException {
+        resultSet.updateBoolean(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateByte(final int columnIndex, final byte x)
+        throws SQLException {
+        resultSet.updateByte(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateShort(final int columnIndex, final short x)
+        throws SQLException {
+        resultSet.updateShort(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateInt(final int columnIndex, final int x)
+        throws SQLException {
+        resultSet.updateInt(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateLong(final int columnIndex, final long x)
+        throws SQLException {
+        resultSet.updateLong(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateFloat(final int columnIndex, final float x)
+        throws SQLException {
+        resultSet.updateFloat(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateDouble(final int columnIndex, final double x)
+        throws SQLException {
+        resultSet.updateDouble(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateBigDecimal(final int columnIndex, final BigDecimal x)
+        throws SQLException {
+        resultSet.updateBigDecimal(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateString(final int columnIndex, final String x)
+        throws SQLException {
+        resultSet.updateString(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateBytes(final int columnIndex, final byte[] x)
+        throws SQLException {
+        resultSet.updateBytes(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateDate(final int columnIndex, final Date x)
+        throws SQLException {
+        resultSet.updateDate(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateTime(final int columnIndex, final Time x)
+        throws SQLException {
+        resultSet.updateTime(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateTimestamp(final int columnIndex, final Timestamp x)
+        throws SQLException {
+        resultSet.updateTimestamp(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateAsciiStream(final int columnIndex, final InputStream x,
+        final int length) throws SQLException {
+        resultSet.updateAsciiStream(columnIndex, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateBinaryStream(final int columnIndex, final InputStream x,
+        final int length) throws SQLException {
+        resultSet.updateBinaryStream(columnIndex, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateCharacterStream(final int columnIndex, final Reader x,
+        final int length) throws SQLException {
+        resultSet.updateCharacterStream(columnIndex, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * @param scaleOrLength the scale or length .
+     * */
+    @Override
+    public void updateObject(final int columnIndex, final Object x,
+        final int scaleOrLength) throws SQLException {
+        resultSet.updateObject(columnIndex, x, scaleOrLength);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateObject(final int columnIndex, final Object x)
+        throws SQLException {
+        resultSet.updateObject(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * */
+    @Override
+    public void updateNull(final String columnLabel) throws SQLException {
+        resultSet.updateNull(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateBoolean(final String columnLabel, final boolean x)
+        throws SQLException {
+        resultSet.updateBoolean(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateByte(final String columnLabel, final byte x)
+        throws SQLException {
+        resultSet.updateByte(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateShort(final String columnLabel, final short x)
+        throws SQLException {
+        resultSet.updateShort(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateInt(final String columnLabel, final int x)
+        throws SQLException {
+        resultSet.updateInt(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateLong(final String columnLabel, final long x)
+        throws SQLException {
+        resultSet.updateLong(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateFloat(final String columnLabel, final float x)
+        throws SQLException {
+        resultSet.updateFloat(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateDouble(final String columnLabel, final double x)
+        throws SQLException {
+        resultSet.updateDouble(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateBigDecimal(final String columnLabel, final BigDecimal x)
+        throws SQLException {
+        resultSet.updateBigDecimal(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateString(final String columnLabel, final String x)
+        throws SQLException {
+        resultSet.updateString(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateBytes(final String columnLabel, final byte[] x)
+        throws SQLException {
+        resultSet.updateBytes(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateDate(final String columnLabel, final Date x)
+        throws SQLException {
+        resultSet.updateDate(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateTime(final String columnLabel, final Time x)
+        throws SQLException {
+        resultSet.updateTime(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateTimestamp(final String columnLabel, final Timestamp x)
+        throws SQLException {
+        resultSet.updateTimestamp(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateAsciiStream(final String columnLabel,
+        final InputStream x, final int length) throws SQLException {
+        resultSet.updateAsciiStream(columnLabel, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateBinaryStream(final String columnLabel,
+        final InputStream x, final int length) throws SQLException {
+        resultSet.updateBinaryStream(columnLabel, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void updateCharacterStream(final String columnLabel,
+        final Reader reader, final int length) throws SQLException {
+        resultSet.updateCharacterStream(columnLabel, reader, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * @param scaleOrLength the scale or length .
+     * */
+    @Override
+    public void updateObject(final String columnLabel, final Object x,
+        final int scaleOrLength) throws SQLException {
+        resultSet.updateObject(columnLabel, x, scaleOrLength);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateObject(final String columnLabel, final Object x)
+        throws SQLException {
+        resultSet.updateObject(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void insertRow() throws SQLException {
+        resultSet.insertRow();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void updateRow() throws SQLException {
+        resultSet.updateRow();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void deleteRow() throws SQLException {
+        resultSet.deleteRow();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void refreshRow() throws SQLException {
+        resultSet.refreshRow();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        resultSet.cancelRowUpdates();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        resultSet.moveToInsertRow();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * */
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        resultSet.moveToCurrentRow();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param map the map .
+     * @return object .
+     * */
+    @Override
+    public Object getObject(final int columnIndex,
+        final Map<String, Class<?>> map) throws SQLException {
+        return resultSet.getObject(columnIndex, map);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return ref .
+     * */
+    @Override
+    public Ref getRef(final int columnIndex) throws SQLException {
+        return resultSet.getRef(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return blob .
+     * */
+    @Override
+    public Blob getBlob(final int columnIndex) throws SQLException {
+        return resultSet.getBlob(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return clob .
+     * */
+    @Override
+    public Clob getClob(final int columnIndex) throws SQLException {
+        return resultSet.getClob(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return array .
+     * */
+    @Override
+    public Array getArray(final int columnIndex) throws SQLException {
+        return resultSet.getArray(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param map the map .
+     * @return object .
+     * */
+    @Override
+    public Object getObject(final String columnLabel,
+        final Map<String, Class<?>> map) throws SQLException {
+        return resultSet.getObject(columnLabel, map);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return ref .
+     * */
+    @Override
+    public Ref getRef(final String columnLabel) throws SQLException {
+        return resultSet.getRef(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return blob .
+     * */
+    @Override
+    public Blob getBlob(final String columnLabel) throws SQLException {
+        return resultSet.getBlob(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return clob .
+     * */
+    @Override
+    public Clob getClob(final String columnLabel) throws SQLException {
+        return resultSet.getClob(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return array .
+     * */
+    @Override
+    public Array getArray(final String columnLabel) throws SQLException {
+        return resultSet.getArray(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param cal the cal .
+     * @return date .
+     * */
+    @Override
+    public Date getDate(final int columnIndex, final Calendar cal)
+        throws SQLException {
+        return resultSet.getDate(columnIndex, cal);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param cal the cal .
+     * @return date .
+     * */
+    @Override
+    public Date getDate(final String columnLabel, final Calendar cal)
+        throws SQLException {
+        return resultSet.getDate(columnLabel, cal);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param cal the cal .
+     * @return time .
+     * */
+    @Override
+    public Time getTime(final int columnIndex, final Calendar cal)
+        throws SQLException {
+        return resultSet.getTime(columnIndex, cal);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param cal the cal .
+     * @return time .
+     * */
+    @Override
+    public Time getTime(final String columnLabel, final Calendar cal)
+        throws SQLException {
+        return resultSet.getTime(columnLabel, cal);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param cal the cal .
+     * @return timestamp .
+     * */
+    @Override
+    public Timestamp getTimestamp(final int columnIndex, final Calendar cal)
+        throws SQLException {
+        return resultSet.getTimestamp(columnIndex, cal);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param cal the cal .
+     * @return timestamp .
+     * */
+    @Override
+    public Timestamp getTimestamp(final String columnLabel, final Calendar cal)
+        throws SQLException {
+        return resultSet.getTimestamp(columnLabel, cal);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return u r l .
+     * */
+    @Override
+    public URL getURL(final int columnIndex) throws SQLException {
+        return resultSet.getURL(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return u r l .
+     * */
+    @Override
+    public URL getURL(final String columnLabel) throws SQLException {
+        return resultSet.getURL(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateRef(final int columnIndex, final Ref x)
+        throws SQLException {
+        resultSet.updateRef(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateRef(final String columnLabel, final Ref x)
+        throws SQLException {
+        resultSet.updateRef(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateBlob(final int columnIndex, final Blob x)
+        throws SQLException {
+        resultSet.updateBlob(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateBlob(final String columnLabel, final Blob x)
+        throws SQLException {
+        resultSet.updateBlob(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateClob(final int columnIndex, final Clob x)
+        throws SQLException {
+        resultSet.updateClob(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateClob(final String columnLabel, final Clob x)
+        throws SQLException {
+        resultSet.updateClob(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateArray(final int columnIndex, final Array x)
+        throws SQLException {
+        resultSet.updateArray(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateArray(final String columnLabel, final Array x)
+        throws SQLException {
+        resultSet.updateArray(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return row id .
+     * */
+    @Override
+    public RowId getRowId(final int columnIndex) throws SQLException {
+        return resultSet.getRowId(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return row id .
+     * */
+    @Override
+    public RowId getRowId(final String columnLabel) throws SQLException {
+        return resultSet.getRowId(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateRowId(final int columnIndex, final RowId x)
+        throws SQLException {
+        resultSet.updateRowId(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateRowId(final String columnLabel, final RowId x)
+        throws SQLException {
+        resultSet.updateRowId(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return holdability .
+     * */
+    @Override
+    public int getHoldability() throws SQLException {
+        return resultSet.getHoldability();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @return closed .
+     * */
+    @Override
+    public boolean isClosed() throws SQLException {
+        return resultSet.isClosed();
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param nString the n string .
+     * */
+    @Override
+    public void updateNString(final int columnIndex, final String nString)
+        throws SQLException {
+        resultSet.updateNString(columnIndex, nString);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param nString the n string .
+     * */
+    @Override
+    public void updateNString(final String columnLabel, final String nString)
+        throws SQLException {
+        resultSet.updateNString(columnLabel, nString);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param nClob the n clob .
+     * */
+    @Override
+    public void updateNClob(final int columnIndex, final NClob nClob)
+        throws SQLException {
+        resultSet.updateNClob(columnIndex, nClob);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param nClob the n clob .
+     * */
+    @Override
+    public void updateNClob(final String columnLabel, final NClob nClob)
+        throws SQLException {
+        resultSet.updateNClob(columnLabel, nClob);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return n clob .
+     * */
+    @Override
+    public NClob getNClob(final int columnIndex) throws SQLException {
+        return resultSet.getNClob(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return n clob .
+     * */
+    @Override
+    public NClob getNClob(final String columnLabel) throws SQLException {
+        return resultSet.getNClob(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return s q l x m l .
+     * */
+    @Override
+    public SQLXML getSQLXML(final int columnIndex) throws SQLException {
+        return resultSet.getSQLXML(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return s q l x m l .
+     * */
+    @Override
+    public SQLXML getSQLXML(final String columnLabel) throws SQLException {
+        return resultSet.getSQLXML(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param xmlObject the xml object .
+     * */
+    @Override
+    public void updateSQLXML(final int columnIndex, final SQLXML xmlObject)
+        throws SQLException {
+        resultSet.updateSQLXML(columnIndex, xmlObject);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param xmlObject the xml object .
+     * */
+    @Override
+    public void updateSQLXML(final String columnLabel, final SQLXML xmlObject)
+        throws SQLException {
+        resultSet.updateSQLXML(columnLabel, xmlObject);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return n string .
+     * */
+    @Override
+    public String getNString(final int columnIndex) throws SQLException {
+        return resultSet.getNString(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return n string .
+     * */
+    @Override
+    public String getNString(final String columnLabel) throws SQLException {
+        return resultSet.getNString(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @return n character stream .
+     * */
+    @Override
+    public Reader getNCharacterStream(final int columnIndex)
+        throws SQLException {
+        return resultSet.getNCharacterStream(columnIndex);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @return n character stream .
+     * */
+    @Override
+    public Reader getNCharacterStream(final String columnLabel)
+        throws SQLException {
+        return resultSet.getNCharacterStream(columnLabel);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateNCharacterStream(final int columnIndex, final Reader x,
+        final long length) throws SQLException {
+        resultSet.updateNCharacterStream(columnIndex, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void updateNCharacterStream(final String columnLabel,
+        final Reader reader, final long length) throws SQLException {
+        resultSet.updateNCharacterStream(columnLabel, reader, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateAsciiStream(final int columnIndex, final InputStream x,
+        final long length) throws SQLException {
+        resultSet.updateAsciiStream(columnIndex, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateBinaryStream(final int columnIndex, final InputStream x,
+        final long length) throws SQLException {
+        resultSet.updateBinaryStream(columnIndex, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateCharacterStream(final int columnIndex, final Reader x,
+        final long length) throws SQLException {
+        resultSet.updateCharacterStream(columnIndex, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateAsciiStream(final String columnLabel,
+        final InputStream x, final long length) throws SQLException {
+        resultSet.updateAsciiStream(columnLabel, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * @param length the length .
+     * */
+    @Override
+    public void updateBinaryStream(final String columnLabel,
+        final InputStream x, final long length) throws SQLException {
+        resultSet.updateBinaryStream(columnLabel, x, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void updateCharacterStream(final String columnLabel,
+        final Reader reader, final long length) throws SQLException {
+        resultSet.updateCharacterStream(columnLabel, reader, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param inputStream the input stream .
+     * @param length the length .
+     * */
+    @Override
+    public void updateBlob(final int columnIndex,
+        final InputStream inputStream, final long length) throws SQLException {
+        resultSet.updateBlob(columnIndex, inputStream, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param inputStream the input stream .
+     * @param length the length .
+     * */
+    @Override
+    public void updateBlob(final String columnLabel,
+        final InputStream inputStream, final long length) throws SQLException {
+        resultSet.updateBlob(columnLabel, inputStream, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void updateClob(final int columnIndex, final Reader reader,
+        final long length) throws SQLException {
+        resultSet.updateClob(columnIndex, reader, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void updateClob(final String columnLabel, final Reader reader,
+        final long length) throws SQLException {
+        resultSet.updateClob(columnLabel, reader, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void updateNClob(final int columnIndex, final Reader reader,
+        final long length) throws SQLException {
+        resultSet.updateNClob(columnIndex, reader, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param reader the reader .
+     * @param length the length .
+     * */
+    @Override
+    public void updateNClob(final String columnLabel, final Reader reader,
+        final long length) throws SQLException {
+        resultSet.updateNClob(columnLabel, reader, length);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateNCharacterStream(final int columnIndex, final Reader x)
+        throws SQLException {
+        resultSet.updateNCharacterStream(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param reader the reader .
+     * */
+    @Override
+    public void updateNCharacterStream(final String columnLabel,
+        final Reader reader) throws SQLException {
+        resultSet.updateNCharacterStream(columnLabel, reader);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateAsciiStream(final int columnIndex, final InputStream x)
+        throws SQLException {
+        resultSet.updateAsciiStream(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateBinaryStream(final int columnIndex, final InputStream x)
+        throws SQLException {
+        resultSet.updateBinaryStream(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * */
+    @Override
+    public void updateCharacterStream(final int columnIndex, final Reader x)
+        throws SQLException {
+        resultSet.updateCharacterStream(columnIndex, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateAsciiStream(final String columnLabel, final InputStream x)
+        throws SQLException {
+        resultSet.updateAsciiStream(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * */
+    @Override
+    public void updateBinaryStream(final String columnLabel,
+        final InputStream x) throws SQLException {
+        resultSet.updateBinaryStream(columnLabel, x);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param reader the reader .
+     * */
+    @Override
+    public void updateCharacterStream(final String columnLabel,
+        final Reader reader) throws SQLException {
+        resultSet.updateCharacterStream(columnLabel, reader);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param inputStream the input stream .
+     * */
+    @Override
+    public void updateBlob(final int columnIndex, final InputStream inputStream)
+        throws SQLException {
+        resultSet.updateBlob(columnIndex, inputStream);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param inputStream the input stream .
+     * */
+    @Override
+    public void updateBlob(final String columnLabel,
+        final InputStream inputStream) throws SQLException {
+        resultSet.updateBlob(columnLabel, inputStream);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param reader the reader .
+     * */
+    @Override
+    public void updateClob(final int columnIndex, final Reader reader)
+        throws SQLException {
+        resultSet.updateClob(columnIndex, reader);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param reader the reader .
+     * */
+    @Override
+    public void updateClob(final String columnLabel, final Reader reader)
+        throws SQLException {
+        resultSet.updateClob(columnLabel, reader);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param reader the reader .
+     * */
+    @Override
+    public void updateNClob(final int columnIndex, final Reader reader)
+        throws SQLException {
+        resultSet.updateNClob(columnIndex, reader);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param reader the reader .
+     * */
+    @Override
+    public void updateNClob(final String columnLabel, final Reader reader)
+        throws SQLException {
+        resultSet.updateNClob(columnLabel, reader);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param <T> the type .
+     * @param columnIndex the column index .
+     * @param type the type .
+     * @return object .
+     * */
+    @Override
+    public <T> T getObject(final int columnIndex, final Class<T> type)
+        throws SQLException {
+        return resultSet.getObject(columnIndex, type);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param <T> the type .
+     * @param columnLabel the column label .
+     * @param type the type .
+     * @return object .
+     * */
+    @Override
+    public <T> T getObject(final String columnLabel, final Class<T> type)
+        throws SQLException {
+        return resultSet.getObject(columnLabel, type);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * @param scaleOrLength the scale or length .
+     * */
+    @Override
+    public void updateObject(final int columnIndex, final Object x,
+        final SQLType targetSqlType, final int scaleOrLength)
+        throws SQLException {
+        resultSet.updateObject(columnIndex, x, targetSqlType, scaleOrLength);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * @param scaleOrLength the scale or length .
+     * */
+    @Override
+    public void updateObject(final String columnLabel, final Object x,
+        final SQLType targetSqlType, final int scaleOrLength)
+        throws SQLException {
+        resultSet.updateObject(columnLabel, x, targetSqlType, scaleOrLength);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnIndex the column index .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * */
+    @Override
+    public void updateObject(final int columnIndex, final Object x,
+        final SQLType targetSqlType) throws SQLException {
+        resultSet.updateObject(columnIndex, x, targetSqlType);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param columnLabel the column label .
+     * @param x the x .
+     * @param targetSqlType the target sql type .
+     * */
+    @Override
+    public void updateObject(final String columnLabel, final Object x,
+        final SQLType targetSqlType) throws SQLException {
+        resultSet.updateObject(columnLabel, x, targetSqlType);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param iface the iface .
+     * @param <T> the type .
+     * @return unwrap .
+     * */
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        return resultSet.unwrap(iface);
+    }
+
+    /**
+     * Call for original ResultSet method.
+     * @param iface the iface .
+     * @return wrapper for .
+     * */
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return resultSet.isWrapperFor(iface);
+    }
+}
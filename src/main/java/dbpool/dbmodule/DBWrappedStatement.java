@@ -0,0 +1,828 @@
+package dbpool.dbmodule;
+
+import dbpool.utils.Constants.DBCPMessageException;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * This class is for Wrapping SQL Statement, it returns the wrapped
+ * connection as owner and controls how the statement is closed. The
+ * statement is registered with the borrow that opened it, so the pool
+ * closes it when the connection is returned, and it keeps the last result
+ * sets it handed out so they are closed with it. The first change of a
+ * setting saves the value of the driver, so a cached statement is put
+ * back as the next borrower expects it .
+ * @author cgcastro
+ * @version 1.0
+ */
+class DBWrappedStatement implements Statement {
+
+    /**
+     * int flag of a changed max field size .
+     */
+    private static final int MAX_FIELD_SIZE = 1;
+    /**
+     * int flag of a changed max rows .
+     */
+    private static final int MAX_ROWS = 1 << 1;
+    /**
+     * int flag of a changed escape processing .
+     */
+    private static final int ESCAPE_PROCESSING = 1 << 2;
+    /**
+     * int flag of a changed query timeout .
+     */
+    private static final int QUERY_TIMEOUT = 1 << 3;
+    /**
+     * int flag of a changed fetch direction .
+     */
+    private static final int FETCH_DIRECTION = 1 << 4;
+    /**
+     * int flag of a changed fetch size .
+     */
+    private static final int FETCH_SIZE = 1 << 5;
+
+    /**
+     * Statement the SQL Statement .
+     */
+    private final Statement statement;
+    /**
+     * Connection the wrapped connection that created the statement .
+     */
+    private final Connection connection;
+    /**
+     * DBStatementList open statements of the borrow .
+     */
+    private final DBStatementList openStatements;
+    /**
+     * ResultSet last result set of a query, null if none .
+     */
+    private ResultSet resultSet;
+    /**
+     * ResultSet last generated keys, null if none .
+     */
+    private ResultSet generatedKeys;
+    /**
+     * boolean true once the statement is closed .
+     */
+    private boolean closed;
+    /**
+     * int flags of the settings changed by the borrower .
+     */
+    private int changedSettings;
+    /**
+     * int max field size before the first change .
+     */
+    private int savedMaxFieldSize;
+    /**
+     * long max rows before the first change .
+     */
+    private long savedMaxRows;
+    /**
+     * boolean true if the max rows was saved with getLargeMaxRows .
+     */
+    private boolean largeMaxRows;
+    /**
+     * int query timeout before the first change .
+     */
+    private int savedQueryTimeout;
+    /**
+     * int fetch direction before the first change .
+     */
+    private int savedFetchDirection;
+    /**
+     * int fetch size before the first change .
+     */
+    private int savedFetchSize;
+    /**
+     * boolean false once the borrower asked not to pool the statement .
+     */
+    private boolean poolable = true;
+    /**
+     * boolean true once the statement has state that cannot be reset, a
+     * cursor name or close on completion .
+     */
+    private boolean pinned;
+
+    /**
+     * Constructor, the statement is added to the open statements .
+     * @param connection the wrapped connection .
+     * @param statement SQL Statement .
+     * @param openStatements open statements of the borrow .
+     * */
+    DBWrappedStatement(final Connection connection,
+        final Statement statement, final DBStatementList openStatements) {
+
+        this.connection = connection;
+        this.statement = statement;
+        this.openStatements = openStatements;
+        openStatements.add(this);
+
+    }
+
+    /**
+     * check if statement is open .
+     * @throws SQLException the sql exception
+     * */
+    final void checkIfIsOpen() throws SQLException {
+
+        if (closed) {
+            throw new
+                SQLException(DBCPMessageException.MSG_STATEMENT_CLOSED);
+        }
+
+    }
+
+    /**
+     * Keep the result set of a query to close it with the statement .
+     * @param queryResult the result set .
+     * @return the result set wrapped over this statement, null if there
+     *         is none .
+     * */
+    final ResultSet track(final ResultSet queryResult) {
+
+        resultSet = queryResult;
+        return wrap(queryResult);
+    }
+
+    /**
+     * Wrap a result set so that it hands out this statement instead of
+     * the SQL statement .
+     * @param queryResult the result set .
+     * @return the wrapped result set, null if there is none .
+     * */
+    private ResultSet wrap(final ResultSet queryResult) {
+
+        if (queryResult == null) {
+            return null;
+        }
+        return new DBWrappedResultSet(this, queryResult);
+    }
+
+    /**
+     * close the result sets handed out by the statement, a cached
+     * statement is not closed so its cursors would stay open .
+     * @throws SQLException the sql exception
+     * */
+    final void closeResultSets() throws SQLException {
+
+        ResultSet queryResult = resultSet;
+        ResultSet keys = generatedKeys;
+        resultSet = null;
+        generatedKeys = null;
+        try {
+            if (queryResult != null) {
+                queryResult.close();
+            }
+        } finally {
+            if (keys != null && keys != queryResult) {
+                keys.close();
+            }
+        }
+    }
+
+    /**
+     * Check if the statement can go back to a statement cache .
+     * @return false after setPoolable(false), closeOnCompletion() or
+     *         setCursorName .
+     * */
+    final boolean isReusable() {
+        return poolable && !pinned;
+    }
+
+    /**
+     * Set back the settings changed by the borrower to the values the
+     * driver had before the first change. Escape processing has no getter
+     * and is set back to on, the JDBC default .
+     * @throws SQLException the sql exception
+     * */
+    final void restoreSettings() throws SQLException {
+
+        int changed = changedSettings;
+        if (changed == 0) {
+            return;
+        }
+        changedSettings = 0;
+        if ((changed & MAX_FIELD_SIZE) != 0) {
+            statement.setMaxFieldSize(savedMaxFieldSize);
+        }
+        if ((changed & MAX_ROWS) != 0) {
+            if (largeMaxRows) {
+                statement.setLargeMaxRows(savedMaxRows);
+            } else {
+                statement.setMaxRows((int) savedMaxRows);
+            }
+        }
+        if ((changed & ESCAPE_PROCESSING) != 0) {
+            statement.setEscapeProcessing(true);
+        }
+        if ((changed & QUERY_TIMEOUT) != 0) {
+            statement.setQueryTimeout(savedQueryTimeout);
+        }
+        if ((changed & FETCH_DIRECTION) != 0) {
+            statement.setFetchDirection(savedFetchDirection);
+        }
+        if ((changed & FETCH_SIZE) != 0) {
+            statement.setFetchSize(savedFetchSize);
+        }
+    }
+
+    /**
+     * close the SQL Statement, cached statements override it to go back
+     * to the cache .
+     * @throws SQLException the sql exception
+     * */
+    void closeStatement() throws SQLException {
+        statement.close();
+    }
+
+    /**
+     * close statement, closing it again has no effect .
+     * */
+    @Override
+    public void close() throws SQLException {
+
+        if (!closed) {
+            closed = true;
+            openStatements.remove(this);
+            closeStatement();
+        }
+    }
+
+    /**
+     * Check if the statement is closed .
+     * @return true if closed .
+     * */
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed;
+    }
+
+    /**
+     * Get the wrapped connection that created the statement .
+     * @return the wrapped connection .
+     * */
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkIfIsOpen();
+        return connection;
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @return the result set .
+     * */
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+        checkIfIsOpen();
+        return track(statement.executeQuery(sql));
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @return execute update .
+     * */
+    @Override
+    public int executeUpdate(final String sql) throws SQLException {
+        checkIfIsOpen();
+        return statement.executeUpdate(sql);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return max field size .
+     * */
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        checkIfIsOpen();
+        return statement.getMaxFieldSize();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param max the max .
+     * */
+    @Override
+    public void setMaxFieldSize(final int max) throws SQLException {
+        checkIfIsOpen();
+        if ((changedSettings & MAX_FIELD_SIZE) == 0) {
+            savedMaxFieldSize = statement.getMaxFieldSize();
+            changedSettings |= MAX_FIELD_SIZE;
+        }
+        statement.setMaxFieldSize(max);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return max rows .
+     * */
+    @Override
+    public int getMaxRows() throws SQLException {
+        checkIfIsOpen();
+        return statement.getMaxRows();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param max the max .
+     * */
+    @Override
+    public void setMaxRows(final int max) throws SQLException {
+        checkIfIsOpen();
+        if ((changedSettings & MAX_ROWS) == 0) {
+            savedMaxRows = statement.getMaxRows();
+            largeMaxRows = false;
+            changedSettings |= MAX_ROWS;
+        }
+        statement.setMaxRows(max);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param enable the enable .
+     * */
+    @Override
+    public void setEscapeProcessing(final boolean enable) throws SQLException {
+        checkIfIsOpen();
+        changedSettings |= ESCAPE_PROCESSING;
+        statement.setEscapeProcessing(enable);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return query timeout .
+     * */
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        checkIfIsOpen();
+        return statement.getQueryTimeout();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param seconds the seconds .
+     * */
+    @Override
+    public void setQueryTimeout(final int seconds) throws SQLException {
+        checkIfIsOpen();
+        if ((changedSettings & QUERY_TIMEOUT) == 0) {
+            savedQueryTimeout = statement.getQueryTimeout();
+            changedSettings |= QUERY_TIMEOUT;
+        }
+        statement.setQueryTimeout(seconds);
+    }
+
+    /**
+     * Call for original Statement method.
+     * */
+    @Override
+    public void cancel() throws SQLException {
+        checkIfIsOpen();
+        statement.cancel();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return the sqlwarning .
+     * */
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        checkIfIsOpen();
+        return statement.getWarnings();
+    }
+
+    /**
+     * Call for original Statement method.
+     * */
+    @Override
+    public void clearWarnings() throws SQLException {
+        checkIfIsOpen();
+        statement.clearWarnings();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param name the name .
+     * */
+    @Override
+    public void setCursorName(final String name) throws SQLException {
+        checkIfIsOpen();
+        pinned = true;
+        statement.setCursorName(name);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @return execute .
+     * */
+    @Override
+    public boolean execute(final String sql) throws SQLException {
+        checkIfIsOpen();
+        return statement.execute(sql);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return the result set .
+     * */
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        checkIfIsOpen();
+        return track(statement.getResultSet());
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return update count .
+     * */
+    @Override
+    public int getUpdateCount() throws SQLException {
+        checkIfIsOpen();
+        return statement.getUpdateCount();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return more results .
+     * */
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        checkIfIsOpen();
+        return statement.getMoreResults();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param direction the direction .
+     * */
+    @Override
+    public void setFetchDirection(final int direction) throws SQLException {
+        checkIfIsOpen();
+        if ((changedSettings & FETCH_DIRECTION) == 0) {
+            savedFetchDirection = statement.getFetchDirection();
+            changedSettings |= FETCH_DIRECTION;
+        }
+        statement.setFetchDirection(direction);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return fetch direction .
+     * */
+    @Override
+    public int getFetchDirection() throws SQLException {
+        checkIfIsOpen();
+        return statement.getFetchDirection();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param rows the rows .
+     * */
+    @Override
+    public void setFetchSize(final int rows) throws SQLException {
+        checkIfIsOpen();
+        if ((changedSettings & FETCH_SIZE) == 0) {
+            savedFetchSize = statement.getFetchSize();
+            changedSettings |= FETCH_SIZE;
+        }
+        statement.setFetchSize(rows);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return fetch size .
+     * */
+    @Override
+    public int getFetchSize() throws SQLException {
+        checkIfIsOpen();
+        return statement.getFetchSize();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return result set concurrency .
+     * */
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        checkIfIsOpen();
+        return statement.getResultSetConcurrency();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return result set type .
+     * */
+    @Override
+    public int getResultSetType() throws SQLException {
+        checkIfIsOpen();
+        return statement.getResultSetType();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * */
+    @Override
+    public void addBatch(final String sql) throws SQLException {
+        checkIfIsOpen();
+        statement.addBatch(sql);
+    }
+
+    /**
+     * Call for original Statement method.
+     * */
+    @Override
+    public void clearBatch() throws SQLException {
+        checkIfIsOpen();
+        statement.clearBatch();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return execute batch .
+     * */
+    @Override
+    public int[] executeBatch() throws SQLException {
+        checkIfIsOpen();
+        return statement.executeBatch();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param current the current .
+     * @return more results .
+     * */
+    @Override
+    public boolean getMoreResults(final int current) throws SQLException {
+        checkIfIsOpen();
+        return statement.getMoreResults(current);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return the result set .
+     * */
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        checkIfIsOpen();
+        generatedKeys = statement.getGeneratedKeys();
+        return wrap(generatedKeys);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @param autoGeneratedKeys the auto generated keys .
+     * @return execute update .
+     * */
+    @Override
+    public int executeUpdate(final String sql, final int autoGeneratedKeys)
+        throws SQLException {
+        checkIfIsOpen();
+        return statement.executeUpdate(sql, autoGeneratedKeys);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @param columnIndexes the column indexes .
+     * @return execute update .
+     * */
+    @Override
+    public int executeUpdate(final String sql, final int[] columnIndexes)
+        throws SQLException {
+        checkIfIsOpen();
+        return statement.executeUpdate(sql, columnIndexes);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @param columnNames the column names .
+     * @return execute update .
+     * */
+    @Override
+    public int executeUpdate(final String sql, final String[] columnNames)
+        throws SQLException {
+        checkIfIsOpen();
+        return statement.executeUpdate(sql, columnNames);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @param autoGeneratedKeys the auto generated keys .
+     * @return execute .
+     * */
+    @Override
+    public boolean execute(final String sql, final int autoGeneratedKeys)
+        throws SQLException {
+        checkIfIsOpen();
+        return statement.execute(sql, autoGeneratedKeys);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @param columnIndexes the column indexes .
+     * @return execute .
+     * */
+    @Override
+    public boolean execute(final String sql, final int[] columnIndexes)
+        throws SQLException {
+        checkIfIsOpen();
+        return statement.execute(sql, columnIndexes);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @param columnNames the column names .
+     * @return execute .
+     * */
+    @Override
+    public boolean execute(final String sql, final String[] columnNames)
+        throws SQLException {
+        checkIfIsOpen();
+        return statement.execute(sql, columnNames);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return result set holdability .
+     * */
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        checkIfIsOpen();
+        return statement.getResultSetHoldability();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param poolable the poolable .
+     * */
+    @Override
+    public void setPoolable(final boolean poolable) throws SQLException {
+        checkIfIsOpen();
+        statement.setPoolable(poolable);
+        this.poolable = poolable;
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return poolable .
+     * */
+    @Override
+    public boolean isPoolable() throws SQLException {
+        checkIfIsOpen();
+        return statement.isPoolable();
+    }
+
+    /**
+     * Call for original Statement method.
+     * */
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        checkIfIsOpen();
+        pinned = true;
+        statement.closeOnCompletion();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return close on completion .
+     * */
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        checkIfIsOpen();
+        return statement.isCloseOnCompletion();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return large update count .
+     * */
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        checkIfIsOpen();
+        return statement.getLargeUpdateCount();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param max the max .
+     * */
+    @Override
+    public void setLargeMaxRows(final long max) throws SQLException {
+        checkIfIsOpen();
+        if ((changedSettings & MAX_ROWS) == 0) {
+            savedMaxRows = statement.getLargeMaxRows();
+            largeMaxRows = true;
+            changedSettings |= MAX_ROWS;
+        }
+        statement.setLargeMaxRows(max);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return large max rows .
+     * */
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        checkIfIsOpen();
+        return statement.getLargeMaxRows();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @return execute large batch .
+     * */
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        checkIfIsOpen();
+        return statement.executeLargeBatch();
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @return execute large update .
+     * */
+    @Override
+    public long executeLargeUpdate(final String sql) throws SQLException {
+        checkIfIsOpen();
+        return statement.executeLargeUpdate(sql);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @param autoGeneratedKeys the auto generated keys .
+     * @return execute large update .
+     * */
+    @Override
+    public long executeLargeUpdate(final String sql,
+        final int autoGeneratedKeys) throws SQLException {
+        checkIfIsOpen();
+        return statement.executeLargeUpdate(sql, autoGeneratedKeys);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @param columnIndexes the column indexes .
+     * @return execute large update .
+     * */
+    @Override
+    public long executeLargeUpdate(final String sql, final int[] columnIndexes)
+        throws SQLException {
+        checkIfIsOpen();
+        return statement.executeLargeUpdate(sql, columnIndexes);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param sql the sql .
+     * @param columnNames the column names .
+     * @return execute large update .
+     * */
+    @Override
+    public long executeLargeUpdate(final String sql, final String[] columnNames)
+        throws SQLException {
+        checkIfIsOpen();
+        return statement.executeLargeUpdate(sql, columnNames);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param <T> the type .
+     * @param iface the iface .
+     * @return unwrap .
+     * */
+    @Override
+    public <T> T unwrap(final java.lang.Class<T> iface)
+        throws java.sql.SQLException {
+        checkIfIsOpen();
+        return statement.unwrap(iface);
+    }
+
+    /**
+     * Call for original Statement method.
+     * @param iface the iface .
+     * @return wrapper for .
+     * */
+    @Override
+    public boolean isWrapperFor(final java.lang.Class<?> iface)
+        throws java.sql.SQLException {
+        checkIfIsOpen();
+        return statement.isWrapperFor(iface);
+    }
+}
@@ -37,6 +37,12 @@ public class DBCPMessageException {
     public static final String MSG_ZERO_MIN_CACHE_SIZE =
             "The minimium cache size should be greater than 0 and "
             +  "less than the maximium pool size";
+    /*
+     * String message for a min pool cache over the max pool size .
+     */
+    public static final String MSG_INVERTED_POOL_BOUNDS =
+            "The min pool cache should not be greater than the max pool "
+            + "size";
     /*
      * String message for connection no longer active .
      */
@@ -65,4 +71,226 @@ public class DBCPMessageException {
     public static final String MSG_NULL_CONFIGURATION =
             "Configuration cannot be Null";
 
+    /*
+     * String message for borrow timeout .
+     */
+    public static final String MSG_CONNECTION_TIMEOUT =
+            "Timed out waiting for a pooled connection after ";
+
+    /*
+     * String message for interrupted borrow .
+     */
+    public static final String MSG_INTERRUPTED_BORROW =
+            "Interrupted while waiting for a pooled connection";
+
+    /*
+     * String message for negative connection timeout .
+     */
+    public static final String MSG_NEGATIVE_CONNECTION_TIMEOUT =
+            "The connection timeout should not be negative";
+
+    /*
+     * String message for borrowing from a shut down pool .
+     */
+    public static final String MSG_POOL_SHUT_DOWN =
+            "The connection pool is shut down";
+
+    /*
+     * String message for invalid refill low-water mark .
+     */
+    public static final String MSG_INVALID_LOW_WATER_MARK =
+            "The refill low-water mark should not be greater than "
+            + "the maximium pool size";
+
+    /*
+     * String message for unknown startup mode .
+     */
+    public static final String MSG_INVALID_STARTUP_MODE =
+            "Unknown pool startup mode";
+
+    /*
+     * String message for startup parallelism .
+     */
+    public static final String MSG_ZERO_STARTUP_PARALLELISM =
+            "The startup parallelism should be greater than 0";
+
+    /*
+     * String message for undefined validation strategy .
+     */
+    public static final String MSG_UNDEFINED_VALIDATION_STRATEGY =
+            "There is no validation strategy defined yet";
+
+    /*
+     * String message for using a closed statement .
+     */
+    public static final String MSG_STATEMENT_CLOSED =
+            "The statement is closed";
+
+    /*
+     * String message for negative statement cache size .
+     */
+    public static final String MSG_NEGATIVE_STATEMENT_CACHE_SIZE =
+            "The statement cache size should not be negative";
+
+    /*
+     * String message for undefined pool name .
+     */
+    public static final String MSG_UNDEFINED_POOL_NAME =
+            "There is no pool name defined yet";
+
+    /*
+     * String message for failed JMX registration .
+     */
+    public static final String MSG_MBEAN_REGISTRATION =
+            "The pool MBean could not be registered";
+
+    /*
+     * String message for negative housekeeping times .
+     */
+    public static final String MSG_NEGATIVE_HOUSEKEEPING_TIME =
+            "The idle timeout, max lifetime and keepalive time should "
+            + "not be negative";
+
+    /*
+     * String message for housekeeping period .
+     */
+    public static final String MSG_ZERO_HOUSEKEEPING_PERIOD =
+            "The housekeeping period should be greater than 0";
+
+    /*
+     * String message for invalid min idle .
+     */
+    public static final String MSG_INVALID_MIN_IDLE =
+            "The min idle connections should not be greater than "
+            + "the maximium pool size";
+
+    /*
+     * String message for negative leak detection settings .
+     */
+    public static final String MSG_NEGATIVE_LEAK_DETECTION =
+            "The leak detection threshold and stack sample rate should "
+            + "not be negative";
+
+    /*
+     * String message for undefined leak listener .
+     */
+    public static final String MSG_UNDEFINED_LEAK_LISTENER =
+            "There is no leak listener defined yet";
+
+    /*
+     * String message for an url rejected by the driver .
+     */
+    public static final String MSG_INVALID_URL =
+            "The database Driver does not accept the URL";
+
+    /*
+     * String message for credentials other than the configured ones .
+     */
+    public static final String MSG_UNSUPPORTED_CREDENTIALS =
+            "The pool only opens connections with the configured "
+            + "credentials";
+
+    /*
+     * String message for an interface the data source does not wrap .
+     */
+    public static final String MSG_NOT_A_WRAPPER =
+            "The data source does not wrap the requested interface";
+
+    /*
+     * String message for negative login timeout .
+     */
+    public static final String MSG_NEGATIVE_LOGIN_TIMEOUT =
+            "The login timeout should not be negative";
+
+    /*
+     * String message for closed pooled connection .
+     */
+    public static final String MSG_POOLED_CONNECTION_CLOSED =
+            "The pooled connection is closed";
+
+    /*
+     * String message for invalid transaction isolation .
+     */
+    public static final String MSG_INVALID_TRANSACTION_ISOLATION =
+            "The transaction isolation should be one of the Connection "
+            + "levels";
+
+    /*
+     * String message for zero stripes .
+     */
+    public static final String MSG_ZERO_STRIPES =
+            "The number of stripes should be greater than zero";
+
+    /*
+     * String message for negative sizing period .
+     */
+    public static final String MSG_NEGATIVE_SIZING_PERIOD =
+            "The sizing period should not be negative";
+
+    /*
+     * String message for invalid batch writer bounds .
+     */
+    public static final String MSG_INVALID_BATCH_BOUNDS =
+            "The batch size should be greater than 0 and the linger time "
+            + "should not be negative";
+
+    /*
+     * String message for a write submitted to a closed batch writer .
+     */
+    public static final String MSG_BATCH_WRITER_CLOSED =
+            "The batch writer is closed";
+
+    /*
+     * String message for a connection initializer that threw .
+     */
+    public static final String MSG_CONNECTION_INIT_FAILED =
+            "The connection initializer failed";
+
+    /*
+     * String message for negative routing pool times .
+     */
+    public static final String MSG_INVALID_ROUTING_TIMES =
+            "The ejection time and the replica timeout should not be "
+            + "negative";
+
+    /*
+     * String message for a batch writer close interrupted while flushing .
+     */
+    public static final String MSG_BATCH_WRITER_CLOSE_INTERRUPTED =
+            "Interrupted while the batch writer flushed the pending writes";
+
+    /*
+     * String message for a write without update count .
+     */
+    public static final String MSG_MISSING_UPDATE_COUNT =
+            "The driver returned no update count for the write";
+
+    /*
+     * String message for invalid result cache bounds .
+     */
+    public static final String MSG_INVALID_RESULT_CACHE_BOUNDS =
+            "The time to live and max bytes of the result cache should be "
+            + "greater than 0";
+
+    /*
+     * String message for a null init or warm-up statement .
+     */
+    public static final String MSG_NULL_INIT_STATEMENT =
+            "The init SQL and warm-up statements should not be null";
+
+    /*
+     * String message for invalid circuit breaker or creation rate .
+     */
+    public static final String MSG_INVALID_CREATION_THROTTLE =
+            "The breaker threshold and creation rate should not be negative"
+            + ", and the breaker backoff should be greater than 0 and not "
+            + "above the max backoff";
+
+    /*
+     * String message for a borrow refused while the breaker is open .
+     */
+    public static final String MSG_DATABASE_UNAVAILABLE =
+            "The database is unavailable, new connections are refused "
+            + "until the circuit breaker closes";
+
 }
@@ -0,0 +1,23 @@
+package dbpool.utils.Constants;
+
+/**
+ * This class contains the possible startup modes of the pool database .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBCPStartupMode {
+    /*
+     * int open the min cache connections concurrently before returning
+     * the pool .
+     */
+    public static final int PARALLEL_EAGER = 0;
+    /*
+     * int open no connection until the first borrow .
+     */
+    public static final int LAZY = 1;
+    /*
+     * int return the pool immediately and open the min cache connections
+     * in the background .
+     */
+    public static final int ASYNC_WARM = 2;
+}
@@ -0,0 +1,22 @@
+package dbpool.utils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Callback run once on every new physical connection, in the thread that
+ * opens it and before it is handed to any borrower. A failure, an
+ * SQLException or a runtime exception, closes the connection and fails its
+ * creation .
+ * @author cgcastro
+ * @version 1.0
+ */
+public interface DBConnectionInitializer {
+
+    /**
+     * Prepare a new physical connection .
+     * @param connection the physical connection .
+     * @throws SQLException sql exception .
+     * */
+    void initialize(Connection connection) throws SQLException;
+}
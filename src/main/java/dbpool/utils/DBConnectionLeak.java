@@ -0,0 +1,120 @@
+package dbpool.utils;
+
+/**
+ * Report of a pooled connection held longer than the leak detection
+ * threshold. The stack trace is the one captured when the connection was
+ * borrowed if the borrow was sampled, otherwise the stack of the holding
+ * thread at the time the leak was detected .
+ * @author cgcastro
+ * @version 1.0
+ */
+public final class DBConnectionLeak {
+
+    /**
+     * String name of the pool .
+     */
+    private final String poolName;
+    /**
+     * String name of the thread that borrowed the connection .
+     */
+    private final String threadName;
+    /**
+     * long time the connection has been held in milliseconds .
+     */
+    private final long heldMillis;
+    /**
+     * StackTraceElement[] borrow stack or current stack of the holder .
+     */
+    private final StackTraceElement[] stackTrace;
+    /**
+     * boolean true if the stack was captured when borrowing .
+     */
+    private final boolean acquisitionTrace;
+    /**
+     * boolean true if the pool took the connection back .
+     */
+    private final boolean reclaimed;
+
+    /**
+     * Constructor .
+     * @param poolName name of the pool .
+     * @param threadName name of the thread that borrowed the connection .
+     * @param heldMillis time the connection has been held .
+     * @param stackTrace borrow stack or current stack of the holder .
+     * @param acquisitionTrace true if the stack was captured when
+     *        borrowing .
+     * @param reclaimed true if the pool took the connection back .
+     * */
+    public DBConnectionLeak(final String poolName, final String threadName,
+        final long heldMillis, final StackTraceElement[] stackTrace,
+        final boolean acquisitionTrace, final boolean reclaimed) {
+
+        this.poolName = poolName;
+        this.threadName = threadName;
+        this.heldMillis = heldMillis;
+        this.stackTrace = stackTrace;
+        this.acquisitionTrace = acquisitionTrace;
+        this.reclaimed = reclaimed;
+    }
+
+    /**
+     * Get the name of the pool .
+     * @return pool name .
+     * */
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Get the name of the thread that borrowed the connection .
+     * @return thread name .
+     * */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * Get the time the connection has been held .
+     * @return held time in milliseconds .
+     * */
+    public long getHeldMillis() {
+        return heldMillis;
+    }
+
+    /**
+     * Get the borrow stack, or the current stack of the holding thread
+     * if the borrow was not sampled .
+     * @return stack trace .
+     * */
+    public StackTraceElement[] getStackTrace() {
+        return stackTrace.clone();
+    }
+
+    /**
+     * Check if the stack was captured when borrowing .
+     * @return true for the borrow stack .
+     * */
+    public boolean isAcquisitionTrace() {
+        return acquisitionTrace;
+    }
+
+    /**
+     * Check if the pool took the connection back .
+     * @return true if reclaimed .
+     * */
+    public boolean isReclaimed() {
+        return reclaimed;
+    }
+
+    /**
+     * Get a one line description of the leak .
+     * @return the description .
+     * */
+    public String getMessage() {
+
+        return "Connection of pool " + poolName + " held for " + heldMillis
+            + " ms by thread " + threadName
+            + (acquisitionTrace ? ", borrowed at" : ", currently at")
+            + (reclaimed ? " (reclaimed by the pool)" : "");
+    }
+}
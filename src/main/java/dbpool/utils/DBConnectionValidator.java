@@ -19,6 +19,11 @@ public class DBConnectionValidator {
     */
     private String query;
 
+    /**
+     * int timeout in seconds of the JDBC4 check, -1 to run the query .
+     */
+    private int isValidTimeout = -1;
+
     /**
      * Constructor which sets query to test .
      * @param query the query .
@@ -40,6 +45,26 @@ public class DBConnectionValidator {
 
     }
 
+    /**
+     * Constructor which validates with JDBC4 Connection.isValid instead of
+     * a query .
+     * @param isValidTimeout the timeout in seconds of the check .
+     * */
+    public DBConnectionValidator(final int isValidTimeout)  {
+
+        this.isValidTimeout = isValidTimeout;
+
+    }
+
+    /**
+     * Check if the validator runs a query, in that case the caller can
+     * keep a statement per connection to reuse on every check .
+     * @return true if the validator runs a query .
+     * */
+    public boolean usesStatement() {
+        return isValidTimeout < 0;
+    }
+
 
     /**
      * Check if connection is still valid .
@@ -50,15 +75,39 @@ public class DBConnectionValidator {
     public boolean isValidConnection(final Connection connection)
         throws SQLException {
 
+        if (!usesStatement()) {
+            return connection.isValid(isValidTimeout);
+        }
+
+        // try with resources connection
+        try (Statement statement = connection.createStatement()) {
+            return isValidConnection(connection, statement);
+        }
+    }
+
+    /**
+     * Check if connection is still valid reusing a statement of the
+     * connection, the statement is not closed .
+     * @throws SQLException if is not valid connection .
+     * @param connection the connection for validation.
+     * @param statement statement of the connection to run the query .
+     * @return the configuration status.
+     * */
+    public boolean isValidConnection(final Connection connection,
+        final Statement statement) throws SQLException {
+
         boolean resultSetValue;
 
+        if (!usesStatement()) {
+            return connection.isValid(isValidTimeout);
+        }
+
         // if query is null or empty throw an exception
         if ((query == null) || (query.isEmpty()))
             throw new SQLException(DBCPMessageException.MSG_EMPTY_QUERY);
 
-        // try with resources connection
-        try (Statement statement = connection.createStatement();
-             ResultSet resultSet = statement.executeQuery(query)) {
+        // try with resources result set
+        try (ResultSet resultSet = statement.executeQuery(query)) {
 
             if (!resultSet.next()){
                 resultSetValue = false;
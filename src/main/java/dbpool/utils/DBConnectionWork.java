@@ -0,0 +1,23 @@
+package dbpool.utils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * JDBC work run by DBConnectionPool.withConnectionAsync with a borrowed
+ * connection. The connection is given back to the pool when the work
+ * ends, it must not be kept .
+ * @param <R> the result type .
+ * @author cgcastro
+ * @version 1.0
+ */
+public interface DBConnectionWork<R> {
+
+    /**
+     * Run the work .
+     * @param connection the borrowed connection .
+     * @throws SQLException sql exception .
+     * @return the result .
+     * */
+    R run(Connection connection) throws SQLException;
+}
@@ -0,0 +1,17 @@
+package dbpool.utils;
+
+/**
+ * Listener notified by the pool when a connection is held longer than
+ * the leak detection threshold. It is called from the housekeeper thread
+ * once per borrow .
+ * @author cgcastro
+ * @version 1.0
+ */
+public interface DBLeakListener {
+
+    /**
+     * Handle a detected leak .
+     * @param leak the leak report .
+     * */
+    void onLeak(DBConnectionLeak leak);
+}
@@ -0,0 +1,34 @@
+package dbpool.utils;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Default leak listener, it logs every leak as a warning of the dbpool
+ * java.util.logging logger, with the stack of the leak .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBLeakLogger implements DBLeakListener {
+
+    /**
+     * Logger the dbpool logger .
+     */
+    private static final Logger LOGGER = Logger.getLogger("dbpool");
+
+    /**
+     * Log the leak .
+     * @param leak the leak report .
+     * */
+    @Override
+    public void onLeak(final DBConnectionLeak leak) {
+
+        if (!LOGGER.isLoggable(Level.WARNING)) {
+            return;
+        }
+
+        Throwable trace = new Throwable(leak.getMessage());
+        trace.setStackTrace(leak.getStackTrace());
+        LOGGER.log(Level.WARNING, leak.getMessage(), trace);
+    }
+}
@@ -0,0 +1,44 @@
+package dbpool.utils;
+
+import dbpool.utils.Constants.DBCPMessageException;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exception thrown when no pooled connection is available before the
+ * borrow timeout, it carries the time the caller actually waited .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBPoolTimeoutException extends SQLTransientConnectionException {
+
+    /**
+     * long serial version of the exception .
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * long measured wait time in nanoseconds .
+     */
+    private final long waitNanos;
+
+    /**
+     * Constructor .
+     * @param waitNanos the measured wait time in nanoseconds .
+     * */
+    public DBPoolTimeoutException(final long waitNanos) {
+        super(DBCPMessageException.MSG_CONNECTION_TIMEOUT
+            + TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms");
+        this.waitNanos = waitNanos;
+    }
+
+    /**
+     * Get the time the caller waited for a connection .
+     * @param unit the time unit .
+     * @return the wait time .
+     * */
+    public long getWaitTime(final TimeUnit unit) {
+        return unit.convert(waitNanos, TimeUnit.NANOSECONDS);
+    }
+}
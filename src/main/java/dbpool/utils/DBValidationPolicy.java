@@ -0,0 +1,128 @@
+package dbpool.utils;
+
+/**
+ * Validation strategies provided by the pool. The policy only decides
+ * when a connection is checked, the validator decides how: with a query
+ * or with JDBC4 Connection.isValid .
+ * @author cgcastro
+ * @version 1.0
+ */
+public final class DBValidationPolicy implements DBValidationStrategy {
+
+    /**
+     * DBConnectionValidator the validator .
+     */
+    private final DBConnectionValidator validator;
+
+    /**
+     * long min idle time before validating on borrow, -1 to never do it .
+     */
+    private final long borrowIdleMillis;
+
+    /**
+     * boolean validate on return .
+     */
+    private final boolean onReturn;
+
+    /**
+     * long period of the background validation, 0 for none .
+     */
+    private final long backgroundInterval;
+
+    /**
+     * Constructor .
+     * @param validator the validator .
+     * @param borrowIdleMillis min idle time before validating on borrow .
+     * @param onReturn validate on return .
+     * @param backgroundInterval period of the background validation .
+     * */
+    private DBValidationPolicy(final DBConnectionValidator validator,
+        final long borrowIdleMillis, final boolean onReturn,
+        final long backgroundInterval) {
+
+        this.validator = validator;
+        this.borrowIdleMillis = borrowIdleMillis;
+        this.onReturn = onReturn;
+        this.backgroundInterval = backgroundInterval;
+    }
+
+    /**
+     * Never validate the connections .
+     * @return the policy .
+     * */
+    public static DBValidationPolicy none() {
+        return new DBValidationPolicy(null, -1, false, 0);
+    }
+
+    /**
+     * Validate every connection when it is returned, the behavior of the
+     * pool before validation strategies .
+     * @param validator the validator .
+     * @return the policy .
+     * */
+    public static DBValidationPolicy onReturn(
+        final DBConnectionValidator validator) {
+        return new DBValidationPolicy(validator, -1, true, 0);
+    }
+
+    /**
+     * Validate a connection on borrow only if it was idle longer than the
+     * given time, recently used connections are handed out directly .
+     * @param validator the validator .
+     * @param idleMillis min idle time in milliseconds .
+     * @return the policy .
+     * */
+    public static DBValidationPolicy onBorrowIfIdle(
+        final DBConnectionValidator validator, final long idleMillis) {
+        return new DBValidationPolicy(validator, idleMillis, false, 0);
+    }
+
+    /**
+     * Validate only the idle connections, periodically and on a
+     * background thread .
+     * @param validator the validator .
+     * @param intervalMillis period in milliseconds .
+     * @return the policy .
+     * */
+    public static DBValidationPolicy backgroundOnly(
+        final DBConnectionValidator validator, final long intervalMillis) {
+        return new DBValidationPolicy(validator, -1, false, intervalMillis);
+    }
+
+    /**
+     * Check if a connection must be validated before it is borrowed .
+     * @param idleMillis time the connection was idle in milliseconds .
+     * @return true to validate the connection .
+     * */
+    @Override
+    public boolean validateOnBorrow(final long idleMillis) {
+        return borrowIdleMillis >= 0 && idleMillis > borrowIdleMillis;
+    }
+
+    /**
+     * Check if a connection must be validated when it is returned .
+     * @return true to validate the connection .
+     * */
+    @Override
+    public boolean validateOnReturn() {
+        return onReturn;
+    }
+
+    /**
+     * Get the period of the background validation .
+     * @return period in milliseconds, 0 for none .
+     * */
+    @Override
+    public long getBackgroundInterval() {
+        return backgroundInterval;
+    }
+
+    /**
+     * Get the validator .
+     * @return the validator, null if connections are never validated .
+     * */
+    @Override
+    public DBConnectionValidator getValidator() {
+        return validator;
+    }
+}
@@ -0,0 +1,35 @@
+package dbpool.utils;
+
+/**
+ * Strategy deciding when the pool validates its connections, the check
+ * itself is done by the DBConnectionValidator of the strategy .
+ * @author cgcastro
+ * @version 1.0
+ */
+public interface DBValidationStrategy {
+
+    /**
+     * Check if a connection must be validated before it is borrowed .
+     * @param idleMillis time the connection was idle in milliseconds .
+     * @return true to validate the connection .
+     * */
+    boolean validateOnBorrow(long idleMillis);
+
+    /**
+     * Check if a connection must be validated when it is returned .
+     * @return true to validate the connection .
+     * */
+    boolean validateOnReturn();
+
+    /**
+     * Get the period of the background validation of idle connections .
+     * @return period in milliseconds, 0 for no background validation .
+     * */
+    long getBackgroundInterval();
+
+    /**
+     * Get the validator that checks the connections .
+     * @return the validator, null if connections are never validated .
+     * */
+    DBConnectionValidator getValidator();
+}
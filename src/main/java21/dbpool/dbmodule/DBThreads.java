@@ -0,0 +1,26 @@
+package dbpool.dbmodule;
+
+/**
+ * Thread checks that depend on the running Java version. This class is
+ * the Java 21 version, packaged under META-INF/versions/21 of the
+ * multi-release jar .
+ * @author cgcastro
+ * @version 1.0
+ */
+final class DBThreads {
+
+    /**
+     * Private constructor .
+     * */
+    private DBThreads() {
+    }
+
+    /**
+     * Check if a thread is a virtual thread .
+     * @param thread the thread .
+     * @return true for a virtual thread .
+     * */
+    static boolean isVirtual(final Thread thread) {
+        return thread.isVirtual();
+    }
+}
@@ -0,0 +1,160 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.utils.DBConnectionWork;
+import dbpool.utils.DBPoolException;
+import dbpool.utils.DBPoolTimeoutException;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for the asynchronous borrow of DBConnectionPool .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBAsyncBorrowTest {
+
+    private static DBConnectionPool buildPool() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        return dbcpBuilder.build();
+    }
+
+    @Test
+    public void completeWhenConnectionIsReturned() throws Exception {
+
+        DBConnectionPool dbConnectionPool = buildPool();
+        Connection connection = dbConnectionPool.getConnectionAsync().get();
+        Connection physical = connection.unwrap(Connection.class);
+
+        CompletableFuture<Connection> future =
+            dbConnectionPool.getConnectionAsync(5, TimeUnit.SECONDS);
+        assertFalse(future.isDone());
+        assertEquals(1, dbConnectionPool.getPendingThreads());
+
+        connection.close();
+        assertTrue(future.isDone());
+        assertTrue(future.get().unwrap(Connection.class) == physical);
+        future.get().close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void failAfterTimeout() throws Exception {
+
+        DBConnectionPool dbConnectionPool = buildPool();
+        Connection connection = dbConnectionPool.getConnection();
+
+        CompletableFuture<Connection> future =
+            dbConnectionPool.getConnectionAsync(50, TimeUnit.MILLISECONDS);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Pool is already full");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof DBPoolTimeoutException);
+        }
+        assertEquals(0, dbConnectionPool.getPendingThreads());
+        assertEquals(1, dbConnectionPool.getTimeouts());
+
+        connection.close();
+        assertEquals(1, dbConnectionPool.getIdleConnections());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void removeCancelledBorrowFromTheQueue() throws Exception {
+
+        DBConnectionPool dbConnectionPool = buildPool();
+        Connection connection = dbConnectionPool.getConnection();
+
+        CompletableFuture<Connection> future =
+            dbConnectionPool.getConnectionAsync(5, TimeUnit.SECONDS);
+        assertTrue(future.cancel(false));
+        assertEquals(0, dbConnectionPool.getPendingThreads());
+
+        connection.close();
+        assertEquals(1, dbConnectionPool.getIdleConnections());
+        assertEquals(0, dbConnectionPool.getBorrowedConnections());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void failPendingBorrowsOnShutdown() throws Exception {
+
+        DBConnectionPool dbConnectionPool = buildPool();
+        Connection connection = dbConnectionPool.getConnection();
+
+        CompletableFuture<Connection> future =
+            dbConnectionPool.getConnectionAsync(5, TimeUnit.SECONDS);
+        dbConnectionPool.shutdown();
+
+        assertTrue(future.isCompletedExceptionally());
+        connection.close();
+    }
+
+    @Test
+    public void runWorkOnExecutorAndReturnConnection() throws Exception {
+
+        DBConnectionPool dbConnectionPool = buildPool();
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        final Thread caller = Thread.currentThread();
+
+        CompletableFuture<Boolean> result =
+            dbConnectionPool.withConnectionAsync(
+                new DBConnectionWork<Boolean>() {
+                    @Override
+                    public Boolean run(final Connection connection)
+                        throws SQLException {
+                        connection.createStatement();
+                        return Thread.currentThread() != caller;
+                    }
+                }, executor);
+
+        assertTrue(result.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, dbConnectionPool.getBorrowedConnections());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void returnConnectionWhenWorkFails() throws Exception {
+
+        DBConnectionPool dbConnectionPool = buildPool();
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+
+        CompletableFuture<Void> result =
+            dbConnectionPool.withConnectionAsync(
+                new DBConnectionWork<Void>() {
+                    @Override
+                    public Void run(final Connection connection)
+                        throws SQLException {
+                        throw new SQLException("work failed");
+                    }
+                }, executor);
+
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("Work should fail");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof SQLException);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, dbConnectionPool.getBorrowedConnections());
+        dbConnectionPool.shutdown();
+    }
+}
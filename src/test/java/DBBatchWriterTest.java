@@ -0,0 +1,256 @@
+import dbpool.dbmodule.DBBatchWriter;
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import javax.sql.DataSource;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for DBBatchWriter class .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBBatchWriterTest {
+
+    private static final String INSERT =
+        "INSERT INTO ledger (account, amount) VALUES (?, ?)";
+
+    private PreparedStatement statement;
+
+    private AtomicInteger batched;
+
+    private DBConnectionPool dbConnectionPool;
+
+    @Before
+    public void setUp() throws Exception {
+
+        final StubDriver driver = new StubDriver();
+        statement = Mockito.mock(PreparedStatement.class);
+        batched = new AtomicInteger();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                batched.incrementAndGet();
+                return null;
+            }
+        }).when(statement).addBatch();
+        when(statement.executeBatch()).thenAnswer(new Answer<int[]>() {
+            @Override
+            public int[] answer(final InvocationOnMock invocation) {
+                int[] updateCounts = new int[batched.getAndSet(0)];
+                Arrays.fill(updateCounts, 1);
+                return updateCounts;
+            }
+        });
+
+        Connection connection =
+            driver.connect(StubDriver.URL + ":batch", null);
+        doReturn(statement).when(connection).prepareStatement(anyString());
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        DBPoolConfiguration configuration = new DBPoolConfiguration();
+        configuration.setDataSource(dataSource);
+        configuration.setMinPoolCache(1);
+        configuration.setMaxPoolSize(1);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        dbConnectionPool = dbcpBuilder.build();
+    }
+
+    @Test
+    public void flushWhenTheBatchIsFull() throws Exception {
+
+        DBBatchWriter writer = new DBBatchWriter(dbConnectionPool, 3,
+            1, TimeUnit.HOURS);
+        CompletableFuture<Integer> first = writer.submit(INSERT, "a", 1);
+        CompletableFuture<Integer> second = writer.submit(INSERT, "b", 2);
+        CompletableFuture<Integer> third = writer.submit(INSERT, "c", 3);
+
+        assertEquals(1, third.get(5, TimeUnit.SECONDS).intValue());
+        assertEquals(1, first.get().intValue());
+        assertEquals(1, second.get().intValue());
+        verify(statement, times(3)).addBatch();
+        verify(statement, times(1)).executeBatch();
+        verify(statement).setObject(1, "c");
+        verify(statement).setObject(2, 3);
+
+        writer.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void flushAfterTheLingerTime() throws Exception {
+
+        DBBatchWriter writer = new DBBatchWriter(dbConnectionPool, 100,
+            50, TimeUnit.MILLISECONDS);
+        CompletableFuture<Integer> first = writer.submit(INSERT, "a", 1);
+        CompletableFuture<Integer> second = writer.submit(INSERT, "b", 2);
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).intValue());
+        assertEquals(1, second.get(5, TimeUnit.SECONDS).intValue());
+        verify(statement, times(1)).executeBatch();
+        assertEquals(0, dbConnectionPool.getBorrowedConnections());
+
+        writer.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void failOnlyTheWritesReportedAsFailed() throws Exception {
+
+        when(statement.executeBatch()).thenThrow(new BatchUpdateException(
+            new int[] {1, Statement.EXECUTE_FAILED, 1}));
+
+        DBBatchWriter writer = new DBBatchWriter(dbConnectionPool, 3,
+            1, TimeUnit.HOURS);
+        CompletableFuture<Integer> first = writer.submit(INSERT, "a", 1);
+        CompletableFuture<Integer> second = writer.submit(INSERT, "b", -1);
+        CompletableFuture<Integer> third = writer.submit(INSERT, "c", 3);
+
+        assertEquals(1, third.get(5, TimeUnit.SECONDS).intValue());
+        assertEquals(1, first.get().intValue());
+        try {
+            second.get();
+            fail("The second write failed");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof BatchUpdateException);
+        }
+
+        writer.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void keepTheUpdateCountsWhenClearBatchFails() throws Exception {
+
+        BatchUpdateException failure = new BatchUpdateException(
+            new int[] {1, Statement.EXECUTE_FAILED});
+        when(statement.executeBatch()).thenThrow(failure);
+        SQLException clearFailure = new SQLException("clear failed");
+        doThrow(clearFailure).when(statement).clearBatch();
+
+        DBBatchWriter writer = new DBBatchWriter(dbConnectionPool, 2,
+            1, TimeUnit.HOURS);
+        CompletableFuture<Integer> first = writer.submit(INSERT, "a", 1);
+        CompletableFuture<Integer> second = writer.submit(INSERT, "b", -1);
+
+        // the first row was written in auto-commit mode
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).intValue());
+        try {
+            second.get();
+            fail("The second write failed");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() == failure);
+            assertTrue(failure.getSuppressed()[0] == clearFailure);
+        }
+
+        writer.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void flushPendingWritesOnClose() throws Exception {
+
+        DBBatchWriter writer = new DBBatchWriter(dbConnectionPool, 100,
+            1, TimeUnit.HOURS);
+        CompletableFuture<Integer> pending = writer.submit(INSERT, "a", 1);
+        writer.close();
+
+        assertTrue(pending.isDone());
+        assertEquals(1, pending.get().intValue());
+        try {
+            writer.submit(INSERT, "b", 2).get();
+            fail("The writer is closed");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof SQLException);
+        }
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void restoreTheInterruptWhenCloseIsInterrupted() throws Exception {
+
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(statement.executeBatch()).thenAnswer(new Answer<int[]>() {
+            @Override
+            public int[] answer(final InvocationOnMock invocation)
+                throws InterruptedException {
+                running.countDown();
+                release.await();
+                return new int[] {1};
+            }
+        });
+
+        DBBatchWriter writer = new DBBatchWriter(dbConnectionPool, 1,
+            1, TimeUnit.HOURS);
+        CompletableFuture<Integer> pending = writer.submit(INSERT, "a", 1);
+        running.await();
+
+        Thread.currentThread().interrupt();
+        try {
+            writer.close();
+            fail("The close was interrupted");
+        } catch (SQLException exception) {
+            assertTrue(exception.getCause() instanceof InterruptedException);
+        }
+        assertTrue(Thread.interrupted());
+
+        release.countDown();
+        assertEquals(1, pending.get().intValue());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void failTheWriteThatCannotBeBound() throws Exception {
+
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation)
+                throws SQLException {
+                throw new SQLException("unsupported type");
+            }
+        }).when(statement).setObject(anyInt(), Mockito.eq("bad"));
+
+        DBBatchWriter writer = new DBBatchWriter(dbConnectionPool, 2,
+            1, TimeUnit.HOURS);
+        CompletableFuture<Integer> bad = writer.submit(INSERT, "bad", 1);
+        CompletableFuture<Integer> good = writer.submit(INSERT, "good", 2);
+
+        assertEquals(1, good.get(5, TimeUnit.SECONDS).intValue());
+        assertTrue(bad.isCompletedExceptionally());
+        verify(statement, times(1)).addBatch();
+
+        writer.close();
+        dbConnectionPool.shutdown();
+    }
+}
@@ -0,0 +1,151 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.Constants.DBCPMessageException;
+import dbpool.utils.DBPoolTimeoutException;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for the circuit breaker and creation rate of DBConnectionPool .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBCircuitBreakerTest {
+
+    private static DBPoolConfiguration configuration(
+        final DataSource dataSource, final int maxPoolSize) {
+
+        DBPoolConfiguration configuration = new DBPoolConfiguration();
+        configuration.setDataSource(dataSource);
+        configuration.setMinPoolCache(0);
+        configuration.setMaxPoolSize(maxPoolSize);
+        configuration.setConnectionTimeout(100);
+        return configuration;
+    }
+
+    @Test
+    public void failFastWhileTheDatabaseIsDown() throws Exception {
+
+        final AtomicBoolean down = new AtomicBoolean(true);
+        final AtomicInteger attempts = new AtomicInteger();
+        final Connection connection =
+            new StubDriver().connect(StubDriver.URL + ":breaker", null);
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(new Answer<Connection>() {
+            @Override
+            public Connection answer(final InvocationOnMock invocation)
+                throws SQLException {
+                attempts.incrementAndGet();
+                if (down.get()) {
+                    throw new SQLException("connection refused");
+                }
+                return connection;
+            }
+        });
+
+        DBPoolConfiguration configuration = configuration(dataSource, 2);
+        configuration.setBreakerFailureThreshold(2);
+        configuration.setBreakerBackoff(400);
+        configuration.setBreakerMaxBackoff(400);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        for (int i = 0; i < 20 && !dbConnectionPool.isCircuitOpen(); i++) {
+            try {
+                dbConnectionPool.getConnection();
+                fail("The database is down");
+            } catch (SQLException exception) {
+                // a timeout while closed, or refused once it opened
+            }
+        }
+        assertTrue(dbConnectionPool.isCircuitOpen());
+
+        int attemptsWhenOpen = attempts.get();
+        long startTime = System.nanoTime();
+        try {
+            dbConnectionPool.getConnection();
+            fail("The breaker is open");
+        } catch (DBPoolTimeoutException exception) {
+            fail("The borrow should not wait");
+        } catch (SQLException exception) {
+            assertEquals(DBCPMessageException.MSG_DATABASE_UNAVAILABLE,
+                exception.getMessage());
+            assertEquals("connection refused",
+                exception.getCause().getMessage());
+        }
+        assertTrue(System.nanoTime() - startTime
+            < TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(dbConnectionPool.getConnectionAsync()
+            .isCompletedExceptionally());
+        assertEquals(attemptsWhenOpen, attempts.get());
+
+        // after the open time a probe closes the breaker
+        down.set(false);
+        Thread.sleep(450);
+        Connection borrowed = dbConnectionPool.getConnection(1,
+            TimeUnit.SECONDS);
+        assertFalse(dbConnectionPool.isCircuitOpen());
+        assertTrue(attempts.get() > attemptsWhenOpen);
+
+        borrowed.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void limitTheRateOfNewConnections() throws Exception {
+
+        StubDriver driver = new StubDriver();
+        final ConcurrentLinkedQueue<Connection> connections =
+            new ConcurrentLinkedQueue<Connection>();
+        for (int i = 0; i < 4; i++) {
+            connections.add(driver.connect(StubDriver.URL + ":rate", null));
+        }
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(new Answer<Connection>() {
+            @Override
+            public Connection answer(final InvocationOnMock invocation) {
+                return connections.poll();
+            }
+        });
+
+        DBPoolConfiguration configuration = configuration(dataSource, 4);
+        configuration.setMaxCreationRate(2);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        // a burst of two, then one connection every half second
+        long startTime = System.nanoTime();
+        List<Connection> borrowed = new ArrayList<Connection>();
+        for (int i = 0; i < 4; i++) {
+            borrowed.add(dbConnectionPool.getConnection(5, TimeUnit.SECONDS));
+        }
+        assertTrue(System.nanoTime() - startTime
+            >= TimeUnit.MILLISECONDS.toNanos(900));
+
+        for (Connection connection : borrowed) {
+            connection.close();
+        }
+        dbConnectionPool.shutdown();
+    }
+}
@@ -1,17 +1,43 @@
 import dbpool.dbmodule.DBCPBuilder;
 import dbpool.dbmodule.DBConnectionPool;
 import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.Constants.DBCPMessageException;
+import dbpool.utils.Constants.DBCPStartupMode;
+import dbpool.utils.DBConnectionInitializer;
 import dbpool.utils.DBPoolException;
+import dbpool.utils.DBPoolTimeoutException;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.fail;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 /**
@@ -40,20 +66,9 @@ public class DBConnectionPoolTest {
     public void throwExceptionAfterReferencingClosedConnection() throws
             SQLException, DBPoolException {
 
-        DBPoolConfiguration dbPoolConfigurationMock =
-            Mockito.mock(DBPoolConfiguration.class);
-
-        dbPoolConfigurationMock.setDbusername("admin");
-        dbPoolConfigurationMock.setDbpassword("admin");
-        dbPoolConfigurationMock.setDbDriver("//mysql");
-        dbPoolConfigurationMock.setDburl("//mysql:305");
-        dbPoolConfigurationMock.setMinPoolCache(5);
-        dbPoolConfigurationMock.setMaxPoolSize(30);
-
-        DBCPBuilder dbcpBuilderMock = Mockito.mock(DBCPBuilder.class);
-        dbcpBuilderMock.setConfiguration(dbPoolConfigurationMock);
-
-        DBConnectionPool dbConnectionPool = dbcpBuilderMock.build();
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
 
         Connection connection = dbConnectionPool.getConnection();
         connection.close();
@@ -61,9 +76,6 @@ public class DBConnectionPoolTest {
         // after closing connection should throw an exception if there are
         // more references to connection object
 
-        when(connection.createStatement()).thenThrow(
-            new SQLException());
-
         try {
             connection.createStatement();
             fail("Connection is still live");
@@ -71,10 +83,798 @@ public class DBConnectionPoolTest {
             // success
         }
 
+        // the same physical connection is lent again through a new handle,
+        // the stale reference must not reach it
+        Connection borrowed = dbConnectionPool.getConnection();
+        assertTrue(borrowed != connection);
+        try {
+            connection.createStatement();
+            fail("Stale reference reached a borrowed connection");
+        } catch (SQLException exception) {
+            // success
+        }
+        try {
+            connection.close();
+            fail("Stale reference returned a borrowed connection");
+        } catch (SQLException exception) {
+            // success
+        }
+        borrowed.createStatement();
+        borrowed.close();
+    }
+
+
+
+
+
+    @Test
+    public void reuseConnectionReturnedByTheSameThread() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(2, 4));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        Connection first = dbConnectionPool.getConnection();
+        Connection physical = first.unwrap(Connection.class);
+        first.close();
+        Connection second = dbConnectionPool.getConnection();
+
+        assertTrue(second.unwrap(Connection.class) == physical);
+        second.close();
+    }
+
+    @Test
+    public void staleHandleStaysClosedAfterMoreBorrows() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        Connection stale = dbConnectionPool.getConnection();
+        stale.close();
+
+        List<Connection> handles = new ArrayList<Connection>();
+        for (int i = 0; i < 8; i++) {
+            Connection connection = dbConnectionPool.getConnection();
+            assertTrue(connection != stale);
+            handles.add(connection);
+            assertTrue(stale.isClosed());
+            try {
+                stale.createStatement();
+                fail("The handle was closed");
+            } catch (SQLException exception) {
+                // expected
+            }
+            try {
+                stale.close();
+                fail("The handle was closed");
+            } catch (SQLException exception) {
+                // expected
+            }
+            assertFalse(connection.isClosed());
+            connection.close();
+        }
+
+        assertTrue(handles.get(0) != handles.get(4));
+        assertTrue(stale.isClosed());
+    }
+
+    @Test
+    public void concurrentClosesReturnTheConnectionOnce() throws Exception {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        for (int round = 0; round < 50; round++) {
+            final Connection connection = dbConnectionPool.getConnection();
+            final CountDownLatch start = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(4);
+            final AtomicInteger closed = new AtomicInteger();
+            for (int t = 0; t < 4; t++) {
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                            connection.close();
+                            closed.incrementAndGet();
+                        } catch (SQLException exception) {
+                            // lost the race
+                        } catch (InterruptedException exception) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                }).start();
+            }
+            start.countDown();
+            done.await();
+
+            assertEquals(1, closed.get());
+            assertEquals(1, dbConnectionPool.getTotalConnections());
+            assertEquals(1, dbConnectionPool.getIdleConnections());
+        }
+    }
+
+    @Test
+    public void growByMinCacheUntilMaxPoolSize() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(2, 5));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        List<Connection> borrowed = new ArrayList<Connection>();
+        for (int i = 0; i < 5; i++) {
+            Connection connection = dbConnectionPool.getConnection();
+            assertNotNull(connection);
+            borrowed.add(connection);
+        }
+
+        try {
+            dbConnectionPool.getConnection(10, TimeUnit.MILLISECONDS);
+            fail("Pool is already full");
+        } catch (DBPoolTimeoutException exception) {
+            // success
+        }
+
+        for (Connection connection : borrowed) {
+            connection.close();
+        }
+        assertNotNull(dbConnectionPool.getConnection());
     }
 
+    @Test
+    public void stealFromOtherStripesWithinPoolLimits() throws
+            SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("striped", 8, 8);
+        configuration.setStripes(4);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
 
+        List<Connection> borrowed = new ArrayList<Connection>();
+        for (int i = 0; i < 8; i++) {
+            borrowed.add(dbConnectionPool.getConnection());
+        }
+        assertEquals(0, dbConnectionPool.getIdleConnections());
+
+        try {
+            dbConnectionPool.getConnection(10, TimeUnit.MILLISECONDS);
+            fail("Pool is already full");
+        } catch (DBPoolTimeoutException exception) {
+            // success
+        }
 
+        for (Connection connection : borrowed) {
+            connection.close();
+        }
+        assertEquals(8, dbConnectionPool.getIdleConnections());
+        assertEquals(8, StubDriver.openedConnections(
+            StubDriver.URL + ":striped").get());
+        dbConnectionPool.shutdown();
+    }
 
+    @Test
+    public void neverHandTheSameConnectionToTwoThreads() throws
+            Exception {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(4, 8));
+        final DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        final Set<Connection> inUse = Collections.newSetFromMap(
+            new IdentityHashMap<Connection, Boolean>());
+        final AtomicReference<Throwable> failure =
+            new AtomicReference<Throwable>();
+        final CountDownLatch done = new CountDownLatch(8);
+
+        for (int t = 0; t < 8; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 2000; i++) {
+                            Connection connection =
+                                dbConnectionPool.getConnection();
+                            if (connection == null) {
+                                continue;
+                            }
+                            Connection physical =
+                                connection.unwrap(Connection.class);
+                            synchronized (inUse) {
+                                if (!inUse.add(physical)) {
+                                    throw new IllegalStateException(
+                                        "connection borrowed twice");
+                                }
+                            }
+                            synchronized (inUse) {
+                                inUse.remove(physical);
+                            }
+                            connection.close();
+                        }
+                    } catch (Throwable throwable) {
+                        failure.compareAndSet(null, throwable);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        done.await();
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void timeoutCarriesMeasuredWaitTime() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        Connection connection = dbConnectionPool.getConnection();
+        try {
+            dbConnectionPool.getConnection(50, TimeUnit.MILLISECONDS);
+            fail("Pool is already full");
+        } catch (DBPoolTimeoutException exception) {
+            assertTrue(exception.getWaitTime(TimeUnit.MILLISECONDS) >= 50);
+        }
+        connection.close();
+    }
+
+    @Test
+    public void handReturnedConnectionToWaitingThread() throws
+            Exception {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        final DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        Connection connection = dbConnectionPool.getConnection();
+        Connection physical = connection.unwrap(Connection.class);
+        final AtomicReference<Connection> handed =
+            new AtomicReference<Connection>();
+        Thread waiter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    handed.set(dbConnectionPool.getConnection(
+                        5, TimeUnit.SECONDS));
+                } catch (SQLException exception) {
+                    // handed stays null
+                }
+            }
+        });
+        waiter.start();
+
+        Thread.sleep(100);
+        connection.close();
+        waiter.join();
+
+        assertTrue(handed.get().unwrap(Connection.class) == physical);
+    }
+
+    @Test
+    public void refillInBackgroundBeforeCacheRunsDry() throws
+            Exception {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("refill", 2, 10);
+        configuration.setRefillLowWaterMark(2);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        Connection connection = dbConnectionPool.getConnection();
+
+        // one idle connection left, under the low-water mark
+        AtomicInteger opened =
+            StubDriver.openedConnections(configuration.getDburl());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (opened.get() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(4, opened.get());
+        connection.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void rejectBorrowAfterShutdown() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        dbConnectionPool.shutdown();
+
+        try {
+            dbConnectionPool.getConnection();
+            fail("Pool is shut down");
+        } catch (SQLException exception) {
+            // success
+        }
+    }
+
+    @Test
+    public void lazyStartupOpensNothingUntilFirstBorrow() throws
+            SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("lazy", 3, 10);
+        configuration.setStartupMode(DBCPStartupMode.LAZY);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        AtomicInteger opened =
+            StubDriver.openedConnections(configuration.getDburl());
+        assertEquals(0, opened.get());
+
+        Connection connection = dbConnectionPool.getConnection();
+        assertNotNull(connection);
+        assertTrue(opened.get() >= 1);
+        connection.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void asyncWarmStartupFillsInBackground() throws
+            Exception {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("warm", 6, 10);
+        configuration.setStartupMode(DBCPStartupMode.ASYNC_WARM);
+        configuration.setStartupParallelism(3);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        dbConnectionPool.awaitWarm().get(5, TimeUnit.SECONDS);
+
+        assertTrue(StubDriver.openedConnections(
+            configuration.getDburl()).get() >= 6);
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void reuseCachedPreparedStatement() throws
+            SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("statements", 1, 1);
+        configuration.setStatementCacheSize(2);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        int prepared = StubDriver.PREPARED_STATEMENTS.get();
+
+        Connection connection = dbConnectionPool.getConnection();
+        PreparedStatement first = connection.prepareStatement("SELECT 1");
+        PreparedStatement physical = first.unwrap(PreparedStatement.class);
+        first.close();
+        first.close();
+        assertTrue(first.isClosed());
+        connection.close();
+
+        connection = dbConnectionPool.getConnection();
+        PreparedStatement second = connection.prepareStatement("SELECT 1");
+        assertTrue(physical == second.unwrap(PreparedStatement.class));
+        assertTrue(connection == second.getConnection());
+        Mockito.verify(physical).clearParameters();
+
+        // different generated keys option, different statement
+        PreparedStatement keys = connection.prepareStatement("SELECT 1",
+            Statement.RETURN_GENERATED_KEYS);
+        assertTrue(physical != keys.unwrap(PreparedStatement.class));
+
+        second.close();
+        keys.close();
+        connection.close();
+
+        assertEquals(1, dbConnectionPool.getStatementCacheHits());
+        assertEquals(2, dbConnectionPool.getStatementCacheMisses());
+        assertEquals(prepared + 2, StubDriver.PREPARED_STATEMENTS.get());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void resetCachedStatementSettingsForTheNextBorrower() throws
+            SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("settings", 1, 1);
+        configuration.setStatementCacheSize(2);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        Connection connection = dbConnectionPool.getConnection();
+        PreparedStatement first = connection.prepareStatement("SELECT 1");
+        PreparedStatement physical = first.unwrap(PreparedStatement.class);
+        final AtomicInteger maxRows = new AtomicInteger();
+        Mockito.doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                maxRows.set((Integer) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(physical).setMaxRows(Mockito.anyInt());
+        when(physical.getMaxRows()).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(final InvocationOnMock invocation) {
+                return maxRows.get();
+            }
+        });
+
+        first.setMaxRows(1);
+        first.setQueryTimeout(5);
+        first.close();
+        connection.close();
+
+        connection = dbConnectionPool.getConnection();
+        PreparedStatement second = connection.prepareStatement("SELECT 1");
+        assertTrue(physical == second.unwrap(PreparedStatement.class));
+        assertEquals(0, second.getMaxRows());
+        Mockito.verify(physical).setQueryTimeout(0);
+
+        // a statement that must not be pooled is closed, not cached
+        second.closeOnCompletion();
+        second.close();
+        Mockito.verify(physical).close();
+        PreparedStatement notPooled = connection.prepareStatement("SELECT 1");
+        PreparedStatement other = notPooled.unwrap(PreparedStatement.class);
+        assertTrue(physical != other);
+        notPooled.setPoolable(false);
+        notPooled.close();
+        Mockito.verify(other).close();
+
+        connection.close();
+        assertEquals(1, dbConnectionPool.getStatementCacheHits());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedStatement() throws
+            SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("eviction", 1, 1);
+        configuration.setStatementCacheSize(2);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        Connection connection = dbConnectionPool.getConnection();
+
+        PreparedStatement eldest = connection.prepareStatement("SELECT 1");
+        PreparedStatement physical = eldest.unwrap(PreparedStatement.class);
+        eldest.close();
+        connection.prepareStatement("SELECT 2").close();
+        connection.prepareStatement("SELECT 3").close();
+
+        assertEquals(1, dbConnectionPool.getStatementCacheEvictions());
+        Mockito.verify(physical).close();
+
+        try {
+            eldest.execute();
+            fail("closed statement should not be usable");
+        } catch (SQLException exception) {
+            // expected
+        }
+
+        connection.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void closeStatementsLeftOpenOnReturn() throws
+            SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("forgotten", 1, 1);
+        configuration.setStatementCacheSize(2);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        Connection connection = dbConnectionPool.getConnection();
+        Statement physicalPlain =
+            connection.unwrap(Connection.class).createStatement();
+
+        Statement plain = connection.createStatement();
+        plain.executeQuery("SELECT 1");
+        PreparedStatement cached = connection.prepareStatement("SELECT 1");
+        PreparedStatement physical = cached.unwrap(PreparedStatement.class);
+        ResultSet cursor = Mockito.mock(ResultSet.class);
+        when(physical.executeQuery()).thenReturn(cursor);
+        cached.executeQuery();
+        connection.prepareStatement("SELECT 2").close();
+        connection.close();
+
+        assertTrue(plain.isClosed());
+        assertTrue(cached.isClosed());
+        Mockito.verify(physicalPlain).close();
+        Mockito.verify(cursor).close();
+        Mockito.verify(physical, Mockito.never()).close();
+        assertEquals(2, dbConnectionPool.getAutoClosedStatements());
+
+        // the cached statement went back to the cache, not to the driver
+        connection = dbConnectionPool.getConnection();
+        PreparedStatement reused = connection.prepareStatement("SELECT 1");
+        assertTrue(physical == reused.unwrap(PreparedStatement.class));
+        reused.close();
+        connection.close();
+
+        assertEquals(2, dbConnectionPool.getAutoClosedStatements());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void handOutTheHandleFromCallablesAndResultSets() throws
+            SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("handle", 1, 1);
+        configuration.setStatementCacheSize(2);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        Connection connection = dbConnectionPool.getConnection();
+        Connection physicalConnection = connection.unwrap(Connection.class);
+        CallableStatement physicalCall =
+            Mockito.mock(CallableStatement.class);
+        when(physicalConnection.prepareCall("{call p()}"))
+            .thenReturn(physicalCall);
+
+        CallableStatement call = connection.prepareCall("{call p()}");
+        assertTrue(call.getConnection() == connection);
+
+        Statement plain = connection.createStatement();
+        assertTrue(plain.executeQuery("SELECT 1").getStatement() == plain);
+
+        PreparedStatement cached = connection.prepareStatement("SELECT 1");
+        PreparedStatement physical = cached.unwrap(PreparedStatement.class);
+        ResultSet cursor = Mockito.mock(ResultSet.class);
+        when(physical.executeQuery()).thenReturn(cursor);
+        ResultSet result = cached.executeQuery();
+        assertTrue(result.getStatement() == cached);
+
+        // closing through the result set still goes back to the cache
+        result.getStatement().close();
+        Mockito.verify(cursor).close();
+        Mockito.verify(physical, Mockito.never()).close();
+
+        connection.close();
+        assertTrue(call.isClosed());
+        Mockito.verify(physicalCall).close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void initializeNewConnectionsBeforeTheFirstBorrow() throws
+            SQLException, DBPoolException {
+
+        final AtomicReference<Connection> initialized =
+            new AtomicReference<Connection>();
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("init", 1, 1);
+        configuration.setStatementCacheSize(2);
+        configuration.setInitSql(Arrays.asList("SET TIME ZONE 'UTC'",
+            "SET application_name = 'dbpool'"));
+        configuration.setConnectionInitializer(
+            new DBConnectionInitializer() {
+                @Override
+                public void initialize(final Connection connection)
+                    throws SQLException {
+                    connection.setClientInfo("ApplicationName", "dbpool");
+                    initialized.set(connection);
+                }
+            });
+        configuration.setWarmupStatements(
+            Collections.singletonList("SELECT 1"));
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        int prepared = StubDriver.PREPARED_STATEMENTS.get();
+
+        Connection connection = dbConnectionPool.getConnection();
+        Connection physical = connection.unwrap(Connection.class);
+        assertTrue(physical == initialized.get());
+
+        Statement statement = physical.createStatement();
+        InOrder inOrder = Mockito.inOrder(statement, physical);
+        inOrder.verify(statement).execute("SET TIME ZONE 'UTC'");
+        inOrder.verify(statement).execute("SET application_name = 'dbpool'");
+        inOrder.verify(statement).close();
+        inOrder.verify(physical).setClientInfo("ApplicationName", "dbpool");
+
+        // the warm-up statement is already in the cache
+        connection.prepareStatement("SELECT 1").close();
+        assertEquals(1, dbConnectionPool.getStatementCacheHits());
+        assertEquals(0, dbConnectionPool.getStatementCacheMisses());
+        assertEquals(prepared, StubDriver.PREPARED_STATEMENTS.get());
+
+        connection.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void closeTheConnectionWhenTheInitializerThrows() throws
+            Exception {
+
+        StubDriver driver = new StubDriver();
+        final Connection rejected =
+            driver.connect(StubDriver.URL + ":rejected", null);
+        final List<Connection> connections = new ArrayList<Connection>();
+        connections.add(rejected);
+        for (int i = 0; i < 2; i++) {
+            connections.add(driver.connect(StubDriver.URL + ":accepted",
+                null));
+        }
+        final AtomicInteger opened = new AtomicInteger();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(new Answer<Connection>() {
+            @Override
+            public Connection answer(final InvocationOnMock invocation) {
+                return connections.get(opened.getAndIncrement());
+            }
+        });
+
+        DBPoolConfiguration configuration = new DBPoolConfiguration();
+        configuration.setDataSource(dataSource);
+        configuration.setMinPoolCache(0);
+        configuration.setMaxPoolSize(2);
+        configuration.setConnectionInitializer(
+            new DBConnectionInitializer() {
+                @Override
+                public void initialize(final Connection connection) {
+                    if (connection == rejected) {
+                        throw new IllegalStateException("bad session");
+                    }
+                }
+            });
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        try {
+            dbConnectionPool.getConnection(200, TimeUnit.MILLISECONDS);
+            fail("The initializer failed");
+        } catch (DBPoolTimeoutException exception) {
+            assertEquals(DBCPMessageException.MSG_CONNECTION_INIT_FAILED,
+                exception.getCause().getMessage());
+        }
+        Mockito.verify(rejected).close();
+
+        // the slot of the failed connection was released
+        Connection first = dbConnectionPool.getConnection(5, TimeUnit.SECONDS);
+        Connection second =
+            dbConnectionPool.getConnection(5, TimeUnit.SECONDS);
+        assertEquals(2, dbConnectionPool.getTotalConnections());
+
+        first.close();
+        second.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void openConnectionsFromSuppliedDataSource() throws
+            SQLException, DBPoolException {
+
+        final StubDriver driver = new StubDriver();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(
+            new Answer<Connection>() {
+                @Override
+                public Connection answer(final InvocationOnMock invocation)
+                    throws SQLException {
+                    return driver.connect(StubDriver.URL + ":datasource",
+                        null);
+                }
+            });
+
+        DBPoolConfiguration configuration = new DBPoolConfiguration();
+        configuration.setDataSource(dataSource);
+        configuration.setMinPoolCache(2);
+        configuration.setMaxPoolSize(4);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        Connection connection = dbConnectionPool.getConnection();
+        assertNotNull(connection);
+        connection.close();
+
+        Mockito.verify(dataSource, Mockito.times(2)).getConnection();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void rejectUnknownDriverAtBuildTime() throws DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("unknown", 1, 1);
+        configuration.setDbDriver("com.example.MissingDriver");
+        configuration.setStartupMode(DBCPStartupMode.LAZY);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+
+        try {
+            dbcpBuilder.build();
+            fail("unknown driver should fail the build");
+        } catch (SQLException exception) {
+            // expected even if no connection is opened at startup
+        }
+    }
+
+    @Test
+    public void skipRedundantSessionCalls() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        Connection connection = dbConnectionPool.getConnection();
+        Connection physical = connection.unwrap(Connection.class);
+        connection.setAutoCommit(true);
+        connection.setReadOnly(true);
+        connection.setReadOnly(true);
+
+        assertTrue(connection.getAutoCommit());
+        assertTrue(connection.isReadOnly());
+        // defaults applied when the connection was opened
+        Mockito.verify(physical, Mockito.times(1)).setAutoCommit(true);
+        Mockito.verify(physical, Mockito.times(1)).getAutoCommit();
+        Mockito.verify(physical, Mockito.times(1)).setReadOnly(true);
+        Mockito.verify(physical, Mockito.times(1)).isReadOnly();
+        connection.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void resetOnlyChangedSessionStateOnReturn() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        Connection connection = dbConnectionPool.getConnection();
+        Connection physical = connection.unwrap(Connection.class);
+        connection.setAutoCommit(false);
+        connection.setCatalog("reports");
+        connection.close();
+
+        Mockito.verify(physical).rollback();
+        Mockito.verify(physical, Mockito.times(2)).setAutoCommit(true);
+        Mockito.verify(physical).setCatalog(null);
+        Mockito.verify(physical, Mockito.never()).setReadOnly(
+            Mockito.anyBoolean());
+        Mockito.verify(physical, Mockito.never()).setTransactionIsolation(
+            Mockito.anyInt());
+
+        // the next borrower sees the defaults and nothing is reset again
+        connection = dbConnectionPool.getConnection();
+        assertTrue(connection.getAutoCommit());
+        assertNull(connection.getCatalog());
+        connection.close();
+        Mockito.verify(physical, Mockito.times(1)).rollback();
+        Mockito.verify(physical, Mockito.times(2)).setAutoCommit(true);
+        dbConnectionPool.shutdown();
+    }
 
 }
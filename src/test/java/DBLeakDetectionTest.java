@@ -0,0 +1,141 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.DBConnectionLeak;
+import dbpool.utils.DBLeakListener;
+import dbpool.utils.DBPoolException;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for the leak detection of DBConnectionPool .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBLeakDetectionTest {
+
+    private final BlockingQueue<DBConnectionLeak> leaks =
+        new LinkedBlockingQueue<DBConnectionLeak>();
+
+    private final DBLeakListener listener = new DBLeakListener() {
+        @Override
+        public void onLeak(final DBConnectionLeak leak) {
+            leaks.add(leak);
+        }
+    };
+
+    @Test
+    public void reportSampledBorrowStack() throws
+            SQLException, DBPoolException, InterruptedException {
+
+        DBConnectionPool dbConnectionPool = build("sampled", 1, false);
+
+        Connection connection = dbConnectionPool.getConnection();
+        DBConnectionLeak leak = leaks.poll(5, TimeUnit.SECONDS);
+
+        assertNotNull(leak);
+        assertTrue(leak.isAcquisitionTrace());
+        assertFalse(leak.isReclaimed());
+        assertEquals(Thread.currentThread().getName(), leak.getThreadName());
+        assertTrue(leak.getHeldMillis() >= 50);
+        assertTrue(containsMethod(leak, "reportSampledBorrowStack"));
+
+        // reported once per borrow
+        assertNull(leaks.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, dbConnectionPool.getLeakedConnections());
+        connection.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void reportHolderStackWhenNotSampled() throws
+            SQLException, DBPoolException, InterruptedException {
+
+        DBConnectionPool dbConnectionPool = build("deferred", 0, false);
+
+        Connection connection = dbConnectionPool.getConnection();
+        DBConnectionLeak leak = leaks.poll(5, TimeUnit.SECONDS);
+
+        assertNotNull(leak);
+        assertFalse(leak.isAcquisitionTrace());
+        assertTrue(leak.getStackTrace().length > 0);
+        connection.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void reclaimLeakedConnection() throws
+            SQLException, DBPoolException, InterruptedException {
+
+        DBConnectionPool dbConnectionPool = build("reclaim", 0, true);
+
+        Connection connection = dbConnectionPool.getConnection();
+        DBConnectionLeak leak = leaks.poll(5, TimeUnit.SECONDS);
+
+        assertNotNull(leak);
+        assertTrue(leak.isReclaimed());
+        try {
+            connection.createStatement();
+            fail("reclaimed connection should not be usable");
+        } catch (SQLException exception) {
+            // expected
+        }
+
+        // the pool is usable again
+        Connection replacement =
+            dbConnectionPool.getConnection(5, TimeUnit.SECONDS);
+        assertNotNull(replacement);
+        replacement.close();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void ignoreConnectionsReturnedInTime() throws
+            SQLException, DBPoolException, InterruptedException {
+
+        DBConnectionPool dbConnectionPool = build("intime", 1, false);
+
+        for (int i = 0; i < 10; i++) {
+            dbConnectionPool.getConnection().close();
+        }
+        assertNull(leaks.poll(200, TimeUnit.MILLISECONDS));
+        dbConnectionPool.shutdown();
+    }
+
+    private DBConnectionPool build(final String name, final int sampleRate,
+            final boolean reclaim) throws SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration(name, 1, 1);
+        configuration.setLeakDetectionThreshold(50);
+        configuration.setLeakStackSampleRate(sampleRate);
+        configuration.setLeakReclaim(reclaim);
+        configuration.setLeakListener(listener);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        return dbcpBuilder.build();
+    }
+
+    private static boolean containsMethod(final DBConnectionLeak leak,
+            final String methodName) {
+
+        for (StackTraceElement element : leak.getStackTrace()) {
+            if (methodName.equals(element.getMethodName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
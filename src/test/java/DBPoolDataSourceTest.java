@@ -0,0 +1,205 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolDataSource;
+import dbpool.utils.DBPoolException;
+import dbpool.utils.DBPoolTimeoutException;
+import org.junit.Test;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.DataSource;
+import javax.sql.PooledConnection;
+import javax.sql.StatementEvent;
+import javax.sql.StatementEventListener;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Unit test for DBPoolDataSource class .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBPoolDataSourceTest {
+
+    @Test
+    public void lendConnectionsOfThePool() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(
+            StubDriver.configuration("datasource", 1, 1));
+        DataSource dataSource = dbcpBuilder.buildDataSource();
+        DBConnectionPool dbConnectionPool =
+            dataSource.unwrap(DBConnectionPool.class);
+
+        Connection connection = dataSource.getConnection();
+        assertEquals(1, dbConnectionPool.getBorrowedConnections());
+        assertFalse(connection.isClosed());
+
+        connection.close();
+        assertTrue(connection.isClosed());
+        assertEquals(0, dbConnectionPool.getBorrowedConnections());
+        assertTrue(dataSource.isWrapperFor(DBConnectionPool.class));
+        assertFalse(dataSource.isWrapperFor(String.class));
+
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void waitUpToTheLoginTimeout() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        DBPoolDataSource dataSource = dbcpBuilder.buildDataSource();
+        dataSource.setLoginTimeout(1);
+
+        Connection connection = dataSource.getConnection();
+        long startTime = System.nanoTime();
+        try {
+            dataSource.getConnection();
+            fail("Pool is already full");
+        } catch (DBPoolTimeoutException exception) {
+            assertTrue(System.nanoTime() - startTime >= 1000000000L);
+        }
+
+        connection.close();
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void returnPooledConnectionOnClose() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        DBPoolDataSource dataSource = dbcpBuilder.buildDataSource();
+        DBConnectionPool dbConnectionPool =
+            dataSource.unwrap(DBConnectionPool.class);
+
+        final AtomicInteger closed = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        PooledConnection pooledConnection = dataSource.getPooledConnection();
+        pooledConnection.addConnectionEventListener(
+            new ConnectionEventListener() {
+                @Override
+                public void connectionClosed(final ConnectionEvent event) {
+                    closed.incrementAndGet();
+                }
+
+                @Override
+                public void connectionErrorOccurred(
+                    final ConnectionEvent event) {
+                    errors.incrementAndGet();
+                }
+            });
+
+        // closing a logical connection keeps the borrow
+        Connection first = pooledConnection.getConnection();
+        first.createStatement();
+        first.close();
+        first.close();
+        assertTrue(first.isClosed());
+        assertEquals(1, closed.get());
+        assertEquals(1, dbConnectionPool.getBorrowedConnections());
+        try {
+            first.createStatement();
+            fail("Logical connection is closed");
+        } catch (SQLException exception) {
+            // success
+        }
+
+        Connection second = pooledConnection.getConnection();
+        assertTrue(second != first);
+        assertFalse(second.isClosed());
+        second.createStatement();
+
+        pooledConnection.close();
+        pooledConnection.close();
+        assertTrue(second.isClosed());
+        assertEquals(1, closed.get());
+        assertEquals(0, errors.get());
+        assertEquals(0, dbConnectionPool.getBorrowedConnections());
+        try {
+            pooledConnection.getConnection();
+            fail("Pooled connection is closed");
+        } catch (SQLException exception) {
+            // success
+        }
+
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void raiseStatementAndErrorEvents() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 1));
+        DBPoolDataSource dataSource = dbcpBuilder.buildDataSource();
+
+        final AtomicInteger statementsClosed = new AtomicInteger();
+        final AtomicInteger statementErrors = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        PooledConnection pooledConnection = dataSource.getPooledConnection();
+        pooledConnection.addStatementEventListener(
+            new StatementEventListener() {
+                @Override
+                public void statementClosed(final StatementEvent event) {
+                    statementsClosed.incrementAndGet();
+                }
+
+                @Override
+                public void statementErrorOccurred(
+                    final StatementEvent event) {
+                    statementErrors.incrementAndGet();
+                }
+            });
+        pooledConnection.addConnectionEventListener(
+            new ConnectionEventListener() {
+                @Override
+                public void connectionClosed(final ConnectionEvent event) {
+                    // not checked
+                }
+
+                @Override
+                public void connectionErrorOccurred(
+                    final ConnectionEvent event) {
+                    errors.incrementAndGet();
+                }
+            });
+
+        Connection connection = pooledConnection.getConnection();
+        PreparedStatement statement = connection.prepareStatement("SELECT 1");
+        assertTrue(statement.getConnection() == connection);
+        statement.close();
+        assertEquals(1, statementsClosed.get());
+
+        Connection borrowed = connection.unwrap(Connection.class);
+        PreparedStatement physical = borrowed.prepareStatement("SELECT 2");
+        doReturn(physical).when(borrowed).prepareStatement("SELECT 2");
+        doThrow(new SQLException("link failure", "08S01"))
+            .when(physical).executeQuery();
+        statement = connection.prepareStatement("SELECT 2");
+        try {
+            statement.executeQuery();
+            fail("The connection is broken");
+        } catch (SQLException exception) {
+            assertEquals("08S01", exception.getSQLState());
+        }
+        assertEquals(1, statementErrors.get());
+        assertEquals(1, errors.get());
+
+        pooledConnection.close();
+        dataSource.shutdown();
+    }
+}
@@ -0,0 +1,134 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.DBPoolException;
+import dbpool.utils.DBValidationPolicy;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+
+/**
+ * Unit test for the idle and lifetime housekeeping of DBConnectionPool .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBPoolHousekeeperTest {
+
+    private static final long WAIT_MILLIS = 5000;
+
+    @Test
+    public void shrinkBackToMinIdle() throws
+            SQLException, DBPoolException, InterruptedException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("shrink", 1, 5);
+        configuration.setMinIdle(1);
+        configuration.setIdleTimeout(50);
+        configuration.setHousekeepingPeriod(20);
+        DBConnectionPool dbConnectionPool = build(configuration);
+
+        List<Connection> connections = new ArrayList<Connection>();
+        for (int i = 0; i < 4; i++) {
+            connections.add(dbConnectionPool.getConnection());
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        assertTrue(dbConnectionPool.getTotalConnections() >= 4);
+
+        assertTrue(awaitTotal(dbConnectionPool, 1));
+        assertEquals(1, dbConnectionPool.getIdleConnections());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void replaceConnectionsPastMaxLifetime() throws
+            SQLException, DBPoolException, InterruptedException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("lifetime", 2, 5);
+        configuration.setIdleTimeout(0);
+        configuration.setMaxLifetime(50);
+        configuration.setHousekeepingPeriod(20);
+        DBConnectionPool dbConnectionPool = build(configuration);
+
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (dbConnectionPool.getDestroyedConnections() < 2
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(dbConnectionPool.getDestroyedConnections() >= 2);
+        assertTrue(awaitTotal(dbConnectionPool, 2));
+        assertTrue(dbConnectionPool.getCreatedConnections() >= 4);
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void closeExpiredConnectionOnReturn() throws
+            SQLException, DBPoolException, InterruptedException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("expired", 1, 1);
+        configuration.setMaxLifetime(20);
+        configuration.setHousekeepingPeriod(TimeUnit.HOURS.toMillis(1));
+        DBConnectionPool dbConnectionPool = build(configuration);
+
+        Connection connection = dbConnectionPool.getConnection();
+        Thread.sleep(40);
+        connection.close();
+
+        assertEquals(1, dbConnectionPool.getDestroyedConnections());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void pingLongIdleConnections() throws
+            SQLException, DBPoolException, InterruptedException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("keepalive", 1, 1);
+        configuration.setValidationStrategy(DBValidationPolicy.none());
+        configuration.setIdleTimeout(0);
+        configuration.setKeepaliveTime(30);
+        configuration.setHousekeepingPeriod(10);
+        DBConnectionPool dbConnectionPool = build(configuration);
+
+        Connection connection = dbConnectionPool.getConnection();
+        Connection physical = connection.unwrap(Connection.class);
+        connection.close();
+
+        Thread.sleep(200);
+        Mockito.verify(physical, Mockito.atLeast(2)).isValid(anyInt());
+        assertEquals(1, dbConnectionPool.getTotalConnections());
+        dbConnectionPool.shutdown();
+    }
+
+    private static DBConnectionPool build(
+            final DBPoolConfiguration configuration)
+            throws SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        return dbcpBuilder.build();
+    }
+
+    private static boolean awaitTotal(final DBConnectionPool dbConnectionPool,
+            final int total) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (dbConnectionPool.getTotalConnections() != total
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return dbConnectionPool.getTotalConnections() == total;
+    }
+}
@@ -0,0 +1,125 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.dbmodule.DBPoolHistogramSnapshot;
+import dbpool.dbmodule.DBPoolMetricsSnapshot;
+import dbpool.utils.DBPoolException;
+import dbpool.utils.DBPoolTimeoutException;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for the metrics of DBConnectionPool .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBPoolMetricsTest {
+
+    @Test
+    public void snapshotCountsBorrowsAndTimeouts() throws
+            SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("metrics", 2, 2);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        Connection first = dbConnectionPool.getConnection();
+        Connection second = dbConnectionPool.getConnection();
+        try {
+            dbConnectionPool.getConnection(10, TimeUnit.MILLISECONDS);
+            fail("pool should be exhausted");
+        } catch (DBPoolTimeoutException exception) {
+            // expected
+        }
+
+        DBPoolMetricsSnapshot snapshot = dbConnectionPool.getMetrics();
+        assertEquals(0, snapshot.getIdleConnections());
+        assertEquals(2, snapshot.getBorrowedConnections());
+        assertEquals(2, snapshot.getTotalConnections());
+        assertEquals(2, snapshot.getCreatedConnections());
+        assertEquals(1, snapshot.getTimeouts());
+        assertEquals(2, snapshot.getBorrowWaitTime().getCount());
+        assertEquals(2, snapshot.getCreationTime().getCount());
+
+        first.close();
+        second.close();
+        dbConnectionPool.shutdown();
+
+        snapshot = dbConnectionPool.getMetrics();
+        assertEquals(2, snapshot.getHoldTime().getCount());
+        assertEquals(2, snapshot.getDestroyedConnections());
+        assertEquals(0, snapshot.getTotalConnections());
+    }
+
+    @Test
+    public void estimatePercentilesFromBuckets() throws
+            SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("percentiles", 1, 1);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        for (int i = 0; i < 100; i++) {
+            dbConnectionPool.getConnection().close();
+        }
+
+        DBPoolHistogramSnapshot histogram =
+            dbConnectionPool.getMetrics().getBorrowWaitTime();
+        long p50 = histogram.percentile(0.5, TimeUnit.NANOSECONDS);
+        long p99 = histogram.percentile(0.99, TimeUnit.NANOSECONDS);
+        long max = histogram.percentile(1, TimeUnit.NANOSECONDS);
+        assertEquals(100, histogram.getCount());
+        assertTrue(p50 > 0);
+        assertTrue(p50 <= p99);
+        assertTrue(p99 <= max);
+
+        long buckets = 0;
+        for (long count : histogram.getBucketCounts()) {
+            buckets += count;
+        }
+        assertEquals(100, buckets);
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void registerMXBeanUntilShutdown() throws Exception {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("jmx", 2, 4);
+        configuration.setPoolName("payments");
+        configuration.setRegisterMBean(true);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(
+            "dbpool:type=DBConnectionPool,name=\"payments\"");
+        assertTrue(server.isRegistered(name));
+
+        dbConnectionPool.getConnection().close();
+        assertEquals(2, server.getAttribute(name, "TotalConnections"));
+        CompositeData borrowWait =
+            (CompositeData) server.getAttribute(name, "BorrowWaitTime");
+        assertEquals(1L, borrowWait.get("count"));
+
+        dbConnectionPool.shutdown();
+        assertFalse(server.isRegistered(name));
+    }
+}
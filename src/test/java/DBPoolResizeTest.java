@@ -0,0 +1,118 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.Constants.DBCPMessageException;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Unit test for the runtime resize of DBConnectionPool .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBPoolResizeTest {
+
+    private static void awaitTotalConnections(final DBConnectionPool pool,
+        final int expected) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.getTotalConnections() != expected
+            && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, pool.getTotalConnections());
+    }
+
+    @Test
+    public void shrinkOnReturnAndGrowWithoutRebuilding() throws Exception {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration("resize", 1, 4));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        List<Connection> borrowed = new ArrayList<Connection>();
+        for (int i = 0; i < 4; i++) {
+            borrowed.add(dbConnectionPool.getConnection());
+        }
+
+        // borrows in flight keep working after the pool shrinks
+        dbConnectionPool.resize(1, 2);
+        assertEquals(2, dbConnectionPool.getMaxPoolSize());
+        assertEquals(4, dbConnectionPool.getTotalConnections());
+        for (Connection connection : borrowed) {
+            assertFalse(connection.isClosed());
+            connection.createStatement();
+        }
+
+        long destroyed = dbConnectionPool.getDestroyedConnections();
+        for (Connection connection : borrowed) {
+            connection.close();
+        }
+        assertEquals(destroyed + 2, dbConnectionPool.getDestroyedConnections());
+        assertEquals(2, dbConnectionPool.getTotalConnections());
+        assertEquals(2, dbConnectionPool.getIdleConnections());
+
+        // growing opens the new min cache in the background
+        dbConnectionPool.resize(3, 6);
+        awaitTotalConnections(dbConnectionPool, 3);
+
+        borrowed.clear();
+        for (int i = 0; i < 6; i++) {
+            borrowed.add(dbConnectionPool.getConnection(5, TimeUnit.SECONDS));
+        }
+        assertEquals(6, dbConnectionPool.getTotalConnections());
+        for (Connection connection : borrowed) {
+            connection.close();
+        }
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void reconfigureBoundsAndResizeOverJmx() throws Exception {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("reconfigure", 1, 4);
+        configuration.setPoolName("reconfigured");
+        configuration.setRegisterMBean(true);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        try {
+            dbConnectionPool.resize(3, 2);
+            fail("The min cache is over the max pool size");
+        } catch (IllegalArgumentException exception) {
+            assertEquals(DBCPMessageException.MSG_INVERTED_POOL_BOUNDS,
+                exception.getMessage());
+        }
+        assertEquals(4, dbConnectionPool.getMaxPoolSize());
+
+        DBPoolConfiguration bounds = StubDriver.configuration(2, 3);
+        bounds.setMinIdle(2);
+        dbConnectionPool.reconfigure(bounds);
+        assertEquals(2, dbConnectionPool.getMinPoolCache());
+        assertEquals(3, dbConnectionPool.getTargetSize());
+        awaitTotalConnections(dbConnectionPool, 2);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(
+            "dbpool:type=DBConnectionPool,name=\"reconfigured\"");
+        server.invoke(name, "resize", new Object[] {1, 8},
+            new String[] {int.class.getName(), int.class.getName()});
+        assertEquals(8, server.getAttribute(name, "MaxPoolSize"));
+        assertEquals(8, dbConnectionPool.getTargetSize());
+
+        dbConnectionPool.shutdown();
+    }
+}
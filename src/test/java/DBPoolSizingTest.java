@@ -0,0 +1,92 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.dbmodule.DBPoolSizingDecision;
+import dbpool.utils.DBPoolException;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for the adaptive sizing of DBConnectionPool .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBPoolSizingTest {
+
+    @Test
+    public void keepMaxPoolSizeWhenDisabled() throws
+            SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(StubDriver.configuration(1, 10));
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        assertEquals(10, dbConnectionPool.getTargetSize());
+        assertTrue(dbConnectionPool.getSizingDecisions().isEmpty());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void growWithDemandAndShrinkWhenIdle() throws Exception {
+
+        DBPoolConfiguration configuration =
+            StubDriver.configuration("sizing", 1, 10);
+        configuration.setSizingPeriod(100);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        final DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+        assertEquals(1, dbConnectionPool.getTargetSize());
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final CountDownLatch done = new CountDownLatch(6);
+        for (int t = 0; t < 6; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        while (running.get()) {
+                            Connection connection =
+                                dbConnectionPool.getConnection();
+                            Thread.sleep(20);
+                            connection.close();
+                        }
+                    } catch (Exception exception) {
+                        // the test checks the sizing only
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        Thread.sleep(1500);
+        running.set(false);
+        done.await();
+
+        int grownSize = dbConnectionPool.getTargetSize();
+        assertTrue(grownSize > 1);
+        List<DBPoolSizingDecision> decisions =
+            dbConnectionPool.getSizingDecisions();
+        assertFalse(decisions.isEmpty());
+        assertTrue(decisions.get(0).getNewSize()
+            > decisions.get(0).getPreviousSize());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dbConnectionPool.getTargetSize() > 1
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, dbConnectionPool.getTargetSize());
+        assertEquals(1, dbConnectionPool.getTotalConnections());
+        dbConnectionPool.shutdown();
+    }
+}
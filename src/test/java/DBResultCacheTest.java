@@ -0,0 +1,203 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBCachedResult;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.dbmodule.DBResultCache;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for DBResultCache class .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBResultCacheTest {
+
+    private static final String TARIFF =
+        "SELECT code, price FROM tariff WHERE zone = ?";
+
+    private static final String GARAGE =
+        "SELECT code, name FROM garage WHERE city = ?";
+
+    private static final List<String> TARIFF_TABLE =
+        Collections.singletonList("tariff");
+
+    private static final List<String> GARAGE_TABLE =
+        Collections.singletonList("GARAGE");
+
+    private PreparedStatement statement;
+
+    private DBConnectionPool dbConnectionPool;
+
+    private static ResultSet resultSet(final String code,
+        final Object value) throws SQLException {
+
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("code");
+        when(metaData.getColumnLabel(2)).thenReturn("value");
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject(1)).thenReturn(code);
+        when(resultSet.getObject(2)).thenReturn(value);
+        return resultSet;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+
+        statement = Mockito.mock(PreparedStatement.class);
+        ResultSet first = resultSet("A", 10);
+        ResultSet second = resultSet("B", 20);
+        ResultSet third = resultSet("C", 30);
+        when(statement.executeQuery()).thenReturn(first, second, third);
+
+        Connection connection =
+            new StubDriver().connect(StubDriver.URL + ":cache", null);
+        doReturn(statement).when(connection).prepareStatement(anyString());
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        DBPoolConfiguration configuration = new DBPoolConfiguration();
+        configuration.setDataSource(dataSource);
+        configuration.setMinPoolCache(1);
+        configuration.setMaxPoolSize(1);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        dbConnectionPool = dbcpBuilder.build();
+    }
+
+    @Test
+    public void serveRepeatedLookupsFromTheCache() throws SQLException {
+
+        DBResultCache cache = new DBResultCache(dbConnectionPool,
+            1, TimeUnit.HOURS, 1 << 20);
+
+        DBCachedResult result = cache.query(TARIFF, TARIFF_TABLE, "north");
+        assertEquals(1, result.getRowCount());
+        assertEquals("A", result.getObject(0, "CODE"));
+        assertEquals(10, result.getObject(0, 2));
+
+        DBCachedResult cached = cache.query(TARIFF, TARIFF_TABLE, "north");
+        assertEquals("A", cached.getObject(0, 1));
+        assertEquals("B", cache.query(TARIFF, TARIFF_TABLE, "south")
+            .getObject(0, 1));
+
+        verify(statement, times(2)).executeQuery();
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, dbConnectionPool.getBorrowedConnections());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void reloadAfterTheTimeToLive() throws Exception {
+
+        DBResultCache cache = new DBResultCache(dbConnectionPool,
+            50, TimeUnit.MILLISECONDS, 1 << 20);
+
+        assertEquals("A", cache.query(TARIFF, TARIFF_TABLE, "north")
+            .getObject(0, 1));
+        Thread.sleep(100);
+        assertEquals("B", cache.query(TARIFF, TARIFF_TABLE, "north")
+            .getObject(0, 1));
+
+        verify(statement, times(2)).executeQuery();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void evictTheLeastRecentlyUsedOverTheSizeLimit() throws
+            SQLException {
+
+        long resultSize = new DBResultCache(dbConnectionPool,
+            1, TimeUnit.HOURS, 1 << 20)
+            .query(TARIFF, TARIFF_TABLE, "probe").getSizeInBytes();
+        DBResultCache cache = new DBResultCache(dbConnectionPool,
+            1, TimeUnit.HOURS, resultSize + resultSize / 2);
+
+        cache.query(TARIFF, TARIFF_TABLE, "north");
+        cache.query(TARIFF, TARIFF_TABLE, "south");
+        assertEquals(1, cache.getEvictions());
+        assertEquals(resultSize, cache.getSizeInBytes());
+
+        cache.query(TARIFF, TARIFF_TABLE, "south");
+        verify(statement, times(3)).executeQuery();
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void dropOnlyTheResultsOfAnInvalidatedTable() throws
+            SQLException {
+
+        DBResultCache cache = new DBResultCache(dbConnectionPool,
+            1, TimeUnit.HOURS, 1 << 20);
+
+        cache.query(TARIFF, TARIFF_TABLE, "north");
+        cache.query(GARAGE, GARAGE_TABLE, "madrid");
+        cache.invalidate("TARIFF");
+
+        cache.query(GARAGE, GARAGE_TABLE, "madrid");
+        assertEquals("C", cache.query(TARIFF, TARIFF_TABLE, "north")
+            .getObject(0, 1));
+        verify(statement, times(3)).executeQuery();
+        assertEquals(1, cache.getHits());
+        dbConnectionPool.shutdown();
+    }
+
+    @Test
+    public void cacheDetachedCopiesOfTheValues() throws SQLException {
+
+        Blob blob = Mockito.mock(Blob.class);
+        when(blob.length()).thenReturn(3L);
+        when(blob.getBytes(1, 3)).thenReturn(new byte[] {1, 2, 3});
+        Ref ref = Mockito.mock(Ref.class);
+        ResultSet blobResult = resultSet("A", blob);
+        ResultSet refResult = resultSet("B", ref);
+        ResultSet secondRefResult = resultSet("C", ref);
+        when(statement.executeQuery()).thenReturn(blobResult, refResult,
+            secondRefResult);
+
+        DBResultCache cache = new DBResultCache(dbConnectionPool,
+            1, TimeUnit.HOURS, 1 << 20);
+
+        byte[] bytes = (byte[]) cache.query(TARIFF, TARIFF_TABLE, "north")
+            .getObject(0, 2);
+        verify(blob).free();
+        assertArrayEquals(new byte[] {1, 2, 3}, bytes);
+        bytes[0] = 9;
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) cache.query(TARIFF,
+            TARIFF_TABLE, "north").getObject(0, 2));
+
+        // a value bound to the connection is returned but not cached
+        assertEquals("B", cache.query(TARIFF, TARIFF_TABLE, "south")
+            .getObject(0, 1));
+        assertEquals("C", cache.query(TARIFF, TARIFF_TABLE, "south")
+            .getObject(0, 1));
+        verify(statement, times(3)).executeQuery();
+        dbConnectionPool.shutdown();
+    }
+}
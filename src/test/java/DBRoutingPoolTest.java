@@ -0,0 +1,183 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.dbmodule.DBRoutingPool;
+import dbpool.utils.Constants.DBCPStartupMode;
+import dbpool.utils.DBPoolException;
+import dbpool.utils.DBPoolTimeoutException;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for DBRoutingPool class .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBRoutingPoolTest {
+
+    private static DBConnectionPool buildPool(final String name,
+        final int maxPoolSize) throws SQLException, DBPoolException {
+
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        DBPoolConfiguration configuration =
+            StubDriver.configuration(name, 1, maxPoolSize);
+        configuration.setConnectionTimeout(100);
+        dbcpBuilder.setConfiguration(configuration);
+        return dbcpBuilder.build();
+    }
+
+    private static DBConnectionPool buildBrokenPool() throws
+            SQLException, DBPoolException {
+
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        when(dataSource.getConnection())
+            .thenThrow(new SQLException("replica down"));
+
+        DBPoolConfiguration configuration = new DBPoolConfiguration();
+        configuration.setDataSource(dataSource);
+        configuration.setMinPoolCache(1);
+        configuration.setMaxPoolSize(1);
+        configuration.setConnectionTimeout(100);
+        configuration.setStartupMode(DBCPStartupMode.LAZY);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        return dbcpBuilder.build();
+    }
+
+    @Test
+    public void sendReadsToTheLeastBusyReplica() throws
+            SQLException, DBPoolException {
+
+        DBConnectionPool primary = buildPool("primary", 2);
+        DBConnectionPool first = buildPool("replica-1", 2);
+        DBConnectionPool second = buildPool("replica-2", 2);
+        DBRoutingPool routingPool = new DBRoutingPool(primary,
+            Arrays.asList(first, second));
+
+        Connection write = routingPool.getConnection(false);
+        assertEquals(1, primary.getBorrowedConnections());
+
+        Connection read1 = routingPool.getReadOnlyConnection();
+        Connection read2 = routingPool.getReadOnlyConnection();
+        assertEquals(1, first.getBorrowedConnections());
+        assertEquals(1, second.getBorrowedConnections());
+        assertEquals(1, primary.getBorrowedConnections());
+
+        read1.close();
+        read2.close();
+        write.close();
+        routingPool.shutdown();
+    }
+
+    @Test
+    public void ejectFailingReplicaAndFallBackToPrimary() throws
+            SQLException, DBPoolException {
+
+        DBConnectionPool primary = buildPool("primary", 2);
+        DBConnectionPool broken = buildBrokenPool();
+        DBRoutingPool routingPool = new DBRoutingPool(primary,
+            Collections.singletonList(broken), 1, TimeUnit.HOURS);
+
+        Connection read = routingPool.getConnection(true);
+        assertEquals(0, routingPool.getHealthyReplicas());
+        assertEquals(1, primary.getBorrowedConnections());
+
+        read.close();
+        routingPool.shutdown();
+    }
+
+    @Test
+    public void retryEjectedReplicaAfterTheEjectionTime() throws Exception {
+
+        DBConnectionPool primary = buildPool("primary", 2);
+        DBConnectionPool broken = buildBrokenPool();
+        DBRoutingPool routingPool = new DBRoutingPool(primary,
+            Collections.singletonList(broken), 50, TimeUnit.MILLISECONDS);
+
+        routingPool.getReadOnlyConnection().close();
+        assertEquals(0, routingPool.getHealthyReplicas());
+
+        Thread.sleep(100);
+        assertEquals(1, routingPool.getHealthyReplicas());
+        routingPool.getReadOnlyConnection().close();
+        assertEquals(0, routingPool.getHealthyReplicas());
+        routingPool.shutdown();
+    }
+
+    @Test
+    public void skipBusyReplicaAndKeepItInRotation() throws
+            SQLException, DBPoolException {
+
+        DBConnectionPool primary = buildPool("primary", 1);
+        DBConnectionPool busy = buildPool("busy", 1);
+        DBConnectionPool idle = buildPool("idle", 1);
+        DBRoutingPool routingPool = new DBRoutingPool(primary,
+            Arrays.asList(busy, idle), 1000, 20, TimeUnit.MILLISECONDS);
+
+        Connection first = routingPool.getReadOnlyConnection();
+        Connection second = routingPool.getReadOnlyConnection();
+        assertEquals(1, busy.getBorrowedConnections());
+        assertEquals(1, idle.getBorrowedConnections());
+
+        // both replicas are busy, the read goes to the primary
+        long startTime = System.nanoTime();
+        Connection third = routingPool.getReadOnlyConnection();
+        assertTrue(System.nanoTime() - startTime
+            < TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(1, primary.getBorrowedConnections());
+        assertEquals(2, routingPool.getHealthyReplicas());
+
+        try {
+            routingPool.getReadOnlyConnection();
+            fail("Every pool is full");
+        } catch (DBPoolTimeoutException exception) {
+            assertEquals(2, routingPool.getHealthyReplicas());
+        }
+
+        first.close();
+        second.close();
+        third.close();
+        routingPool.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void fallBackToPrimaryWhenMoreThan64ReplicasAreBusy() throws
+            SQLException, DBPoolException {
+
+        DBConnectionPool primary = buildPool("primary", 1);
+        List<DBConnectionPool> replicas = new ArrayList<DBConnectionPool>();
+        List<Connection> borrowed = new ArrayList<Connection>();
+        for (int i = 0; i < 70; i++) {
+            DBConnectionPool replica = buildPool("replica" + i, 1);
+            borrowed.add(replica.getConnection());
+            replicas.add(replica);
+        }
+        DBRoutingPool routingPool = new DBRoutingPool(primary, replicas,
+            1000, 1, TimeUnit.MILLISECONDS);
+
+        // every replica is tried once, then the read goes to the primary
+        Connection connection = routingPool.getReadOnlyConnection();
+        assertEquals(1, primary.getBorrowedConnections());
+        assertEquals(70, routingPool.getHealthyReplicas());
+
+        connection.close();
+        for (Connection replicaConnection : borrowed) {
+            replicaConnection.close();
+        }
+        routingPool.shutdown();
+    }
+}
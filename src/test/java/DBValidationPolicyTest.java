@@ -0,0 +1,78 @@
+import dbpool.dbmodule.DBCPBuilder;
+import dbpool.dbmodule.DBConnectionPool;
+import dbpool.dbmodule.DBPoolConfiguration;
+import dbpool.utils.DBConnectionValidator;
+import dbpool.utils.DBPoolException;
+import dbpool.utils.DBValidationPolicy;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for the validation strategies .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class DBValidationPolicyTest {
+
+    @Test
+    public void validateOnBorrowOnlyAfterIdleWindow() {
+
+        DBValidationPolicy policy = DBValidationPolicy.onBorrowIfIdle(
+            new DBConnectionValidator(), 500);
+
+        assertFalse(policy.validateOnBorrow(100));
+        assertTrue(policy.validateOnBorrow(501));
+        assertFalse(policy.validateOnReturn());
+    }
+
+    @Test
+    public void noneNeverValidates() {
+
+        DBValidationPolicy policy = DBValidationPolicy.none();
+
+        assertFalse(policy.validateOnBorrow(Long.MAX_VALUE));
+        assertFalse(policy.validateOnReturn());
+        assertTrue(policy.getBackgroundInterval() == 0);
+    }
+
+    @Test
+    public void jdbc4ValidatorUsesIsValid() throws SQLException {
+
+        Connection connection = Mockito.mock(Connection.class);
+        when(connection.isValid(2)).thenReturn(true);
+
+        DBConnectionValidator validator = new DBConnectionValidator(2);
+
+        assertFalse(validator.usesStatement());
+        assertTrue(validator.isValidConnection(connection));
+        verify(connection, never()).createStatement();
+    }
+
+    @Test
+    public void reuseValidationStatementPerConnection() throws
+            SQLException, DBPoolException {
+
+        DBPoolConfiguration configuration = StubDriver.configuration(1, 1);
+        DBCPBuilder dbcpBuilder = new DBCPBuilder();
+        dbcpBuilder.setConfiguration(configuration);
+        DBConnectionPool dbConnectionPool = dbcpBuilder.build();
+
+        Connection connection = dbConnectionPool.getConnection();
+        Connection physical = connection.unwrap(Connection.class);
+        connection.close();
+        for (int i = 0; i < 2; i++) {
+            dbConnectionPool.getConnection().close();
+        }
+
+        verify(physical, Mockito.times(1)).createStatement();
+    }
+}
@@ -0,0 +1,170 @@
+import dbpool.dbmodule.DBPoolConfiguration;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * In-memory JDBC driver for the unit tests, every connection is a mock
+ * that answers the validation query .
+ * @author cgcastro
+ * @version 1.0
+ */
+public class StubDriver implements Driver {
+
+    public static final String URL = "jdbc:stub:test";
+
+    public static final AtomicInteger PREPARED_STATEMENTS = new AtomicInteger();
+
+    private static final Answer<PreparedStatement> PREPARE =
+        new Answer<PreparedStatement>() {
+            @Override
+            public PreparedStatement answer(final InvocationOnMock invocation)
+                throws SQLException {
+                PREPARED_STATEMENTS.incrementAndGet();
+                PreparedStatement statement =
+                    Mockito.mock(PreparedStatement.class);
+                when(statement.unwrap(PreparedStatement.class))
+                    .thenReturn(statement);
+                return statement;
+            }
+        };
+
+    public static final AtomicInteger OPENED_CONNECTIONS = new AtomicInteger();
+
+    private static final ConcurrentMap<String, AtomicInteger> OPENED_BY_URL =
+        new ConcurrentHashMap<String, AtomicInteger>();
+
+    static {
+        try {
+            DriverManager.registerDriver(new StubDriver());
+        } catch (SQLException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    @Override
+    public Connection connect(final String url, final Properties info)
+        throws SQLException {
+
+        if (!acceptsURL(url)) {
+            return null;
+        }
+
+        Connection connection = Mockito.mock(Connection.class);
+        Statement statement = Mockito.mock(Statement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(Connection.class)).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenAnswer(PREPARE);
+        when(connection.prepareStatement(anyString(), anyInt()))
+            .thenAnswer(PREPARE);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+
+        OPENED_CONNECTIONS.incrementAndGet();
+        openedConnections(url).incrementAndGet();
+        return connection;
+    }
+
+    @Override
+    public boolean acceptsURL(final String url) {
+        return url != null && url.startsWith(URL);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(final String url,
+        final Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    /**
+     * Get the counter of connections opened for an url .
+     * @param url the database url .
+     * @return the counter .
+     */
+    public static AtomicInteger openedConnections(final String url) {
+
+        AtomicInteger counter = OPENED_BY_URL.get(url);
+        if (counter == null) {
+            OPENED_BY_URL.putIfAbsent(url, new AtomicInteger());
+            counter = OPENED_BY_URL.get(url);
+        }
+        return counter;
+    }
+
+    /**
+     * Build a valid configuration pointing to its own stub database .
+     * @param name the database name .
+     * @param minPoolCache min pool cache .
+     * @param maxPoolSize max pool size .
+     * @return the configuration .
+     */
+    public static DBPoolConfiguration configuration(final String name,
+        final int minPoolCache, final int maxPoolSize) {
+
+        DBPoolConfiguration configuration =
+            configuration(minPoolCache, maxPoolSize);
+        configuration.setDburl(URL + ":" + name);
+        return configuration;
+    }
+
+    /**
+     * Build a valid configuration pointing to the stub driver .
+     * @param minPoolCache min pool cache .
+     * @param maxPoolSize max pool size .
+     * @return the configuration .
+     */
+    public static DBPoolConfiguration configuration(
+        final int minPoolCache, final int maxPoolSize) {
+
+        DBPoolConfiguration configuration =
+            new DBPoolConfiguration();
+        configuration.setDbusername("admin");
+        configuration.setDbpassword("admin");
+        configuration.setDbDriver(StubDriver.class.getName());
+        configuration.setDburl(URL);
+        configuration.setMinPoolCache(minPoolCache);
+        configuration.setMaxPoolSize(maxPoolSize);
+        return configuration;
+    }
+}